@@ -1,19 +1,49 @@
 package com.amazonivsreactnativebroadcast;
 
-import com.facebook.react.ReactPackage;
+import androidx.annotation.Nullable;
+
+import com.facebook.react.TurboReactPackage;
 import com.facebook.react.bridge.NativeModule;
 import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.module.model.ReactModuleInfo;
+import com.facebook.react.module.model.ReactModuleInfoProvider;
 import com.facebook.react.uimanager.ViewManager;
+import com.amazonivsreactnativebroadcast.IVSBroadcastCameraView.IVSBroadcastCameraModule;
 import com.amazonivsreactnativebroadcast.IVSBroadcastCameraView.IVSBroadcastCameraViewManger;
 
 import java.util.Arrays;
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
+public class AmazonIvsReactNativeBroadcastPackage extends TurboReactPackage {
+  @Nullable
+  @Override
+  public NativeModule getModule(String name, ReactApplicationContext reactContext) {
+    if (name.equals(IVSBroadcastCameraModule.NAME)) {
+      return new IVSBroadcastCameraModule(reactContext);
+    }
+    return null;
+  }
 
-public class AmazonIvsReactNativeBroadcastPackage implements ReactPackage {
   @Override
-  public List<NativeModule> createNativeModules(ReactApplicationContext reactContext) {
-    return Collections.emptyList();
+  public ReactModuleInfoProvider getReactModuleInfoProvider() {
+    return () -> {
+      Map<String, ReactModuleInfo> moduleInfos = new HashMap<>();
+      moduleInfos.put(
+        IVSBroadcastCameraModule.NAME,
+        new ReactModuleInfo(
+          IVSBroadcastCameraModule.NAME,
+          IVSBroadcastCameraModule.NAME,
+          false,
+          false,
+          false,
+          false,
+          BuildConfig.IS_NEW_ARCHITECTURE_ENABLED
+        )
+      );
+      return moduleInfos;
+    };
   }
 
   @Override
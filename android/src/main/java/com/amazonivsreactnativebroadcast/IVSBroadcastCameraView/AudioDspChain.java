@@ -0,0 +1,292 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.ReadableMap;
+
+/**
+ * Noise gate, compressor, mute gain ramp and peak limiter processing interleaved 16-bit PCM in
+ * place. The channels share one gain, so the stereo image does not shift.
+ *
+ * Nothing is allocated per buffer, the coefficients are derived from the config when it is set and
+ * read once per buffer, so the config can be changed from another thread while processing.
+ */
+public final class AudioDspChain {
+  public static final float DEFAULT_NOISE_GATE_THRESHOLD = -50;
+  public static final float DEFAULT_NOISE_GATE_ATTACK = 2;
+  public static final float DEFAULT_NOISE_GATE_RELEASE = 150;
+  public static final float DEFAULT_COMPRESSOR_THRESHOLD = -18;
+  public static final float DEFAULT_COMPRESSOR_RATIO = 3;
+  public static final float DEFAULT_COMPRESSOR_ATTACK = 5;
+  public static final float DEFAULT_COMPRESSOR_RELEASE = 120;
+  public static final float DEFAULT_COMPRESSOR_MAKEUP_GAIN = 0;
+  public static final float DEFAULT_LIMITER_CEILING = -1;
+  public static final float DEFAULT_LIMITER_RELEASE = 50;
+  public static final float DEFAULT_GAIN_RAMP_DURATION = 20;
+
+  // Release of the level detector driving the noise gate, in milliseconds.
+  private static final float GATE_DETECTOR_RELEASE = 20;
+
+  /**
+   * Levels are in dBFS, gains in dB and times in milliseconds.
+   */
+  public static final class Config {
+    public final boolean isNoiseGateEnabled;
+    public final float noiseGateThreshold;
+    public final float noiseGateAttack;
+    public final float noiseGateRelease;
+    public final boolean isCompressorEnabled;
+    public final float compressorThreshold;
+    public final float compressorRatio;
+    public final float compressorAttack;
+    public final float compressorRelease;
+    public final float compressorMakeupGain;
+    public final boolean isLimiterEnabled;
+    public final float limiterCeiling;
+    public final float limiterRelease;
+    public final float gainRampDuration;
+
+    public Config(
+      boolean isNoiseGateEnabled,
+      float noiseGateThreshold,
+      float noiseGateAttack,
+      float noiseGateRelease,
+      boolean isCompressorEnabled,
+      float compressorThreshold,
+      float compressorRatio,
+      float compressorAttack,
+      float compressorRelease,
+      float compressorMakeupGain,
+      boolean isLimiterEnabled,
+      float limiterCeiling,
+      float limiterRelease,
+      float gainRampDuration
+    ) {
+      if (compressorRatio < 1) {
+        throw new RuntimeException("Compressor ratio can not be lower than 1: " + compressorRatio);
+      }
+      this.isNoiseGateEnabled = isNoiseGateEnabled;
+      this.noiseGateThreshold = noiseGateThreshold;
+      this.noiseGateAttack = noiseGateAttack;
+      this.noiseGateRelease = noiseGateRelease;
+      this.isCompressorEnabled = isCompressorEnabled;
+      this.compressorThreshold = compressorThreshold;
+      this.compressorRatio = compressorRatio;
+      this.compressorAttack = compressorAttack;
+      this.compressorRelease = compressorRelease;
+      this.compressorMakeupGain = compressorMakeupGain;
+      this.isLimiterEnabled = isLimiterEnabled;
+      this.limiterCeiling = limiterCeiling;
+      this.limiterRelease = limiterRelease;
+      this.gainRampDuration = gainRampDuration;
+    }
+
+    public static Config createDefault() {
+      return new Config(
+        true,
+        DEFAULT_NOISE_GATE_THRESHOLD,
+        DEFAULT_NOISE_GATE_ATTACK,
+        DEFAULT_NOISE_GATE_RELEASE,
+        true,
+        DEFAULT_COMPRESSOR_THRESHOLD,
+        DEFAULT_COMPRESSOR_RATIO,
+        DEFAULT_COMPRESSOR_ATTACK,
+        DEFAULT_COMPRESSOR_RELEASE,
+        DEFAULT_COMPRESSOR_MAKEUP_GAIN,
+        true,
+        DEFAULT_LIMITER_CEILING,
+        DEFAULT_LIMITER_RELEASE,
+        DEFAULT_GAIN_RAMP_DURATION
+      );
+    }
+
+    private static float getFloat(@Nullable ReadableMap map, String key, float defaultValue) {
+      return map != null && map.hasKey(key) ? (float) map.getDouble(key) : defaultValue;
+    }
+
+    private static boolean getIsEnabled(@Nullable ReadableMap map) {
+      return map == null || !map.hasKey("isEnabled") || map.getBoolean("isEnabled");
+    }
+
+    /**
+     * @return the config of the processing, or {@code null} if it is not enabled.
+     */
+    @Nullable
+    public static Config fromMap(@Nullable ReadableMap audioProcessing) {
+      boolean isEnabled = audioProcessing != null
+        && audioProcessing.hasKey("isEnabled")
+        && audioProcessing.getBoolean("isEnabled");
+      if (!isEnabled) return null;
+
+      ReadableMap noiseGate = audioProcessing.hasKey("noiseGate") ? audioProcessing.getMap("noiseGate") : null;
+      ReadableMap compressor = audioProcessing.hasKey("compressor") ? audioProcessing.getMap("compressor") : null;
+      ReadableMap limiter = audioProcessing.hasKey("limiter") ? audioProcessing.getMap("limiter") : null;
+
+      return new Config(
+        getIsEnabled(noiseGate),
+        getFloat(noiseGate, "threshold", DEFAULT_NOISE_GATE_THRESHOLD),
+        getFloat(noiseGate, "attack", DEFAULT_NOISE_GATE_ATTACK),
+        getFloat(noiseGate, "release", DEFAULT_NOISE_GATE_RELEASE),
+        getIsEnabled(compressor),
+        getFloat(compressor, "threshold", DEFAULT_COMPRESSOR_THRESHOLD),
+        getFloat(compressor, "ratio", DEFAULT_COMPRESSOR_RATIO),
+        getFloat(compressor, "attack", DEFAULT_COMPRESSOR_ATTACK),
+        getFloat(compressor, "release", DEFAULT_COMPRESSOR_RELEASE),
+        getFloat(compressor, "makeupGain", DEFAULT_COMPRESSOR_MAKEUP_GAIN),
+        getIsEnabled(limiter),
+        getFloat(limiter, "ceiling", DEFAULT_LIMITER_CEILING),
+        getFloat(limiter, "release", DEFAULT_LIMITER_RELEASE),
+        getFloat(audioProcessing, "gainRampDuration", DEFAULT_GAIN_RAMP_DURATION)
+      );
+    }
+  }
+
+  private static final class Coefficients {
+    final boolean isNoiseGateEnabled;
+    final float gateThreshold;
+    final float gateDetectorRelease;
+    final float gateAttack;
+    final float gateRelease;
+    final boolean isCompressorEnabled;
+    final float compressorThreshold;
+    final float compressorSlope;
+    final float compressorAttack;
+    final float compressorRelease;
+    final float makeupGain;
+    final boolean isLimiterEnabled;
+    final float limiterCeiling;
+    final float limiterRelease;
+    final float rampStep;
+
+    Coefficients(Config config, int sampleRate) {
+      isNoiseGateEnabled = config.isNoiseGateEnabled;
+      gateThreshold = fromDecibels(config.noiseGateThreshold);
+      gateDetectorRelease = getSmoothing(GATE_DETECTOR_RELEASE, sampleRate);
+      gateAttack = getSmoothing(config.noiseGateAttack, sampleRate);
+      gateRelease = getSmoothing(config.noiseGateRelease, sampleRate);
+      isCompressorEnabled = config.isCompressorEnabled;
+      compressorThreshold = fromDecibels(config.compressorThreshold);
+      compressorSlope = 1 - 1 / config.compressorRatio;
+      compressorAttack = getSmoothing(config.compressorAttack, sampleRate);
+      compressorRelease = getSmoothing(config.compressorRelease, sampleRate);
+      makeupGain = fromDecibels(config.compressorMakeupGain);
+      isLimiterEnabled = config.isLimiterEnabled;
+      limiterCeiling = fromDecibels(config.limiterCeiling);
+      limiterRelease = getSmoothing(config.limiterRelease, sampleRate);
+      float rampFrames = config.gainRampDuration * sampleRate / 1000;
+      rampStep = rampFrames <= 1 ? 1 : 1 / rampFrames;
+    }
+  }
+
+  private final int sampleRate;
+  private final int channels;
+  private volatile Coefficients coefficients;
+  private volatile float targetGain;
+
+  private float gateDetector = 0;
+  private float gateGain = 0;
+  private float compressorEnvelope = 0;
+  private float rampGain;
+  private float limiterGain = 1;
+
+  public AudioDspChain(int sampleRate, int channels, Config config, boolean isMuted) {
+    if (channels != 1 && channels != 2) {
+      throw new RuntimeException("Does not support audio channels: " + channels);
+    }
+    this.sampleRate = sampleRate;
+    this.channels = channels;
+    this.coefficients = new Coefficients(config, sampleRate);
+    this.targetGain = isMuted ? 0 : 1;
+    this.rampGain = targetGain;
+  }
+
+  static float fromDecibels(float decibels) {
+    return (float) Math.pow(10, decibels / 20);
+  }
+
+  /**
+   * @return the one-pole smoothing coefficient reaching ~63% of a step within the given time.
+   */
+  private static float getSmoothing(float millis, int sampleRate) {
+    if (millis <= 0) return 0;
+    return (float) Math.exp(-1000.0 / (millis * sampleRate));
+  }
+
+  public int getChannels() {
+    return channels;
+  }
+
+  public int getSampleRate() {
+    return sampleRate;
+  }
+
+  public void setConfig(Config config) {
+    coefficients = new Coefficients(config, sampleRate);
+  }
+
+  /**
+   * The gain ramps to the new value over the ramp duration of the config, so muting does not click.
+   */
+  public void setMuted(boolean isMuted) {
+    targetGain = isMuted ? 0 : 1;
+  }
+
+  /**
+   * @param sampleCount number of samples of all the channels, a multiple of the channel count.
+   */
+  public void process(short[] samples, int sampleCount) {
+    Coefficients c = coefficients;
+    float target = targetGain;
+    int frameCount = sampleCount / channels;
+
+    for (int frame = 0; frame < frameCount; frame++) {
+      int offset = frame * channels;
+      float peak = Math.abs(samples[offset]);
+      if (channels == 2) {
+        peak = Math.max(peak, Math.abs(samples[offset + 1]));
+      }
+      peak /= 32768f;
+
+      float gain = 1;
+      if (c.isNoiseGateEnabled) {
+        gateDetector = peak > gateDetector ? peak : peak + (gateDetector - peak) * c.gateDetectorRelease;
+        float gateTarget = gateDetector >= c.gateThreshold ? 1 : 0;
+        float gateSmoothing = gateTarget > gateGain ? c.gateAttack : c.gateRelease;
+        gateGain = gateTarget + (gateGain - gateTarget) * gateSmoothing;
+        gain *= gateGain;
+      }
+
+      if (c.isCompressorEnabled) {
+        float smoothing = peak > compressorEnvelope ? c.compressorAttack : c.compressorRelease;
+        compressorEnvelope = peak + (compressorEnvelope - peak) * smoothing;
+        if (compressorEnvelope > c.compressorThreshold) {
+          // The level above the threshold is divided by the ratio.
+          gain *= (float) Math.pow(c.compressorThreshold / compressorEnvelope, c.compressorSlope);
+        }
+        gain *= c.makeupGain;
+      }
+
+      if (rampGain < target) {
+        rampGain = Math.min(target, rampGain + c.rampStep);
+      } else if (rampGain > target) {
+        rampGain = Math.max(target, rampGain - c.rampStep);
+      }
+      gain *= rampGain;
+
+      if (c.isLimiterEnabled) {
+        float level = peak * gain;
+        limiterGain = 1 + (limiterGain - 1) * c.limiterRelease;
+        // The limiter reacts within the frame, so the ceiling is never exceeded.
+        if (level * limiterGain > c.limiterCeiling) {
+          limiterGain = c.limiterCeiling / level;
+        }
+        gain *= limiterGain;
+      }
+
+      for (int channel = 0; channel < channels; channel++) {
+        int value = Math.round(samples[offset + channel] * gain);
+        samples[offset + channel] = (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, value));
+      }
+    }
+  }
+}
@@ -0,0 +1,72 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import java.util.List;
+
+/**
+ * Picks the microphone to attach among the connected audio inputs.
+ *
+ * With {@link Input#AUTO} an external input is preferred over the built-in microphone, the one
+ * connected by wire first as it is the most deliberate choice. A specific input falls back to the
+ * built-in microphone while it is not connected.
+ */
+public final class AudioInputPolicy {
+  private static final Input[] AUTO_PRIORITY = {Input.WIRED, Input.USB, Input.BLUETOOTH, Input.BUILT_IN};
+
+  public enum Input {
+    AUTO("auto"),
+    BUILT_IN("builtIn"),
+    WIRED("wired"),
+    USB("usb"),
+    BLUETOOTH("bluetooth");
+
+    private final String title;
+
+    Input(String title) {
+      this.title = title;
+    }
+
+    public static Input fromString(String inputName) {
+      for (Input input : values()) {
+        if (input.title.equals(inputName)) {
+          return input;
+        }
+      }
+      throw new RuntimeException("Does not support audio input: " + inputName);
+    }
+
+    @Override
+    public String toString() {
+      return title;
+    }
+  }
+
+  private AudioInputPolicy() {
+  }
+
+  private static int indexOf(List<Input> candidates, Input input) {
+    for (int i = 0; i < candidates.size(); i++) {
+      if (candidates.get(i) == input) return i;
+    }
+    return -1;
+  }
+
+  /**
+   * @param candidates types of the connected inputs, in the order they are listed.
+   * @return index of the input to attach, or {@code -1} if there are no inputs.
+   */
+  public static int select(Input preferred, List<Input> candidates) {
+    if (preferred != Input.AUTO) {
+      int index = indexOf(candidates, preferred);
+      if (index >= 0) return index;
+
+      index = indexOf(candidates, Input.BUILT_IN);
+      if (index >= 0) return index;
+    }
+
+    for (Input input : AUTO_PRIORITY) {
+      int index = indexOf(candidates, input);
+      if (index >= 0) return index;
+    }
+    return candidates.isEmpty() ? -1 : 0;
+  }
+}
@@ -0,0 +1,64 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import android.graphics.Bitmap;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * Keeps a few mutable bitmaps around so that repeated captures of the same (or a smaller) size
+ * reuse the existing allocations instead of creating new ones.
+ */
+class BitmapPool {
+  private static final Bitmap.Config CONFIG = Bitmap.Config.ARGB_8888;
+  private static final int BYTES_PER_PIXEL = 4;
+
+  private final int maxSize;
+  private final ArrayDeque<Bitmap> bitmaps = new ArrayDeque<>();
+  private boolean isCleared = false;
+
+  BitmapPool(int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  @NonNull
+  synchronized Bitmap acquire(int width, int height) {
+    int byteCount = width * height * BYTES_PER_PIXEL;
+    Iterator<Bitmap> iterator = bitmaps.iterator();
+    while (iterator.hasNext()) {
+      Bitmap bitmap = iterator.next();
+      if (bitmap.getAllocationByteCount() >= byteCount) {
+        iterator.remove();
+        if (bitmap.getWidth() != width || bitmap.getHeight() != height) {
+          bitmap.reconfigure(width, height, CONFIG);
+        }
+        return bitmap;
+      }
+    }
+    return Bitmap.createBitmap(width, height, CONFIG);
+  }
+
+  synchronized void release(@NonNull Bitmap bitmap) {
+    if (bitmap.isRecycled()) return;
+
+    // A bitmap acquired before the pool has been cleared is not pooled again.
+    if (!isCleared && bitmaps.size() < maxSize) {
+      bitmaps.push(bitmap);
+    } else {
+      bitmap.recycle();
+    }
+  }
+
+  /**
+   * Recycles the pooled bitmaps and the bitmaps released afterwards.
+   */
+  synchronized void clear() {
+    isCleared = true;
+    for (Bitmap bitmap : bitmaps) {
+      bitmap.recycle();
+    }
+    bitmaps.clear();
+  }
+}
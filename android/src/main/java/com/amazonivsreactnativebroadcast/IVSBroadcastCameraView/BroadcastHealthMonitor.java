@@ -0,0 +1,321 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Watches the broadcast session for error storms and silent stalls.
+ *
+ * Errors with the same type, source and code are folded within a window: the first one is
+ * reported as is and the repeated ones are only counted. A stall is flagged when the measured
+ * bitrate stays below the threshold for the whole stall window while the session is connected.
+ * Both are published through a single consolidated report.
+ */
+public class BroadcastHealthMonitor {
+  public static final long DEFAULT_STALL_WINDOW_MILLIS = 5000;
+  public static final long DEFAULT_ERROR_FOLD_WINDOW_MILLIS = 2000;
+  public static final double DEFAULT_STALL_BITRATE_THRESHOLD = 1000;
+
+  private static final long MAX_STALL_CHECK_INTERVAL_MILLIS = 1000;
+
+  @FunctionalInterface
+  public interface Listener {
+    void onHealthChanged(Report report);
+  }
+
+  public static final class Config {
+    public final boolean isEnabled;
+    public final long stallWindowMillis;
+    public final long errorFoldWindowMillis;
+    public final double stallBitrateThreshold;
+
+    public Config(boolean isEnabled, long stallWindowMillis, long errorFoldWindowMillis, double stallBitrateThreshold) {
+      this.isEnabled = isEnabled;
+      this.stallWindowMillis = stallWindowMillis;
+      this.errorFoldWindowMillis = errorFoldWindowMillis;
+      this.stallBitrateThreshold = stallBitrateThreshold;
+    }
+
+    public static Config fromMap(@Nullable ReadableMap config) {
+      boolean isEnabled = config != null
+        && config.hasKey("isEnabled")
+        && config.getBoolean("isEnabled");
+      long stallWindowMillis = config != null && config.hasKey("stallWindow")
+        ? (long) config.getDouble("stallWindow")
+        : DEFAULT_STALL_WINDOW_MILLIS;
+      long errorFoldWindowMillis = config != null && config.hasKey("errorFoldWindow")
+        ? (long) config.getDouble("errorFoldWindow")
+        : DEFAULT_ERROR_FOLD_WINDOW_MILLIS;
+      double stallBitrateThreshold = config != null && config.hasKey("stallBitrateThreshold")
+        ? config.getDouble("stallBitrateThreshold")
+        : DEFAULT_STALL_BITRATE_THRESHOLD;
+      return new Config(isEnabled, stallWindowMillis, errorFoldWindowMillis, stallBitrateThreshold);
+    }
+  }
+
+  public static final class FoldedError {
+    public final String type;
+    public final String source;
+    public final int code;
+    public final String detail;
+    public final boolean isFatal;
+    public final long count;
+    public final long firstTimestamp;
+    public final long lastTimestamp;
+
+    FoldedError(String type, String source, int code, String detail, boolean isFatal, long count, long firstTimestamp, long lastTimestamp) {
+      this.type = type;
+      this.source = source;
+      this.code = code;
+      this.detail = detail;
+      this.isFatal = isFatal;
+      this.count = count;
+      this.firstTimestamp = firstTimestamp;
+      this.lastTimestamp = lastTimestamp;
+    }
+
+    public WritableMap toPayload() {
+      WritableMap errorPayload = Arguments.createMap();
+      errorPayload.putString("type", type);
+      errorPayload.putString("source", source);
+      errorPayload.putInt("code", code);
+      errorPayload.putString("detail", detail);
+      errorPayload.putBoolean("isFatal", isFatal);
+      errorPayload.putDouble("count", count);
+      errorPayload.putDouble("firstTimestamp", firstTimestamp);
+      errorPayload.putDouble("lastTimestamp", lastTimestamp);
+      return errorPayload;
+    }
+  }
+
+  public static final class Report {
+    public final boolean isConnected;
+    public final boolean isStalled;
+    public final long stallDuration;
+    public final double measuredBitrate;
+    public final List<FoldedError> errors;
+
+    Report(boolean isConnected, boolean isStalled, long stallDuration, double measuredBitrate, List<FoldedError> errors) {
+      this.isConnected = isConnected;
+      this.isStalled = isStalled;
+      this.stallDuration = stallDuration;
+      this.measuredBitrate = measuredBitrate;
+      this.errors = errors;
+    }
+
+    public WritableMap toPayload() {
+      WritableArray errorsPayload = Arguments.createArray();
+      for (FoldedError error : errors) {
+        errorsPayload.pushMap(error.toPayload());
+      }
+
+      WritableMap healthPayload = Arguments.createMap();
+      healthPayload.putBoolean("isConnected", isConnected);
+      healthPayload.putBoolean("isStalled", isStalled);
+      healthPayload.putDouble("stallDuration", stallDuration);
+      healthPayload.putDouble("measuredBitrate", measuredBitrate);
+      healthPayload.putArray("errors", errorsPayload);
+      return healthPayload;
+    }
+  }
+
+  private static final class ErrorEntry {
+    final String type;
+    final String source;
+    final int code;
+    final String detail;
+    final boolean isFatal;
+    final long firstTimestamp;
+    long lastTimestamp;
+    long count = 1;
+
+    ErrorEntry(String type, String source, int code, String detail, boolean isFatal, long timestamp) {
+      this.type = type;
+      this.source = source;
+      this.code = code;
+      this.detail = detail;
+      this.isFatal = isFatal;
+      this.firstTimestamp = timestamp;
+      this.lastTimestamp = timestamp;
+    }
+
+    FoldedError toFoldedError() {
+      return new FoldedError(type, source, code, detail, isFatal, count, firstTimestamp, lastTimestamp);
+    }
+  }
+
+  private final Clock clock;
+  private final Timer timer;
+  private volatile Listener listener;
+
+  private boolean isEnabled = false;
+  private long stallWindowMillis = DEFAULT_STALL_WINDOW_MILLIS;
+  private long errorFoldWindowMillis = DEFAULT_ERROR_FOLD_WINDOW_MILLIS;
+  private double stallBitrateThreshold = DEFAULT_STALL_BITRATE_THRESHOLD;
+
+  private final Map<String, ErrorEntry> errors = new LinkedHashMap<>();
+  private boolean isConnected = false;
+  private boolean isStalled = false;
+  private long lastHealthyTimestamp = 0;
+  private double measuredBitrate = 0;
+
+  private final Runnable flushErrorsTask = this::flushErrors;
+  private final Runnable checkStallTask = this::checkStall;
+
+  public BroadcastHealthMonitor(Clock clock, Timer timer) {
+    this.clock = clock;
+    this.timer = timer;
+  }
+
+  private static String getErrorKey(String type, String source, int code) {
+    return type + '\u0000' + source + '\u0000' + code;
+  }
+
+  private Report createReport(List<FoldedError> foldedErrors) {
+    long stallDuration = isStalled ? clock.now() - lastHealthyTimestamp : 0;
+    return new Report(isConnected, isStalled, stallDuration, measuredBitrate, foldedErrors);
+  }
+
+  private void notifyListener(Report report) {
+    Listener currentListener = listener;
+    if (currentListener != null) {
+      currentListener.onHealthChanged(report);
+    }
+  }
+
+  private void flushErrors() {
+    Report report = null;
+    synchronized (this) {
+      boolean isRepeated = false;
+      List<FoldedError> foldedErrors = new ArrayList<>(errors.size());
+      for (ErrorEntry entry : errors.values()) {
+        foldedErrors.add(entry.toFoldedError());
+        isRepeated |= entry.count > 1;
+      }
+      errors.clear();
+
+      // Single occurrences have already been reported as is.
+      if (isRepeated) {
+        report = createReport(Collections.unmodifiableList(foldedErrors));
+      }
+    }
+    if (report != null) {
+      notifyListener(report);
+    }
+  }
+
+  private void checkStall() {
+    Report report = null;
+    synchronized (this) {
+      if (!isEnabled || !isConnected) return;
+
+      if (!isStalled && clock.now() - lastHealthyTimestamp >= stallWindowMillis) {
+        isStalled = true;
+        report = createReport(Collections.emptyList());
+      }
+      timer.schedule(checkStallTask, Math.min(stallWindowMillis, MAX_STALL_CHECK_INTERVAL_MILLIS));
+    }
+    if (report != null) {
+      notifyListener(report);
+    }
+  }
+
+  public synchronized void setConfig(Config config) {
+    this.isEnabled = config.isEnabled;
+    this.stallWindowMillis = config.stallWindowMillis > 0 ? config.stallWindowMillis : DEFAULT_STALL_WINDOW_MILLIS;
+    this.errorFoldWindowMillis = config.errorFoldWindowMillis > 0 ? config.errorFoldWindowMillis : DEFAULT_ERROR_FOLD_WINDOW_MILLIS;
+    this.stallBitrateThreshold = config.stallBitrateThreshold >= 0 ? config.stallBitrateThreshold : DEFAULT_STALL_BITRATE_THRESHOLD;
+
+    timer.cancel(checkStallTask);
+    if (isEnabled && isConnected) {
+      lastHealthyTimestamp = clock.now();
+      timer.schedule(checkStallTask, Math.min(this.stallWindowMillis, MAX_STALL_CHECK_INTERVAL_MILLIS));
+    }
+  }
+
+  public void setListener(Listener listener) {
+    this.listener = listener;
+  }
+
+  /**
+   * @return whether the error should be reported as is, {@code false} if it has been folded into
+   * an error of the same kind reported earlier within the fold window.
+   */
+  public synchronized boolean onError(String type, String source, int code, String detail, boolean isFatal) {
+    if (!isEnabled) return true;
+
+    long now = clock.now();
+    String key = getErrorKey(type, source, code);
+    ErrorEntry entry = errors.get(key);
+    if (entry != null) {
+      entry.count++;
+      entry.lastTimestamp = now;
+      return false;
+    }
+
+    if (errors.isEmpty()) {
+      timer.schedule(flushErrorsTask, errorFoldWindowMillis);
+    }
+    errors.put(key, new ErrorEntry(type, source, code, detail, isFatal, now));
+    return true;
+  }
+
+  public void onStateChanged(boolean isConnected) {
+    Report report = null;
+    synchronized (this) {
+      if (this.isConnected == isConnected) return;
+      this.isConnected = isConnected;
+
+      timer.cancel(checkStallTask);
+      if (isConnected) {
+        lastHealthyTimestamp = clock.now();
+        if (isEnabled) {
+          timer.schedule(checkStallTask, Math.min(stallWindowMillis, MAX_STALL_CHECK_INTERVAL_MILLIS));
+        }
+      } else if (isStalled) {
+        isStalled = false;
+        report = createReport(Collections.emptyList());
+      }
+    }
+    if (report != null) {
+      notifyListener(report);
+    }
+  }
+
+  public void onTransmissionStatistics(double measuredBitrate) {
+    Report report = null;
+    synchronized (this) {
+      this.measuredBitrate = measuredBitrate;
+      if (!isEnabled || !isConnected || measuredBitrate < stallBitrateThreshold) return;
+
+      if (isStalled) {
+        // The report carries the duration of the stall which has just ended.
+        report = new Report(true, false, clock.now() - lastHealthyTimestamp, measuredBitrate, Collections.emptyList());
+        isStalled = false;
+      }
+      lastHealthyTimestamp = clock.now();
+    }
+    if (report != null) {
+      notifyListener(report);
+    }
+  }
+
+  public synchronized void reset() {
+    timer.cancel(flushErrorsTask);
+    timer.cancel(checkStallTask);
+    errors.clear();
+    isConnected = false;
+    isStalled = false;
+    measuredBitrate = 0;
+  }
+}
@@ -0,0 +1,170 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import android.os.SystemClock;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide metrics of the broadcast module shared by all the views, so the telemetry of the
+ * host app can poll one snapshot.
+ *
+ * Metric names:
+ * - `events.<event>.emitted` / `events.<event>.dropped`, the events sent to JS and the events
+ *   dropped as the view was detached from the JS runtime;
+ * - `commands.<command>.latency`, microseconds spent handling view manager commands;
+ * - `session.init` / `session.deinit` counters and the `session.active` gauge;
+ * - `errors.<type>`, broadcast errors by type, `errors.view` for errors of the view itself;
+ * - `state.<state>.time`, milliseconds the sessions spent in each state.
+ */
+final class BroadcastMetrics {
+  private static final long[] COMMAND_LATENCY_BOUNDS_MICROS = {
+    50, 100, 250, 500, 1000, 2500, 5000, 10000, 25000, 50000, 100000
+  };
+
+  private static final BroadcastMetrics instance = new BroadcastMetrics(
+    new MetricsRegistry(),
+    SystemClock::elapsedRealtime
+  );
+
+  private final MetricsRegistry registry;
+  private final Clock clock;
+
+  // Resolved upfront, so counting an event does not build the metric name.
+  private final Map<IVSBroadcastCameraView.Events, MetricsRegistry.Counter> emittedEvents =
+    new EnumMap<>(IVSBroadcastCameraView.Events.class);
+  private final Map<IVSBroadcastCameraView.Events, MetricsRegistry.Counter> droppedEvents =
+    new EnumMap<>(IVSBroadcastCameraView.Events.class);
+  private final ConcurrentHashMap<String, Histogram> commandLatencies = new ConcurrentHashMap<>();
+  private final MetricsRegistry.Counter initCount;
+  private final MetricsRegistry.Counter deinitCount;
+  private final MetricsRegistry.Gauge activeSessions;
+  private final CopyOnWriteArraySet<StateTracker> activeStateTrackers = new CopyOnWriteArraySet<>();
+
+  /**
+   * Accumulates the time a single session spends in each state.
+   */
+  final class StateTracker {
+    @Nullable
+    private volatile String state;
+    private final AtomicLong enteredAt = new AtomicLong();
+
+    private void accumulate() {
+      String currentState = state;
+      long now = clock.now();
+      long previousEnteredAt = enteredAt.getAndSet(now);
+      if (currentState != null) {
+        registry.counter("state." + currentState + ".time").add(now - previousEnteredAt);
+      }
+    }
+
+    void enter(String newState) {
+      accumulate();
+      state = newState;
+      activeStateTrackers.add(this);
+    }
+
+    void stop() {
+      accumulate();
+      state = null;
+      activeStateTrackers.remove(this);
+    }
+  }
+
+  BroadcastMetrics(MetricsRegistry registry, Clock clock) {
+    this.registry = registry;
+    this.clock = clock;
+    for (IVSBroadcastCameraView.Events event : IVSBroadcastCameraView.Events.values()) {
+      emittedEvents.put(event, registry.counter("events." + event + ".emitted"));
+      droppedEvents.put(event, registry.counter("events." + event + ".dropped"));
+    }
+    initCount = registry.counter("session.init");
+    deinitCount = registry.counter("session.deinit");
+    activeSessions = registry.gauge("session.active");
+  }
+
+  static BroadcastMetrics get() {
+    return instance;
+  }
+
+  void onEventEmitted(IVSBroadcastCameraView.Events event) {
+    emittedEvents.get(event).increment();
+  }
+
+  void onEventDropped(IVSBroadcastCameraView.Events event) {
+    droppedEvents.get(event).increment();
+  }
+
+  void onCommandHandled(String commandId, long latencyMicros) {
+    Histogram histogram = commandLatencies.get(commandId);
+    if (histogram == null) {
+      histogram = registry.histogram("commands." + commandId + ".latency", COMMAND_LATENCY_BOUNDS_MICROS);
+      commandLatencies.putIfAbsent(commandId, histogram);
+    }
+    histogram.record(latencyMicros);
+  }
+
+  void onSessionInitialized() {
+    initCount.increment();
+    activeSessions.add(1);
+  }
+
+  void onSessionReleased() {
+    deinitCount.increment();
+    activeSessions.add(-1);
+  }
+
+  void onError(String type) {
+    registry.counter("errors." + type).increment();
+  }
+
+  StateTracker createStateTracker() {
+    return new StateTracker();
+  }
+
+  /**
+   * The time of the current states is accounted up to the moment of the snapshot.
+   */
+  WritableMap getPayload() {
+    for (StateTracker stateTracker : activeStateTrackers) {
+      stateTracker.accumulate();
+    }
+    MetricsRegistry.Snapshot snapshot = registry.getSnapshot();
+
+    WritableMap countersPayload = Arguments.createMap();
+    for (Map.Entry<String, Long> entry : snapshot.counters.entrySet()) {
+      countersPayload.putDouble(entry.getKey(), entry.getValue());
+    }
+    WritableMap gaugesPayload = Arguments.createMap();
+    for (Map.Entry<String, Long> entry : snapshot.gauges.entrySet()) {
+      gaugesPayload.putDouble(entry.getKey(), entry.getValue());
+    }
+    WritableMap histogramsPayload = Arguments.createMap();
+    for (Map.Entry<String, Histogram.Snapshot> entry : snapshot.histograms.entrySet()) {
+      Histogram.Snapshot histogram = entry.getValue();
+      WritableMap histogramPayload = Arguments.createMap();
+      histogramPayload.putDouble("count", histogram.count);
+      histogramPayload.putDouble("min", histogram.min);
+      histogramPayload.putDouble("max", histogram.max);
+      histogramPayload.putDouble("mean", histogram.getMean());
+      histogramPayload.putDouble("p50", histogram.getPercentile(50));
+      histogramPayload.putDouble("p90", histogram.getPercentile(90));
+      histogramPayload.putDouble("p99", histogram.getPercentile(99));
+      histogramsPayload.putMap(entry.getKey(), histogramPayload);
+    }
+
+    WritableMap metricsPayload = Arguments.createMap();
+    metricsPayload.putMap("counters", countersPayload);
+    metricsPayload.putMap("gauges", gaugesPayload);
+    metricsPayload.putMap("histograms", histogramsPayload);
+    return metricsPayload;
+  }
+}
@@ -0,0 +1,79 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import android.os.Handler;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.amazonaws.ivs.broadcast.BroadcastSession;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.WritableMap;
+
+/**
+ * Settles the promise once the broadcast session reaches the target state, fails with a fatal
+ * error or does not reach the state in time.
+ */
+class BroadcastStateTransition {
+  static final String E_TIMEOUT = "E_TIMEOUT";
+  static final String E_BROADCAST_ERROR = "E_BROADCAST_ERROR";
+  static final String E_SUPERSEDED = "E_SUPERSEDED";
+  static final String E_CANCELLED = "E_CANCELLED";
+  static final String E_INVALID_ARGUMENTS = "E_INVALID_ARGUMENTS";
+
+  final BroadcastSession.State targetState;
+
+  private final String durationKey;
+  private final Handler handler;
+  private final Promise promise;
+  private final long startedAt = SystemClock.elapsedRealtime();
+  private final Runnable timeoutTask;
+  private boolean isSettled = false;
+
+  BroadcastStateTransition(
+    @NonNull BroadcastSession.State targetState,
+    @NonNull String durationKey,
+    long timeoutMillis,
+    @NonNull Handler handler,
+    @NonNull Promise promise
+  ) {
+    this.targetState = targetState;
+    this.durationKey = durationKey;
+    this.handler = handler;
+    this.promise = promise;
+    this.timeoutTask = () -> reject(
+      E_TIMEOUT,
+      "Broadcast session has not reached " + targetState + " state in " + timeoutMillis + "ms.",
+      null
+    );
+    handler.postDelayed(timeoutTask, timeoutMillis);
+  }
+
+  synchronized boolean isSettled() {
+    return isSettled;
+  }
+
+  synchronized void resolve(@Nullable String sessionId) {
+    if (isSettled) return;
+    isSettled = true;
+    handler.removeCallbacks(timeoutTask);
+
+    WritableMap result = Arguments.createMap();
+    result.putString("sessionId", sessionId);
+    result.putDouble(durationKey, SystemClock.elapsedRealtime() - startedAt);
+    promise.resolve(result);
+  }
+
+  synchronized void reject(@NonNull String code, @NonNull String message, @Nullable WritableMap userInfo) {
+    if (isSettled) return;
+    isSettled = true;
+    handler.removeCallbacks(timeoutTask);
+
+    if (userInfo != null) {
+      promise.reject(code, message, userInfo);
+    } else {
+      promise.reject(code, message);
+    }
+  }
+}
@@ -0,0 +1,229 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import android.content.Context;
+import android.graphics.SurfaceTexture;
+import android.hardware.camera2.CameraAccessException;
+import android.hardware.camera2.CameraCharacteristics;
+import android.hardware.camera2.CameraManager;
+import android.hardware.camera2.params.StreamConfigurationMap;
+import android.os.Build;
+import android.util.Range;
+import android.util.Size;
+import android.util.SizeF;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Capabilities of the cameras available on the device, read from {@link CameraCharacteristics}
+ * once per process and ranked against the requested video configuration.
+ */
+class CameraCatalog {
+  // Diagonal of the 35mm film frame, used to compute the equivalent focal length.
+  private static final double FULL_FRAME_DIAGONAL_MM = 43.27;
+  private static final double ULTRA_WIDE_MAX_FOCAL_LENGTH_MM = 20;
+  private static final double TELEPHOTO_MIN_FOCAL_LENGTH_MM = 45;
+
+  private static volatile List<CameraInfo> cachedCameras;
+
+  enum Lens {
+    WIDE("wide"),
+    ULTRA_WIDE("ultraWide"),
+    TELEPHOTO("telephoto");
+
+    private final String title;
+
+    Lens(String title) {
+      this.title = title;
+    }
+
+    static Lens fromString(String lensName) {
+      for (Lens lens : values()) {
+        if (lens.title.equals(lensName)) {
+          return lens;
+        }
+      }
+      throw new RuntimeException("Does not support lens: " + lensName);
+    }
+
+    @Override
+    public String toString() {
+      return title;
+    }
+  }
+
+  static final class CameraInfo {
+    final String cameraId;
+    final boolean isFront;
+    final Lens lens;
+    final int maxWidth;
+    final int maxHeight;
+    final int maxFrameRate;
+    final double equivalentFocalLength;
+    final boolean isLogicalMultiCamera;
+
+    CameraInfo(String cameraId, boolean isFront, Lens lens, int maxWidth, int maxHeight, int maxFrameRate, double equivalentFocalLength, boolean isLogicalMultiCamera) {
+      this.cameraId = cameraId;
+      this.isFront = isFront;
+      this.lens = lens;
+      this.maxWidth = maxWidth;
+      this.maxHeight = maxHeight;
+      this.maxFrameRate = maxFrameRate;
+      this.equivalentFocalLength = equivalentFocalLength;
+      this.isLogicalMultiCamera = isLogicalMultiCamera;
+    }
+  }
+
+  static final class RankedCamera {
+    final CameraInfo info;
+    final boolean meetsResolution;
+    final boolean meetsFrameRate;
+    final boolean matchesLens;
+
+    RankedCamera(CameraInfo info, boolean meetsResolution, boolean meetsFrameRate, boolean matchesLens) {
+      this.info = info;
+      this.meetsResolution = meetsResolution;
+      this.meetsFrameRate = meetsFrameRate;
+      this.matchesLens = matchesLens;
+    }
+  }
+
+  private static Lens getLens(double equivalentFocalLength) {
+    if (equivalentFocalLength <= 0) return Lens.WIDE;
+    if (equivalentFocalLength <= ULTRA_WIDE_MAX_FOCAL_LENGTH_MM) return Lens.ULTRA_WIDE;
+    if (equivalentFocalLength >= TELEPHOTO_MIN_FOCAL_LENGTH_MM) return Lens.TELEPHOTO;
+    return Lens.WIDE;
+  }
+
+  @Nullable
+  private static CameraInfo readCameraInfo(CameraManager cameraManager, String cameraId) throws CameraAccessException {
+    CameraCharacteristics characteristics = cameraManager.getCameraCharacteristics(cameraId);
+
+    Integer facing = characteristics.get(CameraCharacteristics.LENS_FACING);
+    if (facing == null || facing == CameraCharacteristics.LENS_FACING_EXTERNAL) return null;
+
+    int maxWidth = 0;
+    int maxHeight = 0;
+    StreamConfigurationMap streamConfigurationMap = characteristics.get(CameraCharacteristics.SCALER_STREAM_CONFIGURATION_MAP);
+    Size[] outputSizes = streamConfigurationMap != null ? streamConfigurationMap.getOutputSizes(SurfaceTexture.class) : null;
+    if (outputSizes != null) {
+      for (Size size : outputSizes) {
+        if ((long) size.getWidth() * size.getHeight() > (long) maxWidth * maxHeight) {
+          maxWidth = size.getWidth();
+          maxHeight = size.getHeight();
+        }
+      }
+    }
+
+    int maxFrameRate = 0;
+    Range<Integer>[] frameRateRanges = characteristics.get(CameraCharacteristics.CONTROL_AE_AVAILABLE_TARGET_FPS_RANGES);
+    if (frameRateRanges != null) {
+      for (Range<Integer> range : frameRateRanges) {
+        maxFrameRate = Math.max(maxFrameRate, range.getUpper());
+      }
+    }
+
+    double equivalentFocalLength = 0;
+    float[] focalLengths = characteristics.get(CameraCharacteristics.LENS_INFO_AVAILABLE_FOCAL_LENGTHS);
+    SizeF sensorSize = characteristics.get(CameraCharacteristics.SENSOR_INFO_PHYSICAL_SIZE);
+    if (focalLengths != null && focalLengths.length > 0 && sensorSize != null) {
+      double sensorDiagonal = Math.hypot(sensorSize.getWidth(), sensorSize.getHeight());
+      if (sensorDiagonal > 0) {
+        equivalentFocalLength = focalLengths[0] * FULL_FRAME_DIAGONAL_MM / sensorDiagonal;
+      }
+    }
+
+    boolean isLogicalMultiCamera = false;
+    int[] capabilities = characteristics.get(CameraCharacteristics.REQUEST_AVAILABLE_CAPABILITIES);
+    if (capabilities != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+      for (int capability : capabilities) {
+        if (capability == CameraCharacteristics.REQUEST_AVAILABLE_CAPABILITIES_LOGICAL_MULTI_CAMERA) {
+          isLogicalMultiCamera = true;
+          break;
+        }
+      }
+    }
+
+    return new CameraInfo(
+      cameraId,
+      facing == CameraCharacteristics.LENS_FACING_FRONT,
+      getLens(equivalentFocalLength),
+      maxWidth,
+      maxHeight,
+      maxFrameRate,
+      equivalentFocalLength,
+      isLogicalMultiCamera
+    );
+  }
+
+  /**
+   * Reads the characteristics on the first call, the subsequent calls return the cached result.
+   */
+  @NonNull
+  static List<CameraInfo> getCameras(@NonNull Context context) {
+    List<CameraInfo> cameras = cachedCameras;
+    if (cameras != null) return cameras;
+
+    synchronized (CameraCatalog.class) {
+      if (cachedCameras == null) {
+        List<CameraInfo> readCameras = new ArrayList<>();
+        CameraManager cameraManager = (CameraManager) context.getApplicationContext().getSystemService(Context.CAMERA_SERVICE);
+        try {
+          for (String cameraId : cameraManager.getCameraIdList()) {
+            CameraInfo cameraInfo = readCameraInfo(cameraManager, cameraId);
+            if (cameraInfo != null) {
+              readCameras.add(cameraInfo);
+            }
+          }
+        } catch (CameraAccessException | RuntimeException error) {
+          // Do not cache a partial result, so the next call has another chance.
+          return Collections.unmodifiableList(readCameras);
+        }
+        cachedCameras = Collections.unmodifiableList(readCameras);
+      }
+      return cachedCameras;
+    }
+  }
+
+  /**
+   * Ranks the cameras facing the given direction: the requested lens first, then the cameras that
+   * can deliver the requested resolution and frame rate, then the wide lens, then the highest
+   * resolution.
+   */
+  @NonNull
+  static List<RankedCamera> rank(@NonNull List<CameraInfo> cameras, boolean isFront, @Nullable Lens lens, int width, int height, int frameRate) {
+    int longSide = Math.max(width, height);
+    int shortSide = Math.min(width, height);
+
+    List<RankedCamera> rankedCameras = new ArrayList<>();
+    for (CameraInfo camera : cameras) {
+      if (camera.isFront != isFront) continue;
+
+      boolean meetsResolution = Math.max(camera.maxWidth, camera.maxHeight) >= longSide
+        && Math.min(camera.maxWidth, camera.maxHeight) >= shortSide;
+      boolean meetsFrameRate = camera.maxFrameRate >= frameRate;
+      boolean matchesLens = lens == null || camera.lens == lens;
+      rankedCameras.add(new RankedCamera(camera, meetsResolution, meetsFrameRate, matchesLens));
+    }
+
+    Collections.sort(rankedCameras, (a, b) -> {
+      if (a.matchesLens != b.matchesLens) return a.matchesLens ? -1 : 1;
+      if (a.meetsResolution != b.meetsResolution) return a.meetsResolution ? -1 : 1;
+      if (a.meetsFrameRate != b.meetsFrameRate) return a.meetsFrameRate ? -1 : 1;
+
+      boolean isAWide = a.info.lens == Lens.WIDE;
+      boolean isBWide = b.info.lens == Lens.WIDE;
+      if (isAWide != isBWide) return isAWide ? -1 : 1;
+
+      return Long.compare(
+        (long) b.info.maxWidth * b.info.maxHeight,
+        (long) a.info.maxWidth * a.info.maxHeight
+      );
+    });
+    return rankedCameras;
+  }
+}
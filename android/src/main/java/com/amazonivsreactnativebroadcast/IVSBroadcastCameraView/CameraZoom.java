@@ -0,0 +1,92 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+/**
+ * Digital zoom of the camera slot. The slot is enlarged beyond the canvas and shifted, so the
+ * mixer crops the camera image, the point under the pinch focus staying in place. The slot always
+ * covers the whole canvas.
+ */
+final class CameraZoom {
+  static final float MIN_ZOOM = 1;
+  static final float DEFAULT_MAX_ZOOM = 4;
+
+  private float minZoom = MIN_ZOOM;
+  private float maxZoom = DEFAULT_MAX_ZOOM;
+  private float zoom = MIN_ZOOM;
+  // Position of the slot relative to the canvas size, between 1 - zoom and 0.
+  private float offsetX = 0;
+  private float offsetY = 0;
+
+  float getZoom() {
+    return zoom;
+  }
+
+  float getMinZoom() {
+    return minZoom;
+  }
+
+  float getMaxZoom() {
+    return maxZoom;
+  }
+
+  /**
+   * @return whether the zoom has been changed to fit into the new limits.
+   */
+  boolean setLimits(float minZoom, float maxZoom) {
+    this.minZoom = Math.max(MIN_ZOOM, minZoom);
+    this.maxZoom = Math.max(this.minZoom, maxZoom);
+    float clampedZoom = clamp(zoom, this.minZoom, this.maxZoom);
+    if (clampedZoom == zoom) return false;
+
+    // Keeps the canvas center in place, there is no focus outside of a gesture.
+    offsetX = (offsetX - 0.5f) * clampedZoom / zoom + 0.5f;
+    offsetY = (offsetY - 0.5f) * clampedZoom / zoom + 0.5f;
+    zoom = clampedZoom;
+    clampOffsets();
+    return true;
+  }
+
+  void reset() {
+    zoom = minZoom;
+    offsetX = (1 - zoom) / 2;
+    offsetY = (1 - zoom) / 2;
+  }
+
+  /**
+   * @param focusX horizontal position of the pinch focus relative to the canvas, from 0 to 1.
+   * @param focusY vertical position of the pinch focus relative to the canvas, from 0 to 1.
+   * @return whether the zoom has changed.
+   */
+  boolean scaleBy(float scaleFactor, float focusX, float focusY) {
+    float newZoom = clamp(zoom * scaleFactor, minZoom, maxZoom);
+    if (newZoom == zoom) return false;
+
+    // The camera image point under the focus stays under it.
+    offsetX = focusX - (focusX - offsetX) * newZoom / zoom;
+    offsetY = focusY - (focusY - offsetY) * newZoom / zoom;
+    zoom = newZoom;
+    clampOffsets();
+    return true;
+  }
+
+  /**
+   * @return the frame of the camera slot on a canvas of the given size.
+   */
+  ScreenCaptureLayout.Frame getFrame(float canvasWidth, float canvasHeight) {
+    return new ScreenCaptureLayout.Frame(
+      offsetX * canvasWidth,
+      offsetY * canvasHeight,
+      zoom * canvasWidth,
+      zoom * canvasHeight
+    );
+  }
+
+  // Keeps the slot covering the canvas.
+  private void clampOffsets() {
+    offsetX = clamp(offsetX, 1 - zoom, 0);
+    offsetY = clamp(offsetY, 1 - zoom, 0);
+  }
+
+  private static float clamp(float value, float min, float max) {
+    return Math.max(min, Math.min(max, value));
+  }
+}
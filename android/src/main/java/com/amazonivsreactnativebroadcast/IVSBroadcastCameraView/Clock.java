@@ -0,0 +1,10 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+/**
+ * Source of timestamps in milliseconds, e.g. the uptime, the elapsed realtime or the wall clock.
+ * Only the differences between the timestamps of the same clock are meaningful.
+ */
+@FunctionalInterface
+public interface Clock {
+  long now();
+}
@@ -0,0 +1,317 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact description of what the H.264 encoder of the device can sustain, used to clamp the
+ * video config before a session is created.
+ *
+ * The profile is serialized as `key=value` lines, so it can be persisted and loaded on the
+ * following launches without querying the codec list again.
+ */
+public final class EncoderProfile {
+  public static final int VERSION = 1;
+
+  // The frame rate is lowered down to this value before the resolution is lowered instead.
+  static final int MIN_SUSTAINED_FRAME_RATE = 24;
+
+  public enum AvcProfile {
+    BASELINE("baseline"),
+    MAIN("main"),
+    HIGH("high");
+
+    private final String title;
+
+    AvcProfile(String title) {
+      this.title = title;
+    }
+
+    static AvcProfile fromString(String profileName) {
+      for (AvcProfile profile : values()) {
+        if (profile.title.equals(profileName)) {
+          return profile;
+        }
+      }
+      throw new IllegalArgumentException("Does not support AVC profile: " + profileName);
+    }
+
+    @Override
+    public String toString() {
+      return title;
+    }
+  }
+
+  public static final class VideoConfig {
+    public final int width;
+    public final int height;
+    public final int frameRate;
+    public final int initialBitrate;
+    public final int minBitrate;
+    public final int maxBitrate;
+    public final boolean isBFrames;
+
+    public VideoConfig(int width, int height, int frameRate, int initialBitrate, int minBitrate, int maxBitrate, boolean isBFrames) {
+      this.width = width;
+      this.height = height;
+      this.frameRate = frameRate;
+      this.initialBitrate = initialBitrate;
+      this.minBitrate = minBitrate;
+      this.maxBitrate = maxBitrate;
+      this.isBFrames = isBFrames;
+    }
+  }
+
+  public static final class Adjustment {
+    public final String key;
+    public final double requestedValue;
+    public final double adjustedValue;
+    public final String reason;
+
+    Adjustment(String key, double requestedValue, double adjustedValue, String reason) {
+      this.key = key;
+      this.requestedValue = requestedValue;
+      this.adjustedValue = adjustedValue;
+      this.reason = reason;
+    }
+
+    public WritableMap toPayload() {
+      WritableMap adjustmentPayload = Arguments.createMap();
+      adjustmentPayload.putString("key", key);
+      adjustmentPayload.putDouble("requestedValue", requestedValue);
+      adjustmentPayload.putDouble("adjustedValue", adjustedValue);
+      adjustmentPayload.putString("reason", reason);
+      return adjustmentPayload;
+    }
+  }
+
+  public static final class ClampResult {
+    public final VideoConfig videoConfig;
+    public final List<Adjustment> adjustments;
+
+    ClampResult(VideoConfig videoConfig, List<Adjustment> adjustments) {
+      this.videoConfig = videoConfig;
+      this.adjustments = adjustments;
+    }
+
+    public WritableArray getAdjustmentsPayload() {
+      WritableArray adjustmentsPayload = Arguments.createArray();
+      for (Adjustment adjustment : adjustments) {
+        adjustmentsPayload.pushMap(adjustment.toPayload());
+      }
+      return adjustmentsPayload;
+    }
+  }
+
+  public final String fingerprint;
+  public final String encoderName;
+  public final boolean isHardwareAccelerated;
+  public final AvcProfile maxProfile;
+  public final int maxLevel;
+  public final int maxWidth;
+  public final int maxHeight;
+  public final int widthAlignment;
+  public final int heightAlignment;
+  public final int maxFrameRate;
+  public final long maxMacroblocksPerSecond;
+  public final int maxBitrate;
+
+  public EncoderProfile(
+    String fingerprint,
+    String encoderName,
+    boolean isHardwareAccelerated,
+    AvcProfile maxProfile,
+    int maxLevel,
+    int maxWidth,
+    int maxHeight,
+    int widthAlignment,
+    int heightAlignment,
+    int maxFrameRate,
+    long maxMacroblocksPerSecond,
+    int maxBitrate
+  ) {
+    this.fingerprint = fingerprint;
+    this.encoderName = encoderName;
+    this.isHardwareAccelerated = isHardwareAccelerated;
+    this.maxProfile = maxProfile;
+    this.maxLevel = maxLevel;
+    this.maxWidth = maxWidth;
+    this.maxHeight = maxHeight;
+    this.widthAlignment = Math.max(1, widthAlignment);
+    this.heightAlignment = Math.max(1, heightAlignment);
+    this.maxFrameRate = maxFrameRate;
+    this.maxMacroblocksPerSecond = maxMacroblocksPerSecond;
+    this.maxBitrate = maxBitrate;
+  }
+
+  public String serialize() {
+    return "version=" + VERSION + '\n'
+      + "fingerprint=" + fingerprint + '\n'
+      + "encoderName=" + encoderName + '\n'
+      + "isHardwareAccelerated=" + isHardwareAccelerated + '\n'
+      + "maxProfile=" + maxProfile + '\n'
+      + "maxLevel=" + maxLevel + '\n'
+      + "maxWidth=" + maxWidth + '\n'
+      + "maxHeight=" + maxHeight + '\n'
+      + "widthAlignment=" + widthAlignment + '\n'
+      + "heightAlignment=" + heightAlignment + '\n'
+      + "maxFrameRate=" + maxFrameRate + '\n'
+      + "maxMacroblocksPerSecond=" + maxMacroblocksPerSecond + '\n'
+      + "maxBitrate=" + maxBitrate + '\n';
+  }
+
+  /**
+   * @return {@code null} if the profile is malformed, has been written by another version or on
+   * another build of the system.
+   */
+  public static EncoderProfile parse(String serializedProfile, String fingerprint) {
+    Map<String, String> values = new HashMap<>();
+    for (String line : serializedProfile.split("\n")) {
+      int separatorIndex = line.indexOf('=');
+      if (separatorIndex > 0) {
+        values.put(line.substring(0, separatorIndex), line.substring(separatorIndex + 1));
+      }
+    }
+
+    try {
+      if (Integer.parseInt(values.get("version")) != VERSION) return null;
+      if (!fingerprint.equals(values.get("fingerprint"))) return null;
+
+      String encoderName = values.get("encoderName");
+      if (encoderName == null) return null;
+
+      return new EncoderProfile(
+        fingerprint,
+        encoderName,
+        Boolean.parseBoolean(values.get("isHardwareAccelerated")),
+        AvcProfile.fromString(values.get("maxProfile")),
+        Integer.parseInt(values.get("maxLevel")),
+        Integer.parseInt(values.get("maxWidth")),
+        Integer.parseInt(values.get("maxHeight")),
+        Integer.parseInt(values.get("widthAlignment")),
+        Integer.parseInt(values.get("heightAlignment")),
+        Integer.parseInt(values.get("maxFrameRate")),
+        Long.parseLong(values.get("maxMacroblocksPerSecond")),
+        Integer.parseInt(values.get("maxBitrate"))
+      );
+    } catch (RuntimeException error) {
+      return null;
+    }
+  }
+
+  private static long getMacroblocksCount(int width, int height) {
+    return (long) ((width + 15) / 16) * ((height + 15) / 16);
+  }
+
+  private static int alignDown(int value, int alignment) {
+    return Math.max(alignment, value - value % alignment);
+  }
+
+  /**
+   * @return the highest frame rate the encoder can sustain at the given size.
+   */
+  public int getMaxFrameRate(int width, int height) {
+    long macroblocksPerSecond = maxMacroblocksPerSecond / getMacroblocksCount(width, height);
+    return (int) Math.min(maxFrameRate, macroblocksPerSecond);
+  }
+
+  /**
+   * Fits the video config into the encoder capabilities. The size is fitted into the maximum
+   * size first, then the frame rate is lowered down to {@link #MIN_SUSTAINED_FRAME_RATE} and
+   * if that is still not enough, the size is lowered keeping the aspect ratio.
+   *
+   * The maximum size is reported for the landscape orientation, the encoders rotate it for a
+   * portrait config, so the long and the short sides are compared with each other.
+   */
+  public ClampResult clamp(VideoConfig requested) {
+    List<Adjustment> adjustments = new ArrayList<>();
+
+    int width = requested.width;
+    int height = requested.height;
+    int longSide = Math.max(width, height);
+    int shortSide = Math.min(width, height);
+    int maxLongSide = Math.max(maxWidth, maxHeight);
+    int maxShortSide = Math.min(maxWidth, maxHeight);
+    String sizeReason = null;
+    if (longSide > maxLongSide || shortSide > maxShortSide) {
+      double scale = Math.min((double) maxLongSide / longSide, (double) maxShortSide / shortSide);
+      width = (int) (width * scale);
+      height = (int) (height * scale);
+      sizeReason = "exceedsMaxSize";
+    }
+    width = alignDown(width, widthAlignment);
+    height = alignDown(height, heightAlignment);
+    if (sizeReason == null && (width != requested.width || height != requested.height)) {
+      sizeReason = "unalignedSize";
+    }
+
+    int frameRate = Math.min(requested.frameRate, maxFrameRate);
+    String frameRateReason = frameRate != requested.frameRate ? "exceedsMaxFrameRate" : null;
+
+    int sustainedFrameRate = getMaxFrameRate(width, height);
+    if (frameRate > sustainedFrameRate) {
+      int minFrameRate = Math.min(frameRate, MIN_SUSTAINED_FRAME_RATE);
+      if (sustainedFrameRate >= minFrameRate) {
+        frameRate = sustainedFrameRate;
+      } else {
+        frameRate = minFrameRate;
+        double scale = Math.sqrt((double) maxMacroblocksPerSecond / frameRate / getMacroblocksCount(width, height));
+        width = alignDown((int) (width * scale), widthAlignment);
+        height = alignDown((int) (height * scale), heightAlignment);
+        // Alignment of the blocks might still leave the size slightly above the limit.
+        while (getMaxFrameRate(width, height) < frameRate && width > widthAlignment && height > heightAlignment) {
+          width = alignDown(width - widthAlignment, widthAlignment);
+          height = alignDown(height - heightAlignment, heightAlignment);
+        }
+        sizeReason = "exceedsMacroblockRate";
+      }
+      if (frameRate != requested.frameRate) {
+        frameRateReason = "exceedsMacroblockRate";
+      }
+    }
+
+    if (sizeReason != null) {
+      adjustments.add(new Adjustment("width", requested.width, width, sizeReason));
+      adjustments.add(new Adjustment("height", requested.height, height, sizeReason));
+    }
+    if (frameRateReason != null) {
+      adjustments.add(new Adjustment("targetFrameRate", requested.frameRate, frameRate, frameRateReason));
+    }
+
+    int initialBitrate = requested.initialBitrate;
+    int minBitrate = requested.minBitrate;
+    int targetMaxBitrate = requested.maxBitrate;
+    if (maxBitrate > 0) {
+      initialBitrate = Math.min(initialBitrate, maxBitrate);
+      minBitrate = Math.min(minBitrate, maxBitrate);
+      targetMaxBitrate = Math.min(targetMaxBitrate, maxBitrate);
+    }
+    if (initialBitrate != requested.initialBitrate) {
+      adjustments.add(new Adjustment("bitrate", requested.initialBitrate, initialBitrate, "exceedsMaxBitrate"));
+    }
+    if (minBitrate != requested.minBitrate) {
+      adjustments.add(new Adjustment("minBitrate", requested.minBitrate, minBitrate, "exceedsMaxBitrate"));
+    }
+    if (targetMaxBitrate != requested.maxBitrate) {
+      adjustments.add(new Adjustment("maxBitrate", requested.maxBitrate, targetMaxBitrate, "exceedsMaxBitrate"));
+    }
+
+    // B-frames are not part of the baseline profile.
+    boolean isBFrames = requested.isBFrames && maxProfile != AvcProfile.BASELINE;
+    if (isBFrames != requested.isBFrames) {
+      adjustments.add(new Adjustment("isBFrames", 1, 0, "unsupportedProfile"));
+    }
+
+    return new ClampResult(
+      new VideoConfig(width, height, frameRate, initialBitrate, minBitrate, targetMaxBitrate, isBFrames),
+      Collections.unmodifiableList(adjustments)
+    );
+  }
+}
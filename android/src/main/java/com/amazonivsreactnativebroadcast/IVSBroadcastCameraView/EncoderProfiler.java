@@ -0,0 +1,266 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import android.content.Context;
+import android.media.MediaCodecInfo;
+import android.media.MediaCodecList;
+import android.media.MediaFormat;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Range;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Profiles the H.264 encoder of the device on the first launch and persists the result, so the
+ * following launches load it from disk instead of querying the codec list again. The profile is
+ * re-created when the system is updated.
+ */
+class EncoderProfiler {
+  private static final String PROFILE_FILE_NAME = "ivs-encoder-profile";
+
+  // Sizes used to estimate the macroblock rate the encoder can sustain.
+  private static final int[][] PROBE_SIZES = {{1920, 1080}, {1280, 720}, {640, 360}};
+
+  static final class Result {
+    final EncoderProfile profile;
+    final boolean isCached;
+    final long loadDuration;
+
+    Result(EncoderProfile profile, boolean isCached, long loadDuration) {
+      this.profile = profile;
+      this.isCached = isCached;
+      this.loadDuration = loadDuration;
+    }
+
+    WritableMap toPayload() {
+      WritableMap encoderPayload = Arguments.createMap();
+      encoderPayload.putString("name", profile.encoderName);
+      encoderPayload.putBoolean("isHardwareAccelerated", profile.isHardwareAccelerated);
+      encoderPayload.putString("maxProfile", profile.maxProfile.toString());
+      encoderPayload.putInt("maxWidth", profile.maxWidth);
+      encoderPayload.putInt("maxHeight", profile.maxHeight);
+      encoderPayload.putInt("maxFrameRate", profile.maxFrameRate);
+      encoderPayload.putInt("maxBitrate", profile.maxBitrate);
+      encoderPayload.putBoolean("isCached", isCached);
+      encoderPayload.putDouble("loadDuration", loadDuration);
+      return encoderPayload;
+    }
+  }
+
+  private static final Handler mainThreadHandler = new Handler(Looper.getMainLooper());
+  private static volatile Result cachedResult;
+  private static volatile boolean isNoEncoder = false;
+
+  private static boolean isHardwareAccelerated(MediaCodecInfo codecInfo) {
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+      return codecInfo.isHardwareAccelerated();
+    }
+    String name = codecInfo.getName();
+    return !name.startsWith("OMX.google.") && !name.startsWith("c2.android.");
+  }
+
+  private static EncoderProfile.AvcProfile getAvcProfile(int profile) {
+    switch (profile) {
+      case MediaCodecInfo.CodecProfileLevel.AVCProfileHigh:
+      case MediaCodecInfo.CodecProfileLevel.AVCProfileConstrainedHigh:
+      case MediaCodecInfo.CodecProfileLevel.AVCProfileHigh10:
+      case MediaCodecInfo.CodecProfileLevel.AVCProfileHigh422:
+      case MediaCodecInfo.CodecProfileLevel.AVCProfileHigh444: {
+        return EncoderProfile.AvcProfile.HIGH;
+      }
+      case MediaCodecInfo.CodecProfileLevel.AVCProfileMain:
+      case MediaCodecInfo.CodecProfileLevel.AVCProfileExtended: {
+        return EncoderProfile.AvcProfile.MAIN;
+      }
+      default: {
+        return EncoderProfile.AvcProfile.BASELINE;
+      }
+    }
+  }
+
+  @Nullable
+  private static MediaCodecInfo findEncoder() {
+    MediaCodecInfo softwareEncoder = null;
+    for (MediaCodecInfo codecInfo : new MediaCodecList(MediaCodecList.REGULAR_CODECS).getCodecInfos()) {
+      if (!codecInfo.isEncoder()) continue;
+
+      for (String type : codecInfo.getSupportedTypes()) {
+        if (!type.equalsIgnoreCase(MediaFormat.MIMETYPE_VIDEO_AVC)) continue;
+
+        if (isHardwareAccelerated(codecInfo)) return codecInfo;
+        if (softwareEncoder == null) {
+          softwareEncoder = codecInfo;
+        }
+      }
+    }
+    return softwareEncoder;
+  }
+
+  @Nullable
+  private static EncoderProfile queryProfile(String fingerprint) {
+    MediaCodecInfo codecInfo = findEncoder();
+    if (codecInfo == null) return null;
+
+    MediaCodecInfo.CodecCapabilities capabilities = codecInfo.getCapabilitiesForType(MediaFormat.MIMETYPE_VIDEO_AVC);
+    MediaCodecInfo.VideoCapabilities videoCapabilities = capabilities.getVideoCapabilities();
+
+    EncoderProfile.AvcProfile maxProfile = EncoderProfile.AvcProfile.BASELINE;
+    int maxLevel = 0;
+    for (MediaCodecInfo.CodecProfileLevel profileLevel : capabilities.profileLevels) {
+      EncoderProfile.AvcProfile avcProfile = getAvcProfile(profileLevel.profile);
+      if (avcProfile.compareTo(maxProfile) > 0) {
+        maxProfile = avcProfile;
+      }
+      maxLevel = Math.max(maxLevel, profileLevel.level);
+    }
+
+    long maxMacroblocksPerSecond = 0;
+    for (int[] size : PROBE_SIZES) {
+      int width = size[0];
+      int height = size[1];
+      if (!videoCapabilities.isSizeSupported(width, height)) continue;
+
+      double frameRate = videoCapabilities.getSupportedFrameRatesFor(width, height).getUpper();
+      // The measured rates are reported by the vendor and reflect what is actually sustainable.
+      Range<Double> achievableFrameRates = videoCapabilities.getAchievableFrameRatesFor(width, height);
+      if (achievableFrameRates != null) {
+        frameRate = Math.min(frameRate, achievableFrameRates.getUpper());
+      }
+
+      long macroblocksCount = (long) ((width + 15) / 16) * ((height + 15) / 16);
+      maxMacroblocksPerSecond = Math.max(maxMacroblocksPerSecond, (long) (frameRate * macroblocksCount));
+    }
+
+    return new EncoderProfile(
+      fingerprint,
+      codecInfo.getName(),
+      isHardwareAccelerated(codecInfo),
+      maxProfile,
+      maxLevel,
+      videoCapabilities.getSupportedWidths().getUpper(),
+      videoCapabilities.getSupportedHeights().getUpper(),
+      videoCapabilities.getWidthAlignment(),
+      videoCapabilities.getHeightAlignment(),
+      videoCapabilities.getSupportedFrameRates().getUpper(),
+      maxMacroblocksPerSecond,
+      videoCapabilities.getBitrateRange().getUpper()
+    );
+  }
+
+  @Nullable
+  private static EncoderProfile readProfile(File file, String fingerprint) {
+    if (!file.exists()) return null;
+
+    StringBuilder serializedProfile = new StringBuilder();
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        serializedProfile.append(line).append('\n');
+      }
+    } catch (IOException error) {
+      return null;
+    }
+    return EncoderProfile.parse(serializedProfile.toString(), fingerprint);
+  }
+
+  private static void writeProfile(File file, EncoderProfile profile) {
+    File temporaryFile = new File(file.getPath() + ".tmp");
+    try (Writer writer = new OutputStreamWriter(new FileOutputStream(temporaryFile), StandardCharsets.UTF_8)) {
+      writer.write(profile.serialize());
+    } catch (IOException error) {
+      temporaryFile.delete();
+      return;
+    }
+    // The rename keeps a concurrently read profile intact.
+    if (!temporaryFile.renameTo(file)) {
+      temporaryFile.delete();
+    }
+  }
+
+  /**
+   * Loads the persisted profile or profiles the encoder on the first call, the subsequent calls
+   * return the cached result.
+   *
+   * @return {@code null} if the device has no H.264 encoder.
+   */
+  @Nullable
+  static Result getProfile(@NonNull Context context) {
+    Result result = cachedResult;
+    if (result != null || isNoEncoder) return result;
+
+    synchronized (EncoderProfiler.class) {
+      if (cachedResult != null || isNoEncoder) return cachedResult;
+
+      long startTimestamp = SystemClock.elapsedRealtime();
+      String fingerprint = Build.FINGERPRINT;
+      File file = new File(context.getApplicationContext().getNoBackupFilesDir(), PROFILE_FILE_NAME);
+
+      EncoderProfile profile = readProfile(file, fingerprint);
+      boolean isCached = profile != null;
+      if (profile == null) {
+        try {
+          profile = queryProfile(fingerprint);
+        } catch (RuntimeException error) {
+          profile = null;
+        }
+        if (profile == null) {
+          isNoEncoder = true;
+          return null;
+        }
+        writeProfile(file, profile);
+      }
+
+      cachedResult = new Result(profile, isCached, SystemClock.elapsedRealtime() - startTimestamp);
+      return cachedResult;
+    }
+  }
+
+  static boolean isLoaded() {
+    return cachedResult != null || isNoEncoder;
+  }
+
+  /**
+   * Returns the loaded profile without waiting for the loading in progress, e.g. on the UI thread.
+   *
+   * @return {@code null} if the profile has not been loaded yet or the device has no H.264 encoder.
+   */
+  @Nullable
+  static Result peekProfile() {
+    return cachedResult;
+  }
+
+  /**
+   * Loads the profile on a background thread, so it is ready by the time a session is created.
+   *
+   * @param onLoaded called on the main thread once loaded, not called if it already is.
+   */
+  static void prefetch(@NonNull Context context, @Nullable Runnable onLoaded) {
+    if (isLoaded()) return;
+
+    Context applicationContext = context.getApplicationContext();
+    Thread thread = new Thread(() -> {
+      getProfile(applicationContext);
+      if (onLoaded != null) {
+        mainThreadHandler.post(onLoaded);
+      }
+    }, "IVSEncoderProfiler");
+    thread.setPriority(Thread.MIN_PRIORITY);
+    thread.start();
+  }
+}
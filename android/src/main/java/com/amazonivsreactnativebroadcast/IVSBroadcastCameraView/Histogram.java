@@ -0,0 +1,140 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram with fixed bucket upper bounds. The last bucket collects all the values
+ * above the highest bound.
+ */
+public class Histogram {
+  private final long[] bounds;
+  private final AtomicLongArray buckets;
+  private final AtomicLong count = new AtomicLong();
+  private final AtomicLong sum = new AtomicLong();
+  private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+  private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+  public static final class Snapshot {
+    public final long[] bounds;
+    public final long[] buckets;
+    public final long count;
+    public final long sum;
+    public final long min;
+    public final long max;
+
+    Snapshot(long[] bounds, long[] buckets, long count, long sum, long min, long max) {
+      this.bounds = bounds;
+      this.buckets = buckets;
+      this.count = count;
+      this.sum = sum;
+      this.min = min;
+      this.max = max;
+    }
+
+    public double getMean() {
+      return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * @return the upper bound of the bucket containing the given percentile, or {@link #max} when
+     * it falls into the overflow bucket.
+     */
+    public long getPercentile(double percentile) {
+      if (count == 0) return 0;
+
+      long rank = (long) Math.ceil(percentile / 100 * count);
+      long cumulative = 0;
+      for (int i = 0; i < bounds.length; i++) {
+        cumulative += buckets[i];
+        if (cumulative >= rank) {
+          return Math.min(bounds[i], max);
+        }
+      }
+      return max;
+    }
+
+    public WritableMap toPayload() {
+      WritableMap histogramPayload = Arguments.createMap();
+      histogramPayload.putDouble("count", count);
+      histogramPayload.putDouble("min", min);
+      histogramPayload.putDouble("max", max);
+      histogramPayload.putDouble("mean", getMean());
+      histogramPayload.putDouble("p50", getPercentile(50));
+      histogramPayload.putDouble("p90", getPercentile(90));
+      histogramPayload.putDouble("p99", getPercentile(99));
+
+      WritableArray boundsPayload = Arguments.createArray();
+      for (long bound : bounds) {
+        boundsPayload.pushDouble(bound);
+      }
+      WritableArray bucketsPayload = Arguments.createArray();
+      for (long bucket : buckets) {
+        bucketsPayload.pushDouble(bucket);
+      }
+      histogramPayload.putArray("bounds", boundsPayload);
+      histogramPayload.putArray("buckets", bucketsPayload);
+
+      return histogramPayload;
+    }
+  }
+
+  public Histogram(long... bounds) {
+    for (int i = 1; i < bounds.length; i++) {
+      if (bounds[i] <= bounds[i - 1]) {
+        throw new IllegalArgumentException("Histogram bounds must be sorted in ascending order.");
+      }
+    }
+    this.bounds = bounds.clone();
+    this.buckets = new AtomicLongArray(bounds.length + 1);
+  }
+
+  private int getBucketIndex(long value) {
+    int low = 0;
+    int high = bounds.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (value <= bounds[middle]) {
+        high = middle;
+      } else {
+        low = middle + 1;
+      }
+    }
+    return low;
+  }
+
+  public void record(long value) {
+    buckets.incrementAndGet(getBucketIndex(value));
+    count.incrementAndGet();
+    sum.addAndGet(value);
+
+    long currentMin;
+    while (value < (currentMin = min.get()) && !min.compareAndSet(currentMin, value)) {
+      // Retry until the minimum is updated or a smaller value wins.
+    }
+    long currentMax;
+    while (value > (currentMax = max.get()) && !max.compareAndSet(currentMax, value)) {
+      // Retry until the maximum is updated or a bigger value wins.
+    }
+  }
+
+  public Snapshot getSnapshot() {
+    long[] bucketsSnapshot = new long[buckets.length()];
+    for (int i = 0; i < bucketsSnapshot.length; i++) {
+      bucketsSnapshot[i] = buckets.get(i);
+    }
+    long countSnapshot = count.get();
+    return new Snapshot(
+      bounds.clone(),
+      bucketsSnapshot,
+      countSnapshot,
+      sum.get(),
+      countSnapshot == 0 ? 0 : min.get(),
+      countSnapshot == 0 ? 0 : max.get()
+    );
+  }
+}
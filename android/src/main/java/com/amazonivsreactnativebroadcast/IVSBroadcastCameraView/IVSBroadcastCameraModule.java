@@ -0,0 +1,252 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import android.app.Activity;
+import android.content.Intent;
+import android.media.projection.MediaProjectionManager;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.ActivityEventListener;
+import com.facebook.react.bridge.BaseActivityEventListener;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.UiThreadUtil;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.module.annotations.ReactModule;
+
+/**
+ * Session commands and statistics queries addressed by the react tag of the view. With the New
+ * Architecture enabled the calls go through JSI instead of the UIManager command queue.
+ *
+ * The commands are run on the UI thread, as the view manager commands are, so they do not race the
+ * initialization and the release of the session. Only the statistics getters are synchronous.
+ */
+@ReactModule(name = IVSBroadcastCameraModule.NAME)
+public class IVSBroadcastCameraModule extends IVSBroadcastCameraModuleSpec {
+  public static final String NAME = "IVSBroadcastCameraModule";
+
+  private static final String E_VIEW_NOT_FOUND = "E_VIEW_NOT_FOUND";
+  private static final String E_ACTIVITY_NOT_FOUND = "E_ACTIVITY_NOT_FOUND";
+
+  private static final int SCREEN_CAPTURE_REQUEST_CODE = 0x1f5;
+
+  private Promise pendingScreenCapturePromise;
+  private int pendingScreenCaptureViewTag;
+  @Nullable
+  private ReadableMap pendingScreenCaptureOptions;
+
+  @FunctionalInterface
+  private interface ViewCommand {
+    void run(@NonNull IVSBroadcastCameraView view);
+  }
+
+  private final ActivityEventListener activityEventListener = new BaseActivityEventListener() {
+    @Override
+    public void onActivityResult(Activity activity, int requestCode, int resultCode, Intent data) {
+      if (requestCode != SCREEN_CAPTURE_REQUEST_CODE) return;
+
+      Promise promise = pendingScreenCapturePromise;
+      pendingScreenCapturePromise = null;
+      if (promise == null) return;
+
+      if (resultCode != Activity.RESULT_OK || data == null) {
+        promise.reject(ScreenCapture.E_PERMISSION_DENIED, "Screen capture has not been permitted.");
+        return;
+      }
+
+      IVSBroadcastCameraView view = IVSBroadcastCameraViewRegistry.get(pendingScreenCaptureViewTag);
+      if (view == null) {
+        promise.reject(E_VIEW_NOT_FOUND, "Broadcast camera view has not been found.");
+        return;
+      }
+      view.startScreenCapture(resultCode, data, pendingScreenCaptureOptions, promise);
+    }
+  };
+
+  public IVSBroadcastCameraModule(ReactApplicationContext reactContext) {
+    super(reactContext);
+    reactContext.addActivityEventListener(activityEventListener);
+  }
+
+  @Override
+  @NonNull
+  public String getName() {
+    return NAME;
+  }
+
+  /**
+   * Runs the command on the UI thread, rejecting the promise if any when the view is gone by then.
+   */
+  private static void runOnView(double viewTag, @Nullable Promise promise, @NonNull ViewCommand command) {
+    UiThreadUtil.runOnUiThread(() -> {
+      IVSBroadcastCameraView view = IVSBroadcastCameraViewRegistry.get((int) viewTag);
+      if (view == null) {
+        if (promise != null) {
+          promise.reject(E_VIEW_NOT_FOUND, "Broadcast camera view has not been found.");
+        }
+        return;
+      }
+      command.run(view);
+    });
+  }
+
+  @ReactMethod
+  @Override
+  public void start(double viewTag, @Nullable String rtmpsUrl, @Nullable String streamKey) {
+    runOnView(viewTag, null, view -> view.start(rtmpsUrl, streamKey));
+  }
+
+  @ReactMethod
+  @Override
+  public void stop(double viewTag) {
+    runOnView(viewTag, null, view -> view.stop());
+  }
+
+  /**
+   * Resolves with the `sessionId` and `timeToConnect` once the session is connected, rejects on a
+   * fatal broadcast error or when the timeout elapses.
+   */
+  @ReactMethod
+  @Override
+  public void startAsync(
+    double viewTag,
+    @Nullable String rtmpsUrl,
+    @Nullable String streamKey,
+    double timeout,
+    Promise promise
+  ) {
+    runOnView(viewTag, promise, view -> view.startAsync(rtmpsUrl, streamKey, (long) timeout, promise));
+  }
+
+  /**
+   * Resolves with the `sessionId` and `timeToDisconnect` once the session is disconnected, rejects
+   * when the timeout elapses.
+   */
+  @ReactMethod
+  @Override
+  public void stopAsync(double viewTag, double timeout, Promise promise) {
+    runOnView(viewTag, promise, view -> view.stopAsync((long) timeout, promise));
+  }
+
+  /**
+   * Resolves with the file URI of the current preview frame.
+   */
+  @ReactMethod
+  @Override
+  public void captureSnapshot(double viewTag, @Nullable ReadableMap options, Promise promise) {
+    runOnView(viewTag, promise, view -> view.captureSnapshot(options, promise));
+  }
+
+  /**
+   * Resolves with the cameras ranked for the video config and lens, the current position first.
+   */
+  @ReactMethod
+  @Override
+  public void getAvailableCameras(double viewTag, Promise promise) {
+    runOnView(viewTag, promise, view -> view.getAvailableCameras(promise));
+  }
+
+  /**
+   * Resolves with the bitrates derived from the measured uplink once the probe has finished.
+   */
+  @ReactMethod
+  @Override
+  public void probeUplink(double viewTag, @Nullable ReadableMap options, Promise promise) {
+    runOnView(viewTag, promise, view -> view.probeUplink(options, promise));
+  }
+
+  /**
+   * Asks for the screen capture consent and resolves with the capture size once the screen is
+   * mirrored into the session.
+   */
+  @ReactMethod
+  @Override
+  public void startScreenCapture(double viewTag, @Nullable ReadableMap options, Promise promise) {
+    // The pending request is only touched on the UI thread, where the activity result arrives.
+    runOnView(viewTag, promise, view -> {
+      Activity activity = getCurrentActivity();
+      if (activity == null) {
+        promise.reject(E_ACTIVITY_NOT_FOUND, "Current activity has not been found.");
+        return;
+      }
+
+      Promise supersededPromise = pendingScreenCapturePromise;
+      if (supersededPromise != null) {
+        supersededPromise.reject(BroadcastStateTransition.E_SUPERSEDED, "Screen capture request has been superseded by a new request.");
+      }
+      pendingScreenCapturePromise = promise;
+      pendingScreenCaptureViewTag = (int) viewTag;
+      pendingScreenCaptureOptions = options;
+
+      MediaProjectionManager projectionManager = (MediaProjectionManager) activity.getSystemService(Activity.MEDIA_PROJECTION_SERVICE);
+      activity.startActivityForResult(projectionManager.createScreenCaptureIntent(), SCREEN_CAPTURE_REQUEST_CODE);
+    });
+  }
+
+  /**
+   * Resolves with whether a screen capture has been stopped.
+   */
+  @ReactMethod
+  @Override
+  public void stopScreenCapture(double viewTag, Promise promise) {
+    runOnView(viewTag, promise, view -> view.stopScreenCapture(promise));
+  }
+
+  @ReactMethod
+  @Override
+  public void sendTimedMetadata(double viewTag, String contents, boolean isBatchable) {
+    runOnView(viewTag, null, view -> view.sendTimedMetadata(contents, isBatchable));
+  }
+
+  @ReactMethod
+  @Override
+  public void observeLatencyProbe(double viewTag, String payload) {
+    runOnView(viewTag, null, view -> view.observeLatencyProbe(payload));
+  }
+
+  @ReactMethod(isBlockingSynchronousMethod = true)
+  @Override
+  @Nullable
+  public WritableMap getTimedMetadataStatistics(double viewTag) {
+    IVSBroadcastCameraView view = IVSBroadcastCameraViewRegistry.get((int) viewTag);
+    return view != null ? view.getTimedMetadataStatistics() : null;
+  }
+
+  @ReactMethod(isBlockingSynchronousMethod = true)
+  @Override
+  @Nullable
+  public WritableMap getLatencyHistogram(double viewTag) {
+    IVSBroadcastCameraView view = IVSBroadcastCameraViewRegistry.get((int) viewTag);
+    return view != null ? view.getLatencyHistogram() : null;
+  }
+
+  @ReactMethod(isBlockingSynchronousMethod = true)
+  @Override
+  @Nullable
+  public WritableMap getAudioProcessingStatistics(double viewTag) {
+    IVSBroadcastCameraView view = IVSBroadcastCameraViewRegistry.get((int) viewTag);
+    return view != null ? view.getAudioProcessingStatistics() : null;
+  }
+
+  /**
+   * Snapshot of the metrics shared by all the views, cheap enough to be polled.
+   */
+  @ReactMethod(isBlockingSynchronousMethod = true)
+  @Override
+  public WritableMap getMetrics() {
+    return BroadcastMetrics.get().getPayload();
+  }
+
+  /**
+   * Resolves with the value once the view has been reached on the UI thread, the same round trip
+   * as the ping view command, used to benchmark the module against the view commands.
+   */
+  @ReactMethod
+  @Override
+  public void ping(double viewTag, double value, Promise promise) {
+    runOnView(viewTag, promise, view -> promise.resolve(value));
+  }
+}
@@ -1,5 +1,8 @@
 package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
 
+import android.content.Intent;
+import android.view.MotionEvent;
+import android.view.ScaleGestureDetector;
 import android.view.View;
 import android.widget.FrameLayout;
 
@@ -8,15 +11,22 @@ import androidx.annotation.Nullable;
 
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.LifecycleEventListener;
+import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.uimanager.ThemedReactContext;
 import com.facebook.react.uimanager.events.RCTEventEmitter;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public class IVSBroadcastCameraView extends FrameLayout implements LifecycleEventListener {
   public static final String START_COMMAND_NAME = "START";
   public static final String STOP_COMMAND_NAME = "STOP";
+  public static final String SEND_TIMED_METADATA_COMMAND_NAME = "SEND_TIMED_METADATA";
+  public static final String OBSERVE_LATENCY_PROBE_COMMAND_NAME = "OBSERVE_LATENCY_PROBE";
+  public static final String PING_COMMAND_NAME = "PING";
   @Deprecated
   public static final String SWAP_CAMERA_COMMAND_NAME = "SWAP_CAMERA";
 
@@ -27,6 +37,18 @@ public class IVSBroadcastCameraView extends FrameLayout implements LifecycleEven
     ON_BROADCAST_STATE_CHANGED("onBroadcastStateChanged"),
     ON_BROADCAST_AUDIO_STATS("onBroadcastAudioStats"),
     ON_TRANSMISSION_STATISTICS_CHANGED("onTransmissionStatisticsChanged"),
+    ON_TIMED_METADATA_STATISTICS_CHANGED("onTimedMetadataStatisticsChanged"),
+    ON_LATENCY_MEASURED("onLatencyMeasured"),
+    ON_BROADCAST_HEALTH_CHANGED("onBroadcastHealthChanged"),
+    ON_VIDEO_CONFIG_ADJUSTED("onVideoConfigAdjusted"),
+    ON_AUDIO_INPUT_CHANGED("onAudioInputChanged"),
+    ON_SCREEN_CAPTURE_STATE_CHANGED("onScreenCaptureStateChanged"),
+    ON_CAMERA_ZOOM_CHANGED("onCameraZoomChanged"),
+    ON_NETWORK_HANDOFF("onNetworkHandoff"),
+    ON_VOICE_ACTIVITY("onVoiceActivity"),
+    ON_CLIPPING("onClipping"),
+    ON_RESOURCE_PROFILE("onResourceProfile"),
+    ON_PONG("onPong"),
     @Deprecated
     ON_BROADCAST_QUALITY_CHANGED("onBroadcastQualityChanged"),
     @Deprecated
@@ -47,6 +69,39 @@ public class IVSBroadcastCameraView extends FrameLayout implements LifecycleEven
   private String STREAM_KEY;
   private String RTMPS_URL;
   private IVSBroadcastSessionService ivsBroadcastSession;
+  private PreviewSnapshotter previewSnapshotter;
+  private ScaleGestureDetector scaleGestureDetector;
+  // All the events are sent until JS declares the subscribed ones.
+  @Nullable
+  private volatile Set<Events> subscribedEvents;
+
+  /**
+   * The pinch is applied natively on every touch move, only the settled zoom is sent to JS.
+   */
+  private final ScaleGestureDetector.OnScaleGestureListener scaleGestureListener =
+    new ScaleGestureDetector.SimpleOnScaleGestureListener() {
+      @Override
+      public boolean onScaleBegin(ScaleGestureDetector detector) {
+        // Keeps scrollable parents from taking over the gesture.
+        getParent().requestDisallowInterceptTouchEvent(true);
+        return true;
+      }
+
+      @Override
+      public boolean onScale(ScaleGestureDetector detector) {
+        ivsBroadcastSession.scaleCameraZoom(
+          detector.getScaleFactor(),
+          detector.getFocusX() / getWidth(),
+          detector.getFocusY() / getHeight()
+        );
+        return true;
+      }
+
+      @Override
+      public void onScaleEnd(ScaleGestureDetector detector) {
+        ivsBroadcastSession.settleCameraZoom();
+      }
+    };
 
   /**
    * A workaround for known issue: https://github.com/facebook/react-native/issues/17968
@@ -69,31 +124,58 @@ public class IVSBroadcastCameraView extends FrameLayout implements LifecycleEven
     addCameraPreview(preview);
   }
 
-  private void onBroadcastEventHandler(IVSBroadcastSessionService.Events event, @Nullable WritableMap eventPayload) {
+  private static Events getViewEvent(IVSBroadcastSessionService.Events event) {
     switch (event) {
       case ON_ERROR: {
-        sendEvent(Events.ON_BROADCAST_ERROR.toString(), eventPayload);
-        break;
+        return Events.ON_BROADCAST_ERROR;
       }
       case ON_STATE_CHANGED: {
-        sendEvent(Events.ON_BROADCAST_STATE_CHANGED.toString(), eventPayload);
-        break;
+        return Events.ON_BROADCAST_STATE_CHANGED;
       }
       case ON_AUDIO_STATS: {
-        sendEvent(Events.ON_BROADCAST_AUDIO_STATS.toString(), eventPayload);
-        break;
+        return Events.ON_BROADCAST_AUDIO_STATS;
       }
       case ON_TRANSMISSION_STATISTICS_CHANGED: {
-        sendEvent(Events.ON_TRANSMISSION_STATISTICS_CHANGED.toString(), eventPayload);
-        break;
+        return Events.ON_TRANSMISSION_STATISTICS_CHANGED;
+      }
+      case ON_TIMED_METADATA_STATISTICS_CHANGED: {
+        return Events.ON_TIMED_METADATA_STATISTICS_CHANGED;
+      }
+      case ON_LATENCY_MEASURED: {
+        return Events.ON_LATENCY_MEASURED;
+      }
+      case ON_HEALTH_CHANGED: {
+        return Events.ON_BROADCAST_HEALTH_CHANGED;
+      }
+      case ON_VIDEO_CONFIG_ADJUSTED: {
+        return Events.ON_VIDEO_CONFIG_ADJUSTED;
+      }
+      case ON_AUDIO_INPUT_CHANGED: {
+        return Events.ON_AUDIO_INPUT_CHANGED;
+      }
+      case ON_SCREEN_CAPTURE_STATE_CHANGED: {
+        return Events.ON_SCREEN_CAPTURE_STATE_CHANGED;
+      }
+      case ON_CAMERA_ZOOM_CHANGED: {
+        return Events.ON_CAMERA_ZOOM_CHANGED;
+      }
+      case ON_NETWORK_HANDOFF: {
+        return Events.ON_NETWORK_HANDOFF;
+      }
+      case ON_VOICE_ACTIVITY: {
+        return Events.ON_VOICE_ACTIVITY;
+      }
+      case ON_CLIPPING: {
+        return Events.ON_CLIPPING;
+      }
+      case ON_RESOURCE_PROFILE: {
+        return Events.ON_RESOURCE_PROFILE;
       }
       case ON_QUALITY_CHANGED: {
-        sendEvent(Events.ON_BROADCAST_QUALITY_CHANGED.toString(), eventPayload);
-        break;
+        return Events.ON_BROADCAST_QUALITY_CHANGED;
       }
       case ON_NETWORK_HEALTH_CHANGED: {
-        sendEvent(Events.ON_NETWORK_HEALTH_CHANGED.toString(), eventPayload);
-        break;
+        return Events.ON_NETWORK_HEALTH_CHANGED;
       }
       default: {
         throw new RuntimeException("Unknown event name: " + event);
@@ -101,25 +183,39 @@ public class IVSBroadcastCameraView extends FrameLayout implements LifecycleEven
     }
   }
 
-  private void sendEvent(String eventName, @Nullable WritableMap eventPayload) {
+  private void onBroadcastEventHandler(IVSBroadcastSessionService.Events event, @Nullable WritableMap eventPayload) {
+    sendEvent(getViewEvent(event), eventPayload);
+  }
+
+  private void sendEvent(Events event, @Nullable WritableMap eventPayload) {
+    Set<Events> events = subscribedEvents;
+    if (events != null && !events.contains(event)) return;
+
     ThemedReactContext reactContext = (ThemedReactContext) super.getContext();
+    // Events of a view detached from the JS runtime have nobody to receive them.
+    if (getId() == NO_ID || !reactContext.hasActiveCatalystInstance()) {
+      BroadcastMetrics.get().onEventDropped(event);
+      return;
+    }
     RCTEventEmitter eventEmitter = reactContext.getJSModule(RCTEventEmitter.class);
 
-    eventEmitter.receiveEvent(getId(), eventName, eventPayload);
+    eventEmitter.receiveEvent(getId(), event.toString(), eventPayload);
+    BroadcastMetrics.get().onEventEmitted(event);
   }
 
   private void sendErrorEvent(String errorMessage) {
+    BroadcastMetrics.get().onError("view");
     WritableMap eventPayload = Arguments.createMap();
     eventPayload.putString("message", errorMessage);
 
-    sendEvent(Events.ON_ERROR.toString(), eventPayload);
+    sendEvent(Events.ON_ERROR, eventPayload);
   }
 
   private void sendIsReadyEvent() {
     WritableMap eventPayload = Arguments.createMap();
     eventPayload.putBoolean("isReady", ivsBroadcastSession.isReady());
 
-    sendEvent(Events.ON_IS_BROADCAST_READY.toString(), eventPayload);
+    sendEvent(Events.ON_IS_BROADCAST_READY, eventPayload);
   }
 
   private void initBroadcastSession() {
@@ -134,25 +230,34 @@ public class IVSBroadcastCameraView extends FrameLayout implements LifecycleEven
     }
   }
 
+  private void reinitBroadcastSession() {
+    removeAllViews();
+    ivsBroadcastSession.deinit();
+    initBroadcastSession();
+  }
+
   public IVSBroadcastCameraView(ThemedReactContext reactContext) {
     super(reactContext);
     reactContext.addLifecycleEventListener(this);
     ivsBroadcastSession = new IVSBroadcastSessionService(reactContext);
+    previewSnapshotter = new PreviewSnapshotter(reactContext);
+    scaleGestureDetector = new ScaleGestureDetector(reactContext, scaleGestureListener);
   }
 
-  protected void start(@Nullable ReadableArray args) {
-    String finalRtmpsUrl = RTMPS_URL;
-    String finalStreamKey = STREAM_KEY;
-
-    if (args != null) {
-      ReadableMap options = args.getMap(0);
-      if (options.hasKey("rtmpsUrl") && !options.isNull("rtmpsUrl")) {
-        finalRtmpsUrl = options.getString("rtmpsUrl");
-      }
-      if (options.hasKey("streamKey") && !options.isNull("streamKey")) {
-        finalStreamKey = options.getString("streamKey");
-      }
+  @Override
+  public boolean dispatchTouchEvent(MotionEvent event) {
+    if (!ivsBroadcastSession.isPinchZoomEnabled()) {
+      return super.dispatchTouchEvent(event);
     }
+    scaleGestureDetector.onTouchEvent(event);
+    super.dispatchTouchEvent(event);
+    // Claims the gesture, so the following moves of the pinch are delivered here.
+    return true;
+  }
+
+  protected void start(@Nullable String rtmpsUrl, @Nullable String streamKey) {
+    String finalRtmpsUrl = rtmpsUrl != null ? rtmpsUrl : RTMPS_URL;
+    String finalStreamKey = streamKey != null ? streamKey : STREAM_KEY;
 
     if (finalRtmpsUrl == null) {
       sendErrorEvent("'rtmpsUrl' is empty.");
@@ -179,6 +284,132 @@ public class IVSBroadcastCameraView extends FrameLayout implements LifecycleEven
     }
   }
 
+  protected void startAsync(@Nullable String rtmpsUrl, @Nullable String streamKey, long timeoutMillis, Promise promise) {
+    String finalRtmpsUrl = rtmpsUrl != null ? rtmpsUrl : RTMPS_URL;
+    String finalStreamKey = streamKey != null ? streamKey : STREAM_KEY;
+
+    if (finalRtmpsUrl == null) {
+      promise.reject(BroadcastStateTransition.E_INVALID_ARGUMENTS, "'rtmpsUrl' is empty.");
+      return;
+    }
+
+    if (finalStreamKey == null) {
+      promise.reject(BroadcastStateTransition.E_INVALID_ARGUMENTS, "'streamKey' is empty.");
+      return;
+    }
+
+    ivsBroadcastSession.startAsync(finalRtmpsUrl, finalStreamKey, timeoutMillis, promise);
+  }
+
+  protected void stopAsync(long timeoutMillis, Promise promise) {
+    try {
+      ivsBroadcastSession.stopAsync(timeoutMillis, promise);
+    } catch (RuntimeException error) {
+      promise.reject(BroadcastStateTransition.E_BROADCAST_ERROR, error.toString());
+    }
+  }
+
+  protected void sendTimedMetadata(@Nullable String contents, boolean isBatchable) {
+    if (contents == null) {
+      sendErrorEvent("'contents' is empty.");
+      return;
+    }
+
+    try {
+      ivsBroadcastSession.sendTimedMetadata(contents, isBatchable);
+    } catch (RuntimeException error) {
+      sendErrorEvent(error.toString());
+    }
+  }
+
+  protected void observeLatencyProbe(@Nullable String payload) {
+    if (payload == null) {
+      sendErrorEvent("'payload' is empty.");
+      return;
+    }
+
+    try {
+      ivsBroadcastSession.observeLatencyProbe(payload);
+    } catch (RuntimeException error) {
+      sendErrorEvent(error.toString());
+    }
+  }
+
+  protected void captureSnapshot(@Nullable ReadableMap options, Promise promise) {
+    int maxWidth = options != null && options.hasKey("maxWidth") ? options.getInt("maxWidth") : 0;
+    double quality = options != null && options.hasKey("quality") ? options.getDouble("quality") : 0.9;
+
+    try {
+      PreviewSnapshotter.Format format = options != null && options.hasKey("format")
+        ? PreviewSnapshotter.Format.fromString(options.getString("format"))
+        : PreviewSnapshotter.Format.JPEG;
+      int compressQuality = (int) Math.round(Math.max(0, Math.min(1, quality)) * 100);
+
+      previewSnapshotter.capture(this, maxWidth, format, compressQuality, promise);
+    } catch (RuntimeException error) {
+      promise.reject(BroadcastStateTransition.E_INVALID_ARGUMENTS, error.toString());
+    }
+  }
+
+  protected void getAvailableCameras(Promise promise) {
+    try {
+      promise.resolve(ivsBroadcastSession.getAvailableCameras());
+    } catch (RuntimeException error) {
+      promise.reject(BroadcastStateTransition.E_BROADCAST_ERROR, error.toString());
+    }
+  }
+
+  protected void probeUplink(@Nullable ReadableMap options, Promise promise) {
+    String rtmpsUrl = options != null && options.hasKey("rtmpsUrl") && !options.isNull("rtmpsUrl")
+      ? options.getString("rtmpsUrl")
+      : RTMPS_URL;
+    String streamKey = options != null && options.hasKey("streamKey") && !options.isNull("streamKey")
+      ? options.getString("streamKey")
+      : STREAM_KEY;
+
+    try {
+      ivsBroadcastSession.probeUplinkAsync(rtmpsUrl, streamKey, options, this::reinitBroadcastSession, promise);
+    } catch (RuntimeException error) {
+      promise.reject(BroadcastStateTransition.E_BROADCAST_ERROR, error.toString());
+    }
+  }
+
+  protected void startScreenCapture(int resultCode, @NonNull Intent resultData, @Nullable ReadableMap options, Promise promise) {
+    try {
+      ivsBroadcastSession.startScreenCaptureAsync(resultCode, resultData, options, promise);
+    } catch (RuntimeException error) {
+      promise.reject(BroadcastStateTransition.E_BROADCAST_ERROR, error.toString());
+    }
+  }
+
+  protected void stopScreenCapture(Promise promise) {
+    try {
+      promise.resolve(ivsBroadcastSession.stopScreenCapture());
+    } catch (RuntimeException error) {
+      promise.reject(BroadcastStateTransition.E_BROADCAST_ERROR, error.toString());
+    }
+  }
+
+  protected WritableMap getTimedMetadataStatistics() {
+    return ivsBroadcastSession.getTimedMetadataStatistics();
+  }
+
+  protected WritableMap getLatencyHistogram() {
+    return ivsBroadcastSession.getLatencyHistogram();
+  }
+
+  @Nullable
+  protected WritableMap getAudioProcessingStatistics() {
+    return ivsBroadcastSession.getAudioProcessingStatistics();
+  }
+
+  protected void ping(double id) {
+    WritableMap eventPayload = Arguments.createMap();
+    eventPayload.putDouble("id", id);
+
+    sendEvent(Events.ON_PONG, eventPayload);
+  }
+
   @Deprecated
   protected void swapCamera() {
     try {
@@ -189,7 +420,9 @@ public class IVSBroadcastCameraView extends FrameLayout implements LifecycleEven
   }
 
   protected void cleanUp() {
+    IVSBroadcastCameraViewRegistry.unregister(this);
     removeAllViews();
+    previewSnapshotter.release();
     ivsBroadcastSession.deinit();
   }
 
@@ -197,6 +430,10 @@ public class IVSBroadcastCameraView extends FrameLayout implements LifecycleEven
     ivsBroadcastSession.setIsMuted(isMuted);
   }
 
+  protected void setAudioInput(@Nullable String audioInput) {
+    ivsBroadcastSession.setAudioInput(audioInput);
+  }
+
   protected void setIsCameraPreviewMirrored(boolean isCameraPreviewMirrored) {
     ivsBroadcastSession.setIsCameraPreviewMirrored(isCameraPreviewMirrored, this::onReceiveCameraPreviewHandler);
   }
@@ -205,6 +442,14 @@ public class IVSBroadcastCameraView extends FrameLayout implements LifecycleEven
     ivsBroadcastSession.setCameraPosition(cameraPosition, this::onReceiveCameraPreviewHandler);
   }
 
+  protected void setCameraId(@Nullable String cameraId) {
+    ivsBroadcastSession.setCameraId(cameraId, this::onReceiveCameraPreviewHandler);
+  }
+
+  protected void setLens(@Nullable String lens) {
+    ivsBroadcastSession.setCameraLens(lens, this::onReceiveCameraPreviewHandler);
+  }
+
   protected void setCameraPreviewAspectMode(String cameraPreviewAspectMode) {
     ivsBroadcastSession.setCameraPreviewAspectMode(cameraPreviewAspectMode, this::onReceiveCameraPreviewHandler);
   }
@@ -237,6 +482,67 @@ public class IVSBroadcastCameraView extends FrameLayout implements LifecycleEven
     ivsBroadcastSession.setAudioConfig(audioConfig);
   }
 
+  protected void setIsVideoConfigClamped(boolean isVideoConfigClamped) {
+    ivsBroadcastSession.setIsVideoConfigClamped(isVideoConfigClamped, this::reinitBroadcastSession);
+  }
+
+  protected void setLatencyProbe(ReadableMap latencyProbeConfig) {
+    ivsBroadcastSession.setLatencyProbeConfig(latencyProbeConfig);
+  }
+
+  protected void setHealthMonitor(ReadableMap healthMonitorConfig) {
+    ivsBroadcastSession.setHealthMonitorConfig(healthMonitorConfig);
+  }
+
+  protected void setAudioProcessing(ReadableMap audioProcessing) {
+    ivsBroadcastSession.setAudioProcessing(audioProcessing);
+  }
+
+  protected void setPinchZoom(ReadableMap pinchZoomConfig) {
+    ivsBroadcastSession.setPinchZoom(pinchZoomConfig);
+  }
+
+  protected void setSubscribedEvents(@Nullable ReadableArray eventNames) {
+    if (eventNames == null) {
+      subscribedEvents = null;
+      ivsBroadcastSession.setSubscribedEvents(null);
+      return;
+    }
+
+    Set<Events> events = EnumSet.noneOf(Events.class);
+    for (int i = 0; i < eventNames.size(); i++) {
+      String eventName = eventNames.getString(i);
+      // The names of the events of the other platforms are ignored.
+      for (Events event : Events.values()) {
+        if (event.toString().equals(eventName)) {
+          events.add(event);
+          break;
+        }
+      }
+    }
+    Set<IVSBroadcastSessionService.Events> sessionEvents = EnumSet.noneOf(IVSBroadcastSessionService.Events.class);
+    for (IVSBroadcastSessionService.Events sessionEvent : IVSBroadcastSessionService.Events.values()) {
+      if (events.contains(getViewEvent(sessionEvent))) {
+        sessionEvents.add(sessionEvent);
+      }
+    }
+
+    subscribedEvents = events;
+    ivsBroadcastSession.setSubscribedEvents(sessionEvents);
+  }
+
+  protected void setIsNetworkHandoffEnabled(boolean isNetworkHandoffEnabled) {
+    ivsBroadcastSession.setIsNetworkHandoffEnabled(isNetworkHandoffEnabled);
+  }
+
+  protected void setVoiceActivity(ReadableMap voiceActivityConfig) {
+    ivsBroadcastSession.setVoiceActivityConfig(voiceActivityConfig);
+  }
+
+  protected void setResourceProfiler(ReadableMap resourceProfilerConfig) {
+    ivsBroadcastSession.setResourceProfilerConfig(resourceProfilerConfig);
+  }
+
   @Override
   public void onHostResume() {
   }
@@ -253,6 +559,7 @@ public class IVSBroadcastCameraView extends FrameLayout implements LifecycleEven
   @Override
   protected void onAttachedToWindow() {
     super.onAttachedToWindow();
+    IVSBroadcastCameraViewRegistry.register(this);
     initBroadcastSession();
   }
 }
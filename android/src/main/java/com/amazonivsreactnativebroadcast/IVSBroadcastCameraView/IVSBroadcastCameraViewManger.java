@@ -1,5 +1,7 @@
 package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
 
+import android.os.SystemClock;
+
 import androidx.annotation.NonNull;
 
 import java.util.*;
@@ -8,12 +10,12 @@ import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.common.MapBuilder;
 import com.facebook.react.uimanager.ThemedReactContext;
-import com.facebook.react.uimanager.ViewGroupManager;
+import com.facebook.react.uimanager.ViewManagerDelegate;
 import com.facebook.react.uimanager.annotations.ReactProp;
 
 import javax.annotation.Nullable;
 
-public class IVSBroadcastCameraViewManger extends ViewGroupManager<IVSBroadcastCameraView> {
+public class IVSBroadcastCameraViewManger extends IVSBroadcastCameraViewMangerSpec<IVSBroadcastCameraView> {
   @Override
   public String getName() {
     return "RCTIVSBroadcastCameraView";
@@ -31,16 +33,46 @@ public class IVSBroadcastCameraViewManger extends ViewGroupManager<IVSBroadcastC
   @Nullable
   @Override
   public Map<String, Integer> getCommandsMap() {
-    return MapBuilder.of(IVSBroadcastCameraView.START_COMMAND_NAME, 0,
-      IVSBroadcastCameraView.STOP_COMMAND_NAME, 1,
-      IVSBroadcastCameraView.SWAP_CAMERA_COMMAND_NAME, 2);
+    return MapBuilder.<String, Integer>builder()
+      .put(IVSBroadcastCameraView.START_COMMAND_NAME, 0)
+      .put(IVSBroadcastCameraView.STOP_COMMAND_NAME, 1)
+      .put(IVSBroadcastCameraView.SWAP_CAMERA_COMMAND_NAME, 2)
+      .put(IVSBroadcastCameraView.SEND_TIMED_METADATA_COMMAND_NAME, 3)
+      .put(IVSBroadcastCameraView.OBSERVE_LATENCY_PROBE_COMMAND_NAME, 4)
+      .put(IVSBroadcastCameraView.PING_COMMAND_NAME, 5)
+      .build();
+  }
+
+  @Nullable
+  private static ReadableMap getOptionalMap(@Nullable ReadableArray args, int index) {
+    return args != null && args.size() > index && !args.isNull(index) ? args.getMap(index) : null;
+  }
+
+  @Nullable
+  private static String getOptionalString(@Nullable ReadableArray args, int index) {
+    return args != null && args.size() > index && !args.isNull(index) ? args.getString(index) : null;
+  }
+
+  @Nullable
+  private static String getOptionalString(@Nullable ReadableMap map, String key) {
+    return map != null && map.hasKey(key) && !map.isNull(key) ? map.getString(key) : null;
   }
 
   @Override
   public void receiveCommand(IVSBroadcastCameraView view, @NonNull String commandId, @Nullable ReadableArray args) {
+    long startTimestamp = SystemClock.elapsedRealtimeNanos();
+    try {
+      dispatchCommand(view, commandId, args);
+    } finally {
+      BroadcastMetrics.get().onCommandHandled(commandId, (SystemClock.elapsedRealtimeNanos() - startTimestamp) / 1000);
+    }
+  }
+
+  private void dispatchCommand(IVSBroadcastCameraView view, @NonNull String commandId, @Nullable ReadableArray args) {
     switch (commandId) {
       case IVSBroadcastCameraView.START_COMMAND_NAME: {
-        view.start(args);
+        ReadableMap options = getOptionalMap(args, 0);
+        view.start(getOptionalString(options, "rtmpsUrl"), getOptionalString(options, "streamKey"));
         break;
       }
       case IVSBroadcastCameraView.STOP_COMMAND_NAME: {
@@ -51,12 +83,64 @@ public class IVSBroadcastCameraViewManger extends ViewGroupManager<IVSBroadcastC
         view.swapCamera();
         break;
       }
+      case IVSBroadcastCameraView.SEND_TIMED_METADATA_COMMAND_NAME: {
+        ReadableMap options = getOptionalMap(args, 1);
+        boolean isBatchable = options != null && options.hasKey("isBatchable") && options.getBoolean("isBatchable");
+        view.sendTimedMetadata(getOptionalString(args, 0), isBatchable);
+        break;
+      }
+      case IVSBroadcastCameraView.OBSERVE_LATENCY_PROBE_COMMAND_NAME: {
+        view.observeLatencyProbe(getOptionalString(args, 0));
+        break;
+      }
+      case IVSBroadcastCameraView.PING_COMMAND_NAME: {
+        view.ping(args != null && args.size() > 0 ? args.getDouble(0) : 0);
+        break;
+      }
       default: {
-        throw new RuntimeException("The following command is not supported yet: " + commandId);
+        // Codegen commands of the Fabric component are resolved by the generated delegate.
+        ViewManagerDelegate<IVSBroadcastCameraView> delegate = getDelegate();
+        if (delegate == null) {
+          throw new RuntimeException("The following command is not supported yet: " + commandId);
+        }
+        delegate.receiveCommand(view, commandId, args);
       }
     }
   }
 
+  @Override
+  public void start(IVSBroadcastCameraView view, String rtmpsUrl, String streamKey) {
+    view.start(
+      rtmpsUrl == null || rtmpsUrl.isEmpty() ? null : rtmpsUrl,
+      streamKey == null || streamKey.isEmpty() ? null : streamKey
+    );
+  }
+
+  @Override
+  public void stop(IVSBroadcastCameraView view) {
+    view.stop();
+  }
+
+  @Override
+  public void swapCamera(IVSBroadcastCameraView view) {
+    view.swapCamera();
+  }
+
+  @Override
+  public void sendTimedMetadata(IVSBroadcastCameraView view, String contents, boolean isBatchable) {
+    view.sendTimedMetadata(contents, isBatchable);
+  }
+
+  @Override
+  public void observeLatencyProbe(IVSBroadcastCameraView view, String payload) {
+    view.observeLatencyProbe(payload);
+  }
+
+  @Override
+  public void ping(IVSBroadcastCameraView view, double id) {
+    view.ping(id);
+  }
+
   @Override
   protected IVSBroadcastCameraView createViewInstance(ThemedReactContext reactContext) {
     return new IVSBroadcastCameraView(reactContext);
@@ -73,6 +157,11 @@ public class IVSBroadcastCameraViewManger extends ViewGroupManager<IVSBroadcastC
     view.setIsMuted(isMuted);
   }
 
+  @ReactProp(name = "audioInput")
+  public void setAudioInput(@NonNull IVSBroadcastCameraView view, @Nullable String audioInput) {
+    view.setAudioInput(audioInput);
+  }
+
   @ReactProp(name = "isCameraPreviewMirrored")
   public void setIsCameraPreviewMirrored(@NonNull IVSBroadcastCameraView view, boolean isCameraPreviewMirrored) {
     view.setIsCameraPreviewMirrored(isCameraPreviewMirrored);
@@ -83,6 +172,16 @@ public class IVSBroadcastCameraViewManger extends ViewGroupManager<IVSBroadcastC
     view.setCameraPosition(cameraPosition);
   }
 
+  @ReactProp(name = "cameraId")
+  public void setCameraId(@NonNull IVSBroadcastCameraView view, @Nullable String cameraId) {
+    view.setCameraId(cameraId);
+  }
+
+  @ReactProp(name = "lens")
+  public void setLens(@NonNull IVSBroadcastCameraView view, @Nullable String lens) {
+    view.setLens(lens);
+  }
+
   @ReactProp(name = "cameraPreviewAspectMode")
   public void setCameraPreviewAspectMode(@NonNull IVSBroadcastCameraView view, String cameraPreviewAspectMode) {
     view.setCameraPreviewAspectMode(cameraPreviewAspectMode);
@@ -122,4 +221,49 @@ public class IVSBroadcastCameraViewManger extends ViewGroupManager<IVSBroadcastC
   public void setAudioConfig(@NonNull IVSBroadcastCameraView view, ReadableMap audioConfig) {
     view.setAudioConfig(audioConfig);
   }
+
+  @ReactProp(name = "isVideoConfigClamped")
+  public void setIsVideoConfigClamped(@NonNull IVSBroadcastCameraView view, boolean isVideoConfigClamped) {
+    view.setIsVideoConfigClamped(isVideoConfigClamped);
+  }
+
+  @ReactProp(name = "latencyProbe")
+  public void setLatencyProbe(@NonNull IVSBroadcastCameraView view, ReadableMap latencyProbe) {
+    view.setLatencyProbe(latencyProbe);
+  }
+
+  @ReactProp(name = "healthMonitor")
+  public void setHealthMonitor(@NonNull IVSBroadcastCameraView view, ReadableMap healthMonitor) {
+    view.setHealthMonitor(healthMonitor);
+  }
+
+  @ReactProp(name = "audioProcessing")
+  public void setAudioProcessing(@NonNull IVSBroadcastCameraView view, ReadableMap audioProcessing) {
+    view.setAudioProcessing(audioProcessing);
+  }
+
+  @ReactProp(name = "pinchZoom")
+  public void setPinchZoom(@NonNull IVSBroadcastCameraView view, ReadableMap pinchZoom) {
+    view.setPinchZoom(pinchZoom);
+  }
+
+  @ReactProp(name = "subscribedEvents")
+  public void setSubscribedEvents(@NonNull IVSBroadcastCameraView view, @Nullable ReadableArray subscribedEvents) {
+    view.setSubscribedEvents(subscribedEvents);
+  }
+
+  @ReactProp(name = "isNetworkHandoffEnabled")
+  public void setIsNetworkHandoffEnabled(@NonNull IVSBroadcastCameraView view, boolean isNetworkHandoffEnabled) {
+    view.setIsNetworkHandoffEnabled(isNetworkHandoffEnabled);
+  }
+
+  @ReactProp(name = "voiceActivity")
+  public void setVoiceActivity(@NonNull IVSBroadcastCameraView view, ReadableMap voiceActivity) {
+    view.setVoiceActivity(voiceActivity);
+  }
+
+  @ReactProp(name = "resourceProfiler")
+  public void setResourceProfiler(@NonNull IVSBroadcastCameraView view, ReadableMap resourceProfiler) {
+    view.setResourceProfiler(resourceProfiler);
+  }
 }
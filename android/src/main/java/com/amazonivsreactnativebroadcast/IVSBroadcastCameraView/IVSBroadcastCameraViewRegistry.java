@@ -0,0 +1,31 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves mounted views by react tag from any thread. The module commands still run on the UI
+ * thread, only the synchronous statistics getters read the broadcast session off it.
+ */
+final class IVSBroadcastCameraViewRegistry {
+  private static final Map<Integer, IVSBroadcastCameraView> views = new ConcurrentHashMap<>();
+
+  private IVSBroadcastCameraViewRegistry() {
+  }
+
+  static void register(@NonNull IVSBroadcastCameraView view) {
+    views.put(view.getId(), view);
+  }
+
+  static void unregister(@NonNull IVSBroadcastCameraView view) {
+    views.remove(view.getId(), view);
+  }
+
+  @Nullable
+  static IVSBroadcastCameraView get(int viewTag) {
+    return views.get(viewTag);
+  }
+}
@@ -2,14 +2,45 @@ package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
 
 import com.amazonaws.ivs.broadcast.*;
 
+import android.app.Activity;
+import android.content.Context;
+import android.content.Intent;
+import android.media.AudioDeviceCallback;
+import android.media.AudioDeviceInfo;
+import android.media.AudioManager;
+import android.media.projection.MediaProjection;
+import android.media.projection.MediaProjectionManager;
+import android.net.ConnectivityManager;
+import android.graphics.Rect;
+import android.os.Build;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.DisplayMetrics;
+import android.view.WindowManager;
+import android.view.WindowMetrics;
+
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.uimanager.ThemedReactContext;
 
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
 @FunctionalInterface
 interface CameraPreviewHandler {
   void run(ImagePreviewView cameraPreview);
@@ -22,24 +53,161 @@ interface RunnableCallback {
 
 // Guide: https://docs.aws.amazon.com/ivs/latest/userguide//broadcast-android.html
 public class IVSBroadcastSessionService {
+  public static final long DEFAULT_STATE_TRANSITION_TIMEOUT_MILLIS = 10000;
+
+  // Connected inputs show up in the SDK device list slightly after the system callback.
+  private static final long AUDIO_INPUT_SETTLE_DELAY_MILLIS = 250;
+  private static final long AUDIO_GAP_TIMEOUT_MILLIS = 2000;
+  // Below the noise floor of a real microphone, a muted one reads -100.
+  private static final double AUDIO_GAP_SILENCE_THRESHOLD = -90;
+  private static final long NETWORK_HANDOFF_TIMEOUT_MILLIS = 15000;
+
   private ThemedReactContext mReactContext;
 
-  private boolean isInitialMuted = false;
-  private Device.Descriptor.Position initialCameraPosition = Device.Descriptor.Position.BACK;
-  private BroadcastConfiguration.LogLevel initialSessionLogLevel = BroadcastConfiguration.LogLevel.ERROR;
-  private boolean isCameraPreviewMirrored = false;
-  private BroadcastConfiguration.AspectMode cameraPreviewAspectMode = BroadcastConfiguration.AspectMode.NONE;
-  private ReadableMap customVideoConfig;
-  private ReadableMap customAudioConfig;
+  private volatile boolean isMicrophoneMuted = false;
+  private volatile AudioInputPolicy.Input audioInput;
+  private volatile Device.Descriptor.Position cameraPosition = Device.Descriptor.Position.BACK;
+  private volatile String cameraId;
+  private volatile CameraCatalog.Lens cameraLens;
+  private volatile BroadcastConfiguration.LogLevel initialSessionLogLevel = BroadcastConfiguration.LogLevel.ERROR;
+  private volatile boolean isCameraPreviewMirrored = false;
+  private volatile BroadcastConfiguration.AspectMode cameraPreviewAspectMode = BroadcastConfiguration.AspectMode.NONE;
+  private volatile ReadableMap customVideoConfig;
+  private volatile ReadableMap customAudioConfig;
+  private volatile boolean isVideoConfigClamped = false;
+  // The session has been created before the encoder profile was loaded, so it is not clamped.
+  private volatile boolean isVideoConfigClampPending = false;
+  @Nullable
+  private volatile Runnable onVideoConfigClampable;
+
+  // The session, its id and the attached devices are read from the SDK listener and device
+  // callbacks, so they are published together as immutable snapshots.
+  private final SessionStateMachine<BroadcastSession, Device.Descriptor> sessionStateMachine = new SessionStateMachine<>();
+  private volatile BroadcastSession.State sessionState = BroadcastSession.State.INVALID;
+  private volatile BroadcastConfiguration config = new BroadcastConfiguration();
+
+  private final Handler mainThreadHandler = new Handler(Looper.getMainLooper());
+  private final Timer mainThreadTimer = new Timer() {
+    @Override
+    public void schedule(Runnable task, long delayMillis) {
+      mainThreadHandler.postDelayed(task, delayMillis);
+    }
+
+    @Override
+    public void cancel(Runnable task) {
+      mainThreadHandler.removeCallbacks(task);
+    }
+  };
+  private final TimedMetadataScheduler timedMetadataScheduler = new TimedMetadataScheduler(
+    SystemClock::uptimeMillis,
+    mainThreadTimer,
+    this::sendTimedMetadataFrame
+  );
+  private final LatencyProbe latencyProbe = new LatencyProbe(
+    SystemClock::elapsedRealtime,
+    System::currentTimeMillis,
+    mainThreadTimer,
+    timedMetadataScheduler::enqueue
+  );
+  private final BroadcastHealthMonitor healthMonitor = new BroadcastHealthMonitor(
+    SystemClock::uptimeMillis,
+    mainThreadTimer
+  );
+  private final VoiceActivityDetector voiceActivityDetector = new VoiceActivityDetector(
+    SystemClock::uptimeMillis
+  );
+  private HandlerThread resourceProfilerThread;
+  private Handler resourceProfilerHandler;
+  private final Timer resourceProfilerTimer = new Timer() {
+    @Override
+    public void schedule(Runnable task, long delayMillis) {
+      getResourceProfilerHandler().postDelayed(task, delayMillis);
+    }
+
+    @Override
+    public void cancel(Runnable task) {
+      getResourceProfilerHandler().removeCallbacks(task);
+    }
+  };
+  private final ResourceProfiler resourceProfiler = new ResourceProfiler(
+    new ProcessResources(),
+    SystemClock::uptimeMillis,
+    resourceProfilerTimer
+  );
+  private final List<BroadcastStateTransition> pendingStateTransitions = new CopyOnWriteArrayList<>();
+
+  private static final class AudioInputSwap {
+    final Device.Descriptor previousDescriptor;
+    final Device.Descriptor descriptor;
+    final long requestTimestamp;
+    final long attachTimestamp;
+
+    AudioInputSwap(Device.Descriptor previousDescriptor, Device.Descriptor descriptor, long requestTimestamp, long attachTimestamp) {
+      this.previousDescriptor = previousDescriptor;
+      this.descriptor = descriptor;
+      this.requestTimestamp = requestTimestamp;
+      this.attachTimestamp = attachTimestamp;
+    }
+  }
+
+  private final AudioManager audioManager;
+  private boolean isAudioDeviceCallbackRegistered = false;
+  // The swap is reported once the audio stats of the new microphone rise above silence.
+  private final AtomicReference<AudioInputSwap> pendingAudioInputSwap = new AtomicReference<>();
+  private final Runnable updateAudioInputTask = this::updateAudioInput;
+  private final Runnable audioGapTimeoutTask = () -> reportAudioInputSwap(-1);
+  private final AudioDeviceCallback audioDeviceCallback = new AudioDeviceCallback() {
+    @Override
+    public void onAudioDevicesAdded(AudioDeviceInfo[] addedDevices) {
+      scheduleAudioInputUpdate(addedDevices);
+    }
+
+    @Override
+    public void onAudioDevicesRemoved(AudioDeviceInfo[] removedDevices) {
+      scheduleAudioInputUpdate(removedDevices);
+    }
+  };
+
+  private volatile ScreenCapture screenCapture;
+  private volatile UplinkProbe.Bitrates probedBitrates;
+  @Nullable
+  private volatile AudioDspChain.Config audioProcessingConfig;
+  private volatile ProcessedMicrophone processedMicrophone;
+  // The input the processed microphone is routed to, null for the system default.
+  @Nullable
+  private volatile Device.Descriptor processedMicrophoneDescriptor;
+  // Touched on the main thread only.
+  private final CameraZoom cameraZoom = new CameraZoom();
+  private volatile boolean isPinchZoomEnabled = false;
+
+  private static final class NetworkHandoff {
+    final String previousNetworkType;
+    final String networkType;
+    final long startTimestamp;
+    // Whether the broadcast has been started again on the new network.
+    boolean isRestarted = false;
+
+    NetworkHandoff(String previousNetworkType, String networkType, long startTimestamp) {
+      this.previousNetworkType = previousNetworkType;
+      this.networkType = networkType;
+      this.startTimestamp = startTimestamp;
+    }
+  }
 
-  private Device.Descriptor attachedCameraDescriptor;
-  private Device.Descriptor attachedMicrophoneDescriptor;
+  private volatile boolean isNetworkHandoffEnabled = false;
+  private final NetworkMonitor networkMonitor;
+  private boolean isNetworkMonitorStarted = false;
+  private volatile String lastRtmpsUrl;
+  private volatile String lastStreamKey;
+  private final AtomicReference<NetworkHandoff> pendingNetworkHandoff = new AtomicReference<>();
+  private final Runnable networkHandoffTimeoutTask = () -> reportNetworkHandoff(false);
 
-  private String sessionId;
-  private BroadcastSession broadcastSession;
-  private BroadcastConfiguration config = new BroadcastConfiguration();
+  private final BroadcastMetrics.StateTracker stateTracker = BroadcastMetrics.get().createStateTracker();
 
-  private RunnableCallback broadcastEventHandler;
+  private volatile RunnableCallback broadcastEventHandler;
+  // All the events are dispatched until the subscribed ones are declared.
+  @Nullable
+  private volatile Set<Events> subscribedEvents;
   private final BroadcastSession.Listener broadcastSessionListener = new BroadcastSession.Listener() {
     @Override
     public void onError(@NonNull BroadcastException exception) {
@@ -48,6 +216,11 @@ public class IVSBroadcastSessionService {
       String source = exception.getSource();
       boolean isFatal = exception.isFatal();
       String type = exception.getError().name();
+      BroadcastMetrics.get().onError(type);
+
+      // The health monitor folds the errors regardless of the subscription.
+      boolean isReported = healthMonitor.onError(type, source, code, detail, isFatal);
+      if (!isFatal && !(isReported && isSubscribed(Events.ON_ERROR))) return;
 
       WritableMap eventPayload = Arguments.createMap();
       WritableMap broadcastException = Arguments.createMap();
@@ -57,29 +230,57 @@ public class IVSBroadcastSessionService {
       broadcastException.putString("source", source);
       broadcastException.putBoolean("isFatal", isFatal);
       broadcastException.putString("type", type);
-      broadcastException.putString("sessionId", sessionId);
+      broadcastException.putString("sessionId", sessionStateMachine.getSnapshot().sessionId);
+
+      if (isFatal) {
+        rejectPendingStateTransitions(BroadcastStateTransition.E_BROADCAST_ERROR, detail, broadcastException);
+      }
 
       eventPayload.putMap("exception", broadcastException);
 
-      broadcastEventHandler.run(Events.ON_ERROR, eventPayload);
+      // Repeated errors are folded into the health event instead.
+      if (isReported) {
+        dispatchEvent(Events.ON_ERROR, eventPayload);
+      }
     }
 
     @Override
     public void onStateChanged(@NonNull BroadcastSession.State state) {
+      sessionState = state;
+      stateTracker.enter(state.name());
+      onNetworkHandoffStateChanged(state);
+      settlePendingStateTransitions(state);
+      healthMonitor.onStateChanged(state == BroadcastSession.State.CONNECTED);
+
+      String sessionId = sessionStateMachine.getSnapshot().sessionId;
+      if (state == BroadcastSession.State.CONNECTED) {
+        latencyProbe.start(sessionId);
+        resourceProfiler.start();
+      } else {
+        latencyProbe.stop();
+        resourceProfiler.stop();
+      }
+      if (!isSubscribed(Events.ON_STATE_CHANGED)) return;
+
       WritableMap eventPayload = Arguments.createMap();
       eventPayload.putString("stateStatus", state.toString());
-
       if (state == BroadcastSession.State.CONNECTED) {
         WritableMap metadata = Arguments.createMap();
         metadata.putString("sessionId", sessionId);
         eventPayload.putMap("metadata", metadata);
       }
 
-      broadcastEventHandler.run(Events.ON_STATE_CHANGED, eventPayload);
+      dispatchEvent(Events.ON_STATE_CHANGED, eventPayload);
     }
 
     @Override
     public void onAudioStats(double peak, double rms) {
+      if (peak > AUDIO_GAP_SILENCE_THRESHOLD && pendingAudioInputSwap.get() != null) {
+        reportAudioInputSwap(SystemClock.uptimeMillis());
+      }
+      voiceActivityDetector.onAudioStats(peak, rms);
+      if (!isSubscribed(Events.ON_AUDIO_STATS)) return;
+
       WritableMap eventPayload = Arguments.createMap();
       WritableMap audioStats = Arguments.createMap();
 
@@ -88,11 +289,15 @@ public class IVSBroadcastSessionService {
 
       eventPayload.putMap("audioStats", audioStats);
 
-      broadcastEventHandler.run(Events.ON_AUDIO_STATS, eventPayload);
+      dispatchEvent(Events.ON_AUDIO_STATS, eventPayload);
     }
 
     @Override
     public void onTransmissionStatsChanged(@NonNull TransmissionStats statistics) {
+      healthMonitor.onTransmissionStatistics(statistics.measuredBitrate);
+      resourceProfiler.onTransmissionStatistics(statistics.measuredBitrate, statistics.roundTripTime);
+      if (!isSubscribed(Events.ON_TRANSMISSION_STATISTICS_CHANGED)) return;
+
       WritableMap statisticsPayload = Arguments.createMap();
       statisticsPayload.putDouble("rtt", statistics.roundTripTime);
       statisticsPayload.putDouble("measuredBitrate", statistics.measuredBitrate);
@@ -103,23 +308,27 @@ public class IVSBroadcastSessionService {
       WritableMap eventPayload = Arguments.createMap();
       eventPayload.putMap("statistics", statisticsPayload);
 
-      broadcastEventHandler.run(Events.ON_TRANSMISSION_STATISTICS_CHANGED, eventPayload);
+      dispatchEvent(Events.ON_TRANSMISSION_STATISTICS_CHANGED, eventPayload);
     }
 
     @Override
     public void onBroadcastQualityChanged(double quality) {
+      if (!isSubscribed(Events.ON_QUALITY_CHANGED)) return;
+
       WritableMap eventPayload = Arguments.createMap();
       eventPayload.putDouble("quality", quality);
 
-      broadcastEventHandler.run(Events.ON_QUALITY_CHANGED, eventPayload);
+      dispatchEvent(Events.ON_QUALITY_CHANGED, eventPayload);
     }
 
     @Override
     public void onNetworkHealthChanged(double health) {
+      if (!isSubscribed(Events.ON_NETWORK_HEALTH_CHANGED)) return;
+
       WritableMap eventPayload = Arguments.createMap();
       eventPayload.putDouble("networkHealth", health);
 
-      broadcastEventHandler.run(Events.ON_NETWORK_HEALTH_CHANGED, eventPayload);
+      dispatchEvent(Events.ON_NETWORK_HEALTH_CHANGED, eventPayload);
     }
   };
 
@@ -208,16 +417,127 @@ public class IVSBroadcastSessionService {
     }
   }
 
-  private ImagePreviewView getCameraPreview() {
-    ImagePreviewView preview = broadcastSession.getPreviewView(cameraPreviewAspectMode);
+  private boolean isSubscribed(Events event) {
+    Set<Events> events = subscribedEvents;
+    return events == null || events.contains(event);
+  }
+
+  private void dispatchEvent(Events event, @Nullable WritableMap eventPayload) {
+    if (!isSubscribed(event)) return;
+    RunnableCallback eventHandler = broadcastEventHandler;
+    if (eventHandler != null) {
+      eventHandler.run(event, eventPayload);
+    }
+  }
+
+  @NonNull
+  private BroadcastSession getSession() {
+    BroadcastSession session = sessionStateMachine.getSnapshot().session;
+    if (session == null) {
+      throw new RuntimeException("Broadcast session has not been initialized.");
+    }
+    return session;
+  }
+
+  private ImagePreviewView getCameraPreview(BroadcastSession session) {
+    ImagePreviewView preview = session.getPreviewView(cameraPreviewAspectMode);
     preview.setMirrored(isCameraPreviewMirrored);
     return preview;
   }
 
+  private List<CameraCatalog.RankedCamera> rankCameras(Device.Descriptor.Position position) {
+    BroadcastConfiguration.Vec2 size = config.video.getSize();
+    int width = (int) size.x;
+    int height = (int) size.y;
+    int frameRate = config.video.getTargetFramerate();
+
+    // The custom video config is applied to the configuration only on initialization.
+    ReadableMap videoConfig = customVideoConfig;
+    if (videoConfig != null && videoConfig.hasKey("width") && videoConfig.hasKey("height")) {
+      width = videoConfig.getInt("width");
+      height = videoConfig.getInt("height");
+    }
+    if (videoConfig != null && videoConfig.hasKey("targetFrameRate")) {
+      frameRate = videoConfig.getInt("targetFrameRate");
+    }
+
+    return CameraCatalog.rank(
+      CameraCatalog.getCameras(mReactContext),
+      position == Device.Descriptor.Position.FRONT,
+      cameraLens,
+      width,
+      height,
+      frameRate
+    );
+  }
+
+  @Nullable
+  private static Device.Descriptor findCameraDescriptor(@NonNull Device.Descriptor[] deviceDescriptors, @NonNull String deviceId) {
+    for (Device.Descriptor deviceDescriptor : deviceDescriptors) {
+      if (deviceDescriptor.type == Device.Descriptor.DeviceType.CAMERA && deviceId.equals(deviceDescriptor.deviceId)) {
+        return deviceDescriptor;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Picks the camera requested by id, otherwise the best ranked camera of the current position
+   * which is also known to the SDK.
+   */
+  @Nullable
+  private Device.Descriptor selectCameraDescriptor() {
+    Device.Descriptor[] availableDescriptors = BroadcastSession.listAvailableDevices(mReactContext);
+
+    String requestedCameraId = cameraId;
+    if (requestedCameraId != null) {
+      Device.Descriptor cameraDescriptor = findCameraDescriptor(availableDescriptors, requestedCameraId);
+      if (cameraDescriptor == null) {
+        throw new RuntimeException("Does not support camera id: " + requestedCameraId);
+      }
+      return cameraDescriptor;
+    }
+
+    Device.Descriptor.Position position = cameraPosition;
+    for (CameraCatalog.RankedCamera rankedCamera : rankCameras(position)) {
+      Device.Descriptor cameraDescriptor = findCameraDescriptor(availableDescriptors, rankedCamera.info.cameraId);
+      if (cameraDescriptor != null) {
+        return cameraDescriptor;
+      }
+    }
+
+    // The camera characteristics are not available, fall back to the position only.
+    for (Device.Descriptor deviceDescriptor : availableDescriptors) {
+      if (deviceDescriptor.type == Device.Descriptor.DeviceType.CAMERA && deviceDescriptor.position == position) {
+        return deviceDescriptor;
+      }
+    }
+    return null;
+  }
+
   private Device.Descriptor[] getInitialDeviceDescriptorList() {
-    return initialCameraPosition == Device.Descriptor.Position.BACK
+    Device.Descriptor[] deviceDescriptors = cameraPosition == Device.Descriptor.Position.BACK
       ? Presets.Devices.BACK_CAMERA(mReactContext)
       : Presets.Devices.FRONT_CAMERA(mReactContext);
+
+    Device.Descriptor cameraDescriptor = selectCameraDescriptor();
+    AudioInputPolicy.Input preferredInput = audioInput;
+    Device.Descriptor microphoneDescriptor = preferredInput != null ? selectMicrophoneDescriptor(preferredInput) : null;
+    // The processed microphone records the audio itself, the one of the SDK is left out and the
+    // recording is routed to the selected input instead.
+    boolean isMicrophoneProcessed = audioProcessingConfig != null;
+    List<Device.Descriptor> initialDeviceDescriptors = new ArrayList<>();
+    for (Device.Descriptor deviceDescriptor : deviceDescriptors) {
+      if (cameraDescriptor != null && deviceDescriptor.type == Device.Descriptor.DeviceType.CAMERA) {
+        initialDeviceDescriptors.add(cameraDescriptor);
+      } else if (deviceDescriptor.type == Device.Descriptor.DeviceType.MICROPHONE) {
+        if (isMicrophoneProcessed) continue;
+        initialDeviceDescriptors.add(microphoneDescriptor != null ? microphoneDescriptor : deviceDescriptor);
+      } else {
+        initialDeviceDescriptors.add(deviceDescriptor);
+      }
+    }
+    return initialDeviceDescriptors.toArray(new Device.Descriptor[0]);
   }
 
   private void setCustomVideoConfig() {
@@ -282,23 +602,240 @@ public class IVSBroadcastSessionService {
     }
   }
 
-  private void swapCameraAsync(CameraPreviewHandler callback) {
-    broadcastSession.awaitDeviceChanges(() -> {
-      for (Device.Descriptor deviceDescriptor : broadcastSession.listAvailableDevices(mReactContext)) {
-        if (deviceDescriptor.type == Device.Descriptor.DeviceType.CAMERA && deviceDescriptor.position != attachedCameraDescriptor.position) {
-          broadcastSession.exchangeDevices(attachedCameraDescriptor, deviceDescriptor, newCamera -> {
-            attachedCameraDescriptor = newCamera.getDescriptor();
-            callback.run(getCameraPreview());
-          });
-          break;
+  private void exchangeCameraAsync(CameraPreviewHandler callback) {
+    BroadcastSession session = getSession();
+    Device.Descriptor selectedCameraDescriptor = selectCameraDescriptor();
+    if (selectedCameraDescriptor == null) return;
+
+    session.awaitDeviceChanges(() -> {
+      // The session might have been released while the device changes were pending.
+      SessionStateMachine.Snapshot<BroadcastSession, Device.Descriptor> snapshot = sessionStateMachine.getSnapshot();
+      if (snapshot.session != session) return;
+
+      Device.Descriptor attachedCameraDescriptor = snapshot.cameraDescriptor;
+      if (attachedCameraDescriptor.urn.equals(selectedCameraDescriptor.urn)) return;
+
+      session.exchangeDevices(attachedCameraDescriptor, selectedCameraDescriptor, newCamera -> {
+        if (sessionStateMachine.setCameraDescriptor(session, newCamera.getDescriptor())) {
+          callback.run(getCameraPreview(session));
+        }
+      });
+    });
+  }
+
+  private AudioInputPolicy.Input getAudioInput(Device.Descriptor microphoneDescriptor, AudioDeviceInfo[] inputDevices) {
+    int deviceType = AudioDeviceInfo.TYPE_UNKNOWN;
+    for (AudioDeviceInfo inputDevice : inputDevices) {
+      if (String.valueOf(inputDevice.getId()).equals(microphoneDescriptor.deviceId)) {
+        deviceType = inputDevice.getType();
+        break;
+      }
+    }
+
+    switch (deviceType) {
+      case AudioDeviceInfo.TYPE_WIRED_HEADSET:
+      case AudioDeviceInfo.TYPE_LINE_ANALOG:
+      case AudioDeviceInfo.TYPE_LINE_DIGITAL: {
+        return AudioInputPolicy.Input.WIRED;
+      }
+      case AudioDeviceInfo.TYPE_USB_DEVICE:
+      case AudioDeviceInfo.TYPE_USB_ACCESSORY:
+      case AudioDeviceInfo.TYPE_USB_HEADSET: {
+        return AudioInputPolicy.Input.USB;
+      }
+      case AudioDeviceInfo.TYPE_BLUETOOTH_SCO:
+      case AudioDeviceInfo.TYPE_BLE_HEADSET: {
+        return AudioInputPolicy.Input.BLUETOOTH;
+      }
+      case AudioDeviceInfo.TYPE_UNKNOWN: {
+        // Fall back to the position reported by the SDK.
+        switch (microphoneDescriptor.position) {
+          case BLUETOOTH: {
+            return AudioInputPolicy.Input.BLUETOOTH;
+          }
+          case USB: {
+            return AudioInputPolicy.Input.USB;
+          }
+          case AUX: {
+            return AudioInputPolicy.Input.WIRED;
+          }
+          default: {
+            return AudioInputPolicy.Input.BUILT_IN;
+          }
         }
       }
+      default: {
+        return AudioInputPolicy.Input.BUILT_IN;
+      }
+    }
+  }
+
+  @Nullable
+  private Device.Descriptor selectMicrophoneDescriptor(@NonNull AudioInputPolicy.Input preferredInput) {
+    AudioDeviceInfo[] inputDevices = audioManager.getDevices(AudioManager.GET_DEVICES_INPUTS);
+    List<Device.Descriptor> microphoneDescriptors = new ArrayList<>();
+    List<AudioInputPolicy.Input> inputs = new ArrayList<>();
+    for (Device.Descriptor deviceDescriptor : BroadcastSession.listAvailableDevices(mReactContext)) {
+      if (deviceDescriptor.type == Device.Descriptor.DeviceType.MICROPHONE) {
+        microphoneDescriptors.add(deviceDescriptor);
+        inputs.add(getAudioInput(deviceDescriptor, inputDevices));
+      }
+    }
+
+    int index = AudioInputPolicy.select(preferredInput, inputs);
+    return index >= 0 ? microphoneDescriptors.get(index) : null;
+  }
+
+  @Nullable
+  private AudioDeviceInfo findInputDevice(@NonNull Device.Descriptor microphoneDescriptor) {
+    for (AudioDeviceInfo inputDevice : audioManager.getDevices(AudioManager.GET_DEVICES_INPUTS)) {
+      if (String.valueOf(inputDevice.getId()).equals(microphoneDescriptor.deviceId)) {
+        return inputDevice;
+      }
+    }
+    return null;
+  }
+
+  private void scheduleAudioInputUpdate(AudioDeviceInfo[] changedDevices) {
+    for (AudioDeviceInfo changedDevice : changedDevices) {
+      if (changedDevice.isSource()) {
+        mainThreadTimer.cancel(updateAudioInputTask);
+        mainThreadTimer.schedule(updateAudioInputTask, AUDIO_INPUT_SETTLE_DELAY_MILLIS);
+        return;
+      }
+    }
+  }
+
+  private void updateAudioDeviceCallbackRegistration() {
+    boolean shouldRegister = audioInput != null && isInitialized();
+    if (shouldRegister == isAudioDeviceCallbackRegistered) return;
+
+    if (shouldRegister) {
+      audioManager.registerAudioDeviceCallback(audioDeviceCallback, mainThreadHandler);
+    } else {
+      audioManager.unregisterAudioDeviceCallback(audioDeviceCallback);
+      mainThreadTimer.cancel(updateAudioInputTask);
+    }
+    isAudioDeviceCallbackRegistered = shouldRegister;
+  }
+
+  /**
+   * Swaps the attached microphone in place for the one picked by the audio input policy.
+   */
+  private void updateAudioInput() {
+    AudioInputPolicy.Input preferredInput = audioInput;
+    BroadcastSession session = sessionStateMachine.getSnapshot().session;
+    if (preferredInput == null || session == null) return;
+
+    Device.Descriptor selectedMicrophoneDescriptor = selectMicrophoneDescriptor(preferredInput);
+    if (selectedMicrophoneDescriptor == null) return;
+
+    ProcessedMicrophone microphone = processedMicrophone;
+    if (microphone != null) {
+      routeProcessedMicrophone(microphone, selectedMicrophoneDescriptor);
+      return;
+    }
+
+    session.awaitDeviceChanges(() -> {
+      SessionStateMachine.Snapshot<BroadcastSession, Device.Descriptor> snapshot = sessionStateMachine.getSnapshot();
+      if (snapshot.session != session) return;
+
+      Device.Descriptor attachedMicrophoneDescriptor = snapshot.microphoneDescriptor;
+      if (attachedMicrophoneDescriptor == null || attachedMicrophoneDescriptor.urn.equals(selectedMicrophoneDescriptor.urn)) return;
+
+      long requestTimestamp = SystemClock.uptimeMillis();
+      session.exchangeDevices(attachedMicrophoneDescriptor, selectedMicrophoneDescriptor, newMicrophone -> {
+        Device.Descriptor newMicrophoneDescriptor = newMicrophone.getDescriptor();
+        if (!sessionStateMachine.setMicrophoneDescriptor(session, newMicrophoneDescriptor)) return;
+
+        // The gain is not carried over to the new device.
+        ((AudioDevice) newMicrophone).setGain(isMicrophoneMuted ? 0.0F : 1.0F);
+
+        awaitAudioInputSwap(new AudioInputSwap(
+          attachedMicrophoneDescriptor,
+          newMicrophoneDescriptor,
+          requestTimestamp,
+          SystemClock.uptimeMillis()
+        ));
+      });
     });
   }
 
+  /**
+   * Routes the recording of the processed microphone to the selected input, there is no microphone
+   * of the SDK to exchange.
+   */
+  private void routeProcessedMicrophone(@NonNull ProcessedMicrophone microphone, @NonNull Device.Descriptor selectedMicrophoneDescriptor) {
+    Device.Descriptor routedMicrophoneDescriptor = processedMicrophoneDescriptor;
+    if (routedMicrophoneDescriptor != null && routedMicrophoneDescriptor.urn.equals(selectedMicrophoneDescriptor.urn)) return;
+
+    long requestTimestamp = SystemClock.uptimeMillis();
+    microphone.setPreferredDevice(findInputDevice(selectedMicrophoneDescriptor));
+    processedMicrophoneDescriptor = selectedMicrophoneDescriptor;
+    // Nothing has been swapped if the system default has been recorded so far.
+    if (routedMicrophoneDescriptor != null) {
+      awaitAudioInputSwap(new AudioInputSwap(
+        routedMicrophoneDescriptor,
+        selectedMicrophoneDescriptor,
+        requestTimestamp,
+        SystemClock.uptimeMillis()
+      ));
+    }
+  }
+
+  private void awaitAudioInputSwap(@NonNull AudioInputSwap swap) {
+    pendingAudioInputSwap.set(swap);
+    mainThreadTimer.cancel(audioGapTimeoutTask);
+    mainThreadTimer.schedule(audioGapTimeoutTask, AUDIO_GAP_TIMEOUT_MILLIS);
+  }
+
+  private WritableMap getAudioInputPayload(Device.Descriptor microphoneDescriptor, AudioDeviceInfo[] inputDevices) {
+    WritableMap audioInputPayload = Arguments.createMap();
+    audioInputPayload.putString("type", getAudioInput(microphoneDescriptor, inputDevices).toString());
+    audioInputPayload.putString("name", microphoneDescriptor.friendlyName);
+    audioInputPayload.putString("urn", microphoneDescriptor.urn);
+    return audioInputPayload;
+  }
+
+  /**
+   * @param firstAudioTimestamp uptime of the first audio stats of the new microphone above silence,
+   * or {@code -1} if there have not been any in time, e.g. while muted.
+   */
+  private void reportAudioInputSwap(long firstAudioTimestamp) {
+    AudioInputSwap swap = pendingAudioInputSwap.getAndSet(null);
+    if (swap == null) return;
+    mainThreadTimer.cancel(audioGapTimeoutTask);
+
+    AudioDeviceInfo[] inputDevices = audioManager.getDevices(AudioManager.GET_DEVICES_INPUTS);
+    WritableMap eventPayload = Arguments.createMap();
+    eventPayload.putMap("audioInput", getAudioInputPayload(swap.descriptor, inputDevices));
+    eventPayload.putMap("previousAudioInput", getAudioInputPayload(swap.previousDescriptor, inputDevices));
+    eventPayload.putDouble("attachDuration", swap.attachTimestamp - swap.requestTimestamp);
+    if (firstAudioTimestamp >= 0) {
+      eventPayload.putDouble("audioGap", firstAudioTimestamp - swap.requestTimestamp);
+    } else {
+      eventPayload.putNull("audioGap");
+    }
+
+    dispatchEvent(Events.ON_AUDIO_INPUT_CHANGED, eventPayload);
+  }
+
   private void muteAsync(boolean isMuted) {
-    broadcastSession.awaitDeviceChanges(() -> {
-      for (Device device : broadcastSession.listAttachedDevices()) {
+    ProcessedMicrophone microphone = processedMicrophone;
+    if (microphone != null) {
+      // Ramped by the DSP chain, so muting does not click.
+      microphone.setMuted(isMuted);
+      return;
+    }
+
+    BroadcastSession session = getSession();
+    session.awaitDeviceChanges(() -> {
+      SessionStateMachine.Snapshot<BroadcastSession, Device.Descriptor> snapshot = sessionStateMachine.getSnapshot();
+      if (snapshot.session != session) return;
+
+      Device.Descriptor attachedMicrophoneDescriptor = snapshot.microphoneDescriptor;
+      if (attachedMicrophoneDescriptor == null) return;
+      for (Device device : session.listAttachedDevices()) {
         Device.Descriptor deviceDescriptor = device.getDescriptor();
         if (deviceDescriptor.type == Device.Descriptor.DeviceType.MICROPHONE && deviceDescriptor.urn.equals(attachedMicrophoneDescriptor.urn)) {
           Float gain = isMuted ? 0.0F : 1.0F;
@@ -309,26 +846,579 @@ public class IVSBroadcastSessionService {
     });
   }
 
+  private boolean sendTimedMetadataFrame(String payload) {
+    BroadcastSession session = sessionStateMachine.getSnapshot().session;
+    if (session == null) return false;
+
+    try {
+      return session.sendTimedMetadata(payload);
+    } catch (Exception error) {
+      return false;
+    }
+  }
+
+  private void onTimedMetadataStatisticsChanged(TimedMetadataScheduler.Statistics statistics) {
+    WritableMap eventPayload = Arguments.createMap();
+    eventPayload.putMap("statistics", statistics.toPayload());
+
+    dispatchEvent(Events.ON_TIMED_METADATA_STATISTICS_CHANGED, eventPayload);
+  }
+
+  private void onVoiceActivity(boolean isSpeaking, double level) {
+    if (!isSubscribed(Events.ON_VOICE_ACTIVITY)) return;
+
+    WritableMap eventPayload = Arguments.createMap();
+    eventPayload.putBoolean("isSpeaking", isSpeaking);
+    eventPayload.putDouble("level", level);
+
+    dispatchEvent(Events.ON_VOICE_ACTIVITY, eventPayload);
+  }
+
+  private void onClipping(boolean isClipping, double peak) {
+    if (!isSubscribed(Events.ON_CLIPPING)) return;
+
+    WritableMap eventPayload = Arguments.createMap();
+    eventPayload.putBoolean("isClipping", isClipping);
+    eventPayload.putDouble("peak", peak);
+
+    dispatchEvent(Events.ON_CLIPPING, eventPayload);
+  }
+
+  private synchronized Handler getResourceProfilerHandler() {
+    if (resourceProfilerHandler == null) {
+      resourceProfilerThread = new HandlerThread("IVSResourceProfiler", Process.THREAD_PRIORITY_BACKGROUND);
+      resourceProfilerThread.start();
+      resourceProfilerHandler = new Handler(resourceProfilerThread.getLooper());
+    }
+    return resourceProfilerHandler;
+  }
+
+  private synchronized void releaseResourceProfilerThread() {
+    if (resourceProfilerThread != null) {
+      resourceProfilerThread.quitSafely();
+      resourceProfilerThread = null;
+      resourceProfilerHandler = null;
+    }
+  }
+
+  private void onResourceProfile(ResourceProfiler.Summary summary) {
+    if (!isSubscribed(Events.ON_RESOURCE_PROFILE)) return;
+
+    WritableMap eventPayload = Arguments.createMap();
+    eventPayload.putMap("profile", summary.toPayload());
+
+    dispatchEvent(Events.ON_RESOURCE_PROFILE, eventPayload);
+  }
+
+  private void onHealthChanged(BroadcastHealthMonitor.Report report) {
+    WritableMap eventPayload = Arguments.createMap();
+    eventPayload.putMap("health", report.toPayload());
+
+    dispatchEvent(Events.ON_HEALTH_CHANGED, eventPayload);
+  }
+
+  private void settlePendingStateTransitions(BroadcastSession.State state) {
+    for (BroadcastStateTransition transition : pendingStateTransitions) {
+      if (transition.targetState == state) {
+        transition.resolve(sessionStateMachine.getSnapshot().sessionId);
+      } else if (transition.targetState == BroadcastSession.State.CONNECTED
+        && (state == BroadcastSession.State.DISCONNECTED || state == BroadcastSession.State.ERROR)) {
+        transition.reject(
+          BroadcastStateTransition.E_BROADCAST_ERROR,
+          "Broadcast session has moved to " + state + " state while connecting.",
+          null
+        );
+      }
+    }
+    pruneSettledStateTransitions();
+  }
+
+  private void rejectPendingStateTransitions(String code, String message, @Nullable WritableMap userInfo) {
+    for (BroadcastStateTransition transition : pendingStateTransitions) {
+      transition.reject(code, message, userInfo != null ? userInfo.copy() : null);
+    }
+    pendingStateTransitions.clear();
+  }
+
+  private void pruneSettledStateTransitions() {
+    for (BroadcastStateTransition transition : pendingStateTransitions) {
+      if (transition.isSettled()) {
+        pendingStateTransitions.remove(transition);
+      }
+    }
+  }
+
+  private void awaitStateTransition(
+    BroadcastSession.State targetState,
+    String durationKey,
+    long timeoutMillis,
+    Promise promise
+  ) {
+    // Only the latest request owns the outcome, a repeated start or stop supersedes the previous one.
+    rejectPendingStateTransitions(
+      BroadcastStateTransition.E_SUPERSEDED,
+      "Broadcast session state transition has been superseded by a new request.",
+      null
+    );
+    pendingStateTransitions.add(new BroadcastStateTransition(
+      targetState,
+      durationKey,
+      timeoutMillis > 0 ? timeoutMillis : DEFAULT_STATE_TRANSITION_TIMEOUT_MILLIS,
+      mainThreadHandler,
+      promise
+    ));
+  }
+
+  private void clampVideoConfig() {
+    // The session is not held up by the profiling on the first launch, it is re-created once done.
+    if (!EncoderProfiler.isLoaded()) {
+      isVideoConfigClampPending = true;
+      EncoderProfiler.prefetch(mReactContext, this::onEncoderProfileLoaded);
+      return;
+    }
+    isVideoConfigClampPending = false;
+    EncoderProfiler.Result result = EncoderProfiler.peekProfile();
+    if (result == null) return;
+
+    BroadcastConfiguration.Video video = config.video;
+    BroadcastConfiguration.Vec2 size = video.getSize();
+    EncoderProfile.ClampResult clampResult = result.profile.clamp(new EncoderProfile.VideoConfig(
+      (int) size.x,
+      (int) size.y,
+      video.getTargetFramerate(),
+      video.getInitialBitrate(),
+      video.getMinBitrate(),
+      video.getMaxBitrate(),
+      video.isUseBFrames()
+    ));
+    if (clampResult.adjustments.isEmpty()) return;
+
+    EncoderProfile.VideoConfig videoConfig = clampResult.videoConfig;
+    config = config.changing($ -> {
+      $.video.setSize(videoConfig.width, videoConfig.height);
+      $.video.setTargetFramerate(videoConfig.frameRate);
+      $.video.setMinBitrate(videoConfig.minBitrate);
+      $.video.setInitialBitrate(videoConfig.initialBitrate);
+      $.video.setMaxBitrate(videoConfig.maxBitrate);
+      $.video.setUseBFrames(videoConfig.isBFrames);
+      return $;
+    });
+
+    WritableMap eventPayload = Arguments.createMap();
+    eventPayload.putArray("adjustments", clampResult.getAdjustmentsPayload());
+    eventPayload.putMap("encoder", result.toPayload());
+
+    dispatchEvent(Events.ON_VIDEO_CONFIG_ADJUSTED, eventPayload);
+  }
+
+  private void onEncoderProfileLoaded() {
+    Runnable callback = onVideoConfigClampable;
+    // The clamp stays pending and is applied to the next session instead.
+    if (!isVideoConfigClampPending || !isVideoConfigClamped || !isInitialized() || isRecreationDisruptive() || callback == null) return;
+
+    callback.run();
+  }
+
+  private DisplayMetrics getScreenMetrics() {
+    DisplayMetrics screenMetrics = new DisplayMetrics();
+    WindowManager windowManager = (WindowManager) mReactContext.getSystemService(Context.WINDOW_SERVICE);
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
+      // The maximum window covers the whole display, system bars included, as the real metrics do.
+      WindowMetrics windowMetrics = windowManager.getMaximumWindowMetrics();
+      Rect bounds = windowMetrics.getBounds();
+      screenMetrics.setTo(mReactContext.getResources().getDisplayMetrics());
+      screenMetrics.widthPixels = bounds.width();
+      screenMetrics.heightPixels = bounds.height();
+    } else {
+      windowManager.getDefaultDisplay().getRealMetrics(screenMetrics);
+    }
+    return screenMetrics;
+  }
+
+  private void dispatchScreenCaptureState(@Nullable ScreenCaptureLayout.Frame captureFrame) {
+    WritableMap eventPayload = captureFrame != null ? captureFrame.toPayload() : Arguments.createMap();
+    eventPayload.putBoolean("isCapturing", captureFrame != null);
+
+    dispatchEvent(Events.ON_SCREEN_CAPTURE_STATE_CHANGED, eventPayload);
+  }
+
+  private void startScreenCapture(int resultCode, @NonNull Intent resultData, @NonNull ScreenCapture.Options options, Promise promise) {
+    BroadcastSession session = getSession();
+    MediaProjectionManager projectionManager = (MediaProjectionManager) mReactContext.getSystemService(Context.MEDIA_PROJECTION_SERVICE);
+    MediaProjection projection = projectionManager.getMediaProjection(resultCode, resultData);
+    if (projection == null) {
+      throw new RuntimeException("Media projection has not been granted.");
+    }
+
+    // The new capture runs under the same foreground service, only the previous capture goes.
+    boolean isReplacing = releaseScreenCapture();
+    ScreenCapture[] capture = new ScreenCapture[1];
+    capture[0] = new ScreenCapture(session, projection, mainThreadHandler, () -> {
+      if (screenCapture == capture[0]) {
+        stopScreenCapture();
+      }
+    });
+    ScreenCaptureLayout.Frame captureFrame;
+    try {
+      captureFrame = capture[0].start(config, getScreenMetrics(), options);
+    } catch (RuntimeException error) {
+      if (isReplacing) {
+        dispatchScreenCaptureState(null);
+      }
+      throw error;
+    }
+    screenCapture = capture[0];
+
+    promise.resolve(captureFrame.toPayload());
+    dispatchScreenCaptureState(captureFrame);
+  }
+
+  /**
+   * The probed bitrates only go to the session, so the next probe is still bounded by the
+   * configured ones. They are dropped once the configured ones change, see {@link #setVideoConfig}.
+   */
+  private BroadcastConfiguration applyProbedBitrates(BroadcastConfiguration sessionConfig) {
+    UplinkProbe.Bitrates bitrates = probedBitrates;
+    if (bitrates == null) return sessionConfig;
+
+    return sessionConfig.changing($ -> {
+      $.video.setMinBitrate(bitrates.minBitrate);
+      $.video.setInitialBitrate(bitrates.initialBitrate);
+      $.video.setMaxBitrate(bitrates.maxBitrate);
+      return $;
+    });
+  }
+
+  private boolean isBroadcasting() {
+    return sessionState == BroadcastSession.State.CONNECTED || sessionState == BroadcastSession.State.CONNECTING;
+  }
+
+  // Re-creating the session interrupts the broadcast and stops the screen capture and the
+  // processed microphone, which are not restored.
+  private boolean isRecreationDisruptive() {
+    return isBroadcasting() || screenCapture != null || processedMicrophone != null;
+  }
+
+  private void onUplinkProbed(
+    String source,
+    long startTimestamp,
+    long uplinkBitrate,
+    UplinkProbe.Bitrates bitrates,
+    boolean isApplied,
+    Runnable onApplied,
+    Promise promise
+  ) {
+    boolean isAppliedNow = false;
+    // The session can not be re-created once the broadcast has started meanwhile.
+    if (isApplied && !isBroadcasting()) {
+      probedBitrates = bitrates;
+      if (!isInitialized()) {
+        isAppliedNow = true;
+      } else if (!isRecreationDisruptive()) {
+        onApplied.run();
+        isAppliedNow = true;
+      }
+      // Otherwise the bitrates are kept for the next session.
+    }
+
+    promise.resolve(UplinkProbe.toPayload(
+      source,
+      SystemClock.elapsedRealtime() - startTimestamp,
+      uplinkBitrate,
+      bitrates,
+      isAppliedNow
+    ));
+  }
+
+  private void probeNetworkTest(
+    @NonNull String ivsRTMPSUrl,
+    @NonNull String ivsStreamKey,
+    long timeoutMillis,
+    boolean isApplied,
+    Runnable onApplied,
+    Promise promise
+  ) {
+    long startTimestamp = SystemClock.elapsedRealtime();
+    int configMaxBitrate = config.video.getMaxBitrate();
+    AtomicBoolean isSettled = new AtomicBoolean(false);
+    AtomicReference<BroadcastSessionTest> networkTest = new AtomicReference<>();
+
+    Runnable timeoutTask = () -> {
+      if (!isSettled.compareAndSet(false, true)) return;
+
+      BroadcastSessionTest test = networkTest.get();
+      if (test != null) {
+        test.cancel();
+      }
+      promise.reject(BroadcastStateTransition.E_TIMEOUT, "Uplink probe has timed out.");
+    };
+    mainThreadTimer.schedule(timeoutTask, timeoutMillis);
+
+    networkTest.set(BroadcastSession.recommendedVideoSettings(mReactContext, ivsRTMPSUrl, ivsStreamKey, result -> {
+      if (result.status == BroadcastSessionTest.Status.SUCCESS) {
+        if (!isSettled.compareAndSet(false, true)) return;
+        mainThreadTimer.cancel(timeoutTask);
+
+        if (result.recommendations.length == 0) {
+          promise.reject(BroadcastStateTransition.E_BROADCAST_ERROR, "Network test has not recommended any settings.");
+          return;
+        }
+        BroadcastSessionTest.Recommendation recommendation = result.recommendations[0];
+        UplinkProbe.Bitrates bitrates = UplinkProbe.fromRecommendation(
+          recommendation.initialBitrate,
+          recommendation.minimumBitrate,
+          recommendation.maximumBitrate,
+          configMaxBitrate
+        );
+        mainThreadHandler.post(() ->
+          onUplinkProbed("networkTest", startTimestamp, -1, bitrates, isApplied, onApplied, promise)
+        );
+      } else if (result.status == BroadcastSessionTest.Status.ERROR) {
+        if (!isSettled.compareAndSet(false, true)) return;
+        mainThreadTimer.cancel(timeoutTask);
+
+        String detail = result.error != null ? result.error.getDetail() : "Network test has failed.";
+        promise.reject(BroadcastStateTransition.E_BROADCAST_ERROR, detail);
+      }
+    }));
+  }
+
+  private void probeEcho(
+    @NonNull String probeUrl,
+    long durationMillis,
+    long timeoutMillis,
+    boolean isApplied,
+    Runnable onApplied,
+    Promise promise
+  ) {
+    long startTimestamp = SystemClock.elapsedRealtime();
+    int configMinBitrate = config.video.getMinBitrate();
+    int configMaxBitrate = config.video.getMaxBitrate();
+    HttpURLConnection connection;
+    try {
+      connection = UplinkProbe.createEchoConnection(probeUrl);
+    } catch (IOException | RuntimeException error) {
+      promise.reject(BroadcastStateTransition.E_INVALID_ARGUMENTS, error.toString());
+      return;
+    }
+    AtomicBoolean isSettled = new AtomicBoolean(false);
+
+    Runnable timeoutTask = () -> {
+      if (!isSettled.compareAndSet(false, true)) return;
+
+      // Aborts the upload, which may be blocked on the network.
+      connection.disconnect();
+      promise.reject(BroadcastStateTransition.E_TIMEOUT, "Uplink probe has timed out.");
+    };
+    mainThreadTimer.schedule(timeoutTask, timeoutMillis);
+
+    Thread thread = new Thread(() -> {
+      try {
+        long uplinkBitrate = UplinkProbe.measureEchoUplink(connection, durationMillis, SystemClock::elapsedRealtime);
+        if (!isSettled.compareAndSet(false, true)) return;
+        mainThreadTimer.cancel(timeoutTask);
+
+        UplinkProbe.Bitrates bitrates = UplinkProbe.fromUplink(uplinkBitrate, configMinBitrate, configMaxBitrate);
+        mainThreadHandler.post(() ->
+          onUplinkProbed("echo", startTimestamp, uplinkBitrate, bitrates, isApplied, onApplied, promise)
+        );
+      } catch (IOException | RuntimeException error) {
+        if (!isSettled.compareAndSet(false, true)) return;
+        mainThreadTimer.cancel(timeoutTask);
+
+        promise.reject(BroadcastStateTransition.E_BROADCAST_ERROR, error.toString());
+      }
+    }, "IVSUplinkProbe");
+    thread.start();
+  }
+
+  private void startProcessedMicrophone(BroadcastSession session) {
+    AudioDspChain.Config processingConfig = audioProcessingConfig;
+    if (processingConfig == null) return;
+
+    AudioInputPolicy.Input preferredInput = audioInput;
+    Device.Descriptor microphoneDescriptor = preferredInput != null ? selectMicrophoneDescriptor(preferredInput) : null;
+    ProcessedMicrophone[] microphone = new ProcessedMicrophone[1];
+    microphone[0] = ProcessedMicrophone.start(
+      session,
+      config.audio.getChannels(),
+      processingConfig,
+      isMicrophoneMuted,
+      microphoneDescriptor != null ? findInputDevice(microphoneDescriptor) : null,
+      code -> mainThreadHandler.post(() -> onProcessedMicrophoneError(microphone[0], code))
+    );
+    processedMicrophoneDescriptor = microphoneDescriptor;
+    processedMicrophone = microphone[0];
+  }
+
+  private void stopProcessedMicrophone() {
+    ProcessedMicrophone microphone = processedMicrophone;
+    if (microphone == null) return;
+
+    processedMicrophone = null;
+    processedMicrophoneDescriptor = null;
+    microphone.stop();
+  }
+
+  /**
+   * The recording does not recover, the microphone is released and the error is reported as a
+   * broadcast error. The session goes on without audio until it is initialized again.
+   */
+  private void onProcessedMicrophoneError(ProcessedMicrophone microphone, int code) {
+    if (processedMicrophone != microphone) return;
+    stopProcessedMicrophone();
+
+    String type = "AUDIO_PROCESSING_ERROR";
+    String source = "ProcessedMicrophone";
+    String detail = "Microphone recording has failed with the error code: " + code;
+    BroadcastMetrics.get().onError(type);
+    boolean isReported = healthMonitor.onError(type, source, code, detail, false);
+    if (!isReported || !isSubscribed(Events.ON_ERROR)) return;
+
+    WritableMap eventPayload = Arguments.createMap();
+    WritableMap broadcastException = Arguments.createMap();
+
+    broadcastException.putInt("code", code);
+    broadcastException.putString("detail", detail);
+    broadcastException.putString("source", source);
+    broadcastException.putBoolean("isFatal", false);
+    broadcastException.putString("type", type);
+    broadcastException.putString("sessionId", sessionStateMachine.getSnapshot().sessionId);
+
+    eventPayload.putMap("exception", broadcastException);
+
+    dispatchEvent(Events.ON_ERROR, eventPayload);
+  }
+
+  private WritableMap getCameraZoomPayload() {
+    WritableMap zoomPayload = Arguments.createMap();
+    zoomPayload.putDouble("zoom", cameraZoom.getZoom());
+    zoomPayload.putDouble("minZoom", cameraZoom.getMinZoom());
+    zoomPayload.putDouble("maxZoom", cameraZoom.getMaxZoom());
+    return zoomPayload;
+  }
+
+  /**
+   * Resizes the camera slots in place, the mixer crops what is outside of the canvas. The screen
+   * capture owns the camera slots while it is running.
+   */
+  private void applyCameraZoom() {
+    BroadcastSession session = sessionStateMachine.getSnapshot().session;
+    if (session == null || screenCapture != null) return;
+
+    BroadcastConfiguration.Vec2 videoSize = config.video.getSize();
+    ScreenCaptureLayout.Frame zoomFrame = cameraZoom.getFrame(videoSize.x, videoSize.y);
+    Mixer mixer = session.getMixer();
+    for (BroadcastConfiguration.Mixer.Slot slot : mixer.getSlots()) {
+      if (slot.getPreferredVideoInput() != Device.Descriptor.DeviceType.CAMERA) continue;
+
+      mixer.transition(slot.getName(), BroadcastConfiguration.Mixer.Slot.with($ -> {
+        $.setName(slot.getName());
+        $.setPreferredVideoInput(slot.getPreferredVideoInput());
+        $.setPreferredAudioInput(slot.getPreferredAudioInput());
+        $.setGain(slot.getGain());
+        $.setzIndex(slot.getzIndex());
+        $.setTransparency(slot.getTransparency());
+        $.setAspect(BroadcastConfiguration.AspectMode.FILL);
+        $.setPosition(new BroadcastConfiguration.Vec2(zoomFrame.x, zoomFrame.y));
+        $.setSize(new BroadcastConfiguration.Vec2(zoomFrame.width, zoomFrame.height));
+        return $;
+      }), 0, null);
+    }
+  }
+
+  private void updateNetworkMonitorRegistration() {
+    boolean shouldStart = isNetworkHandoffEnabled && isInitialized();
+    if (shouldStart == isNetworkMonitorStarted) return;
+
+    if (shouldStart) {
+      networkMonitor.start();
+    } else {
+      networkMonitor.stop();
+      pendingNetworkHandoff.set(null);
+      mainThreadTimer.cancel(networkHandoffTimeoutTask);
+    }
+    isNetworkMonitorStarted = shouldStart;
+  }
+
+  /**
+   * The connection on the previous network would only fail once it times out, so it is stopped
+   * right away and the broadcast is started again on the new network.
+   */
+  private void onDefaultNetworkChanged(@NonNull String previousNetworkType, @NonNull String networkType) {
+    BroadcastSession session = sessionStateMachine.getSnapshot().session;
+    if (session == null || sessionState != BroadcastSession.State.CONNECTED || lastRtmpsUrl == null) return;
+
+    NetworkHandoff handoff = new NetworkHandoff(previousNetworkType, networkType, SystemClock.uptimeMillis());
+    if (!pendingNetworkHandoff.compareAndSet(null, handoff)) return;
+
+    mainThreadTimer.schedule(networkHandoffTimeoutTask, NETWORK_HANDOFF_TIMEOUT_MILLIS);
+    session.stop();
+  }
+
+  private void onNetworkHandoffStateChanged(BroadcastSession.State state) {
+    NetworkHandoff handoff = pendingNetworkHandoff.get();
+    if (handoff == null) return;
+
+    if (state == BroadcastSession.State.CONNECTED && handoff.isRestarted) {
+      reportNetworkHandoff(true);
+    } else if (state == BroadcastSession.State.DISCONNECTED || state == BroadcastSession.State.ERROR) {
+      if (handoff.isRestarted) {
+        reportNetworkHandoff(false);
+        return;
+      }
+      handoff.isRestarted = true;
+      try {
+        // Starts from the initial bitrate of the config, the automatic bitrate ramps up from there.
+        start(lastRtmpsUrl, lastStreamKey);
+      } catch (RuntimeException error) {
+        reportNetworkHandoff(false);
+      }
+    }
+  }
+
+  private void reportNetworkHandoff(boolean isReconnected) {
+    NetworkHandoff handoff = pendingNetworkHandoff.getAndSet(null);
+    if (handoff == null) return;
+    mainThreadTimer.cancel(networkHandoffTimeoutTask);
+
+    WritableMap eventPayload = Arguments.createMap();
+    eventPayload.putString("previousNetworkType", handoff.previousNetworkType);
+    eventPayload.putString("networkType", handoff.networkType);
+    eventPayload.putDouble("duration", SystemClock.uptimeMillis() - handoff.startTimestamp);
+    eventPayload.putBoolean("isReconnected", isReconnected);
+
+    dispatchEvent(Events.ON_NETWORK_HANDOFF, eventPayload);
+  }
+
   private void preInitialization() {
     setCustomVideoConfig();
     setCustomAudioConfig();
+    if (isVideoConfigClamped) {
+      clampVideoConfig();
+    }
   }
 
-  private void postInitialization() {
-    broadcastSession.setLogLevel(initialSessionLogLevel);
-    if (isInitialMuted) {
+  private void postInitialization(BroadcastSession session) {
+    session.setLogLevel(initialSessionLogLevel);
+    if (cameraZoom.getZoom() != CameraZoom.MIN_ZOOM) {
+      applyCameraZoom();
+    }
+    if (isMicrophoneMuted) {
       muteAsync(true);
     }
+    updateAudioDeviceCallbackRegistration();
+    updateNetworkMonitorRegistration();
   }
 
-  private void saveInitialDevicesDescriptor(@NonNull Device.Descriptor[] deviceDescriptors) {
+  @Nullable
+  private static Device.Descriptor findDeviceDescriptor(@NonNull Device.Descriptor[] deviceDescriptors, Device.Descriptor.DeviceType type) {
     for (Device.Descriptor deviceDescriptor : deviceDescriptors) {
-      if (deviceDescriptor.type == Device.Descriptor.DeviceType.CAMERA) {
-        attachedCameraDescriptor = deviceDescriptor;
-      } else if (deviceDescriptor.type == Device.Descriptor.DeviceType.MICROPHONE) {
-        attachedMicrophoneDescriptor = deviceDescriptor;
+      if (deviceDescriptor.type == type) {
+        return deviceDescriptor;
       }
     }
+    return null;
   }
 
   public enum Events {
@@ -336,6 +1426,17 @@ public class IVSBroadcastSessionService {
     ON_STATE_CHANGED("onStateChanged"),
     ON_AUDIO_STATS("onAudioStats"),
     ON_TRANSMISSION_STATISTICS_CHANGED("onTransmissionStatisticsChanged"),
+    ON_TIMED_METADATA_STATISTICS_CHANGED("onTimedMetadataStatisticsChanged"),
+    ON_LATENCY_MEASURED("onLatencyMeasured"),
+    ON_HEALTH_CHANGED("onBroadcastHealthChanged"),
+    ON_VIDEO_CONFIG_ADJUSTED("onVideoConfigAdjusted"),
+    ON_AUDIO_INPUT_CHANGED("onAudioInputChanged"),
+    ON_SCREEN_CAPTURE_STATE_CHANGED("onScreenCaptureStateChanged"),
+    ON_CAMERA_ZOOM_CHANGED("onCameraZoomChanged"),
+    ON_NETWORK_HANDOFF("onNetworkHandoff"),
+    ON_VOICE_ACTIVITY("onVoiceActivity"),
+    ON_CLIPPING("onClipping"),
+    ON_RESOURCE_PROFILE("onResourceProfile"),
     @Deprecated
     ON_QUALITY_CHANGED("onQualityChanged"),
     @Deprecated
@@ -355,6 +1456,26 @@ public class IVSBroadcastSessionService {
 
   public IVSBroadcastSessionService(ThemedReactContext reactContext) {
     mReactContext = reactContext;
+    audioManager = (AudioManager) reactContext.getSystemService(Context.AUDIO_SERVICE);
+    timedMetadataScheduler.setStatisticsListener(this::onTimedMetadataStatisticsChanged);
+    healthMonitor.setListener(this::onHealthChanged);
+    resourceProfiler.setListener(this::onResourceProfile);
+    voiceActivityDetector.setListener(new VoiceActivityDetector.Listener() {
+      @Override
+      public void onVoiceActivityChanged(boolean isSpeaking, double level) {
+        onVoiceActivity(isSpeaking, level);
+      }
+
+      @Override
+      public void onClippingChanged(boolean isClipping, double peak) {
+        onClipping(isClipping, peak);
+      }
+    });
+    networkMonitor = new NetworkMonitor(
+      (ConnectivityManager) reactContext.getSystemService(Context.CONNECTIVITY_SERVICE),
+      mainThreadHandler,
+      this::onDefaultNetworkChanged
+    );
   }
 
   public void init() {
@@ -363,59 +1484,338 @@ public class IVSBroadcastSessionService {
     } else {
       preInitialization();
 
-      broadcastSession = new BroadcastSession(
+      Device.Descriptor[] deviceDescriptors = getInitialDeviceDescriptorList();
+      BroadcastSession session = new BroadcastSession(
         mReactContext,
         broadcastSessionListener,
-        config,
-        getInitialDeviceDescriptorList()
+        applyProbedBitrates(config),
+        deviceDescriptors
       );
 
-      saveInitialDevicesDescriptor(getInitialDeviceDescriptorList());
+      boolean isInitialized = sessionStateMachine.initialize(
+        session,
+        findDeviceDescriptor(deviceDescriptors, Device.Descriptor.DeviceType.CAMERA),
+        findDeviceDescriptor(deviceDescriptors, Device.Descriptor.DeviceType.MICROPHONE)
+      );
+      if (!isInitialized) {
+        session.release();
+        throw new RuntimeException("Broadcast session has been already initialized.");
+      }
 
-      postInitialization();
+      postInitialization(session);
+      BroadcastMetrics.get().onSessionInitialized();
+      // Started last, the session is released as usual if the microphone fails to start.
+      startProcessedMicrophone(session);
     }
   }
 
   public void deinit() {
-    if (isInitialized()) {
-      broadcastSession.release();
-      broadcastSession = null;
+    rejectPendingStateTransitions(
+      BroadcastStateTransition.E_CANCELLED,
+      "Broadcast session has been released.",
+      null
+    );
+    latencyProbe.stop();
+    timedMetadataScheduler.clear();
+    healthMonitor.reset();
+    voiceActivityDetector.reset();
+    resourceProfiler.reset();
+    releaseResourceProfilerThread();
+    stopScreenCapture();
+    stopProcessedMicrophone();
+    // Only the caller which has moved the state machine to the idle phase releases the session.
+    BroadcastSession session = sessionStateMachine.release();
+    if (session != null) {
+      session.release();
+      sessionState = BroadcastSession.State.INVALID;
+      stateTracker.stop();
+      BroadcastMetrics.get().onSessionReleased();
     }
+    updateAudioDeviceCallbackRegistration();
+    pendingAudioInputSwap.set(null);
+    mainThreadTimer.cancel(audioGapTimeoutTask);
+    updateNetworkMonitorRegistration();
   }
 
   public boolean isInitialized() {
-    return broadcastSession != null;
+    return sessionStateMachine.getSnapshot().isInitialized();
   }
 
   public boolean isReady() {
-    return broadcastSession.isReady();
+    BroadcastSession session = sessionStateMachine.getSnapshot().session;
+    return session != null && session.isReady();
   }
 
   public void start(@Nullable String ivsRTMPSUrl, @Nullable String ivsStreamKey) {
-    broadcastSession.start(ivsRTMPSUrl, ivsStreamKey);
-    sessionId = broadcastSession.getSessionId();
+    BroadcastSession session = getSession();
+    session.start(ivsRTMPSUrl, ivsStreamKey);
+    sessionStateMachine.setSessionId(session, session.getSessionId());
+    // Kept to restart the broadcast on a network handoff.
+    lastRtmpsUrl = ivsRTMPSUrl;
+    lastStreamKey = ivsStreamKey;
   }
 
   public void stop() {
-    broadcastSession.stop();
+    // A stop requested meanwhile wins over the restart of the handoff.
+    if (pendingNetworkHandoff.getAndSet(null) != null) {
+      mainThreadTimer.cancel(networkHandoffTimeoutTask);
+    }
+    getSession().stop();
+  }
+
+  /**
+   * Starts the broadcast and settles the promise once the session is connected, fails with a fatal
+   * error or the timeout elapses.
+   */
+  public void startAsync(@NonNull String ivsRTMPSUrl, @NonNull String ivsStreamKey, long timeoutMillis, Promise promise) {
+    if (sessionState == BroadcastSession.State.CONNECTED) {
+      new BroadcastStateTransition(BroadcastSession.State.CONNECTED, "timeToConnect", timeoutMillis, mainThreadHandler, promise)
+        .resolve(sessionStateMachine.getSnapshot().sessionId);
+      return;
+    }
+
+    awaitStateTransition(BroadcastSession.State.CONNECTED, "timeToConnect", timeoutMillis, promise);
+    try {
+      start(ivsRTMPSUrl, ivsStreamKey);
+    } catch (Exception error) {
+      rejectPendingStateTransitions(BroadcastStateTransition.E_BROADCAST_ERROR, error.toString(), null);
+    }
+  }
+
+  /**
+   * Stops the broadcast and settles the promise once the session is disconnected or the timeout
+   * elapses.
+   */
+  public void stopAsync(long timeoutMillis, Promise promise) {
+    if (sessionState != BroadcastSession.State.CONNECTED && sessionState != BroadcastSession.State.CONNECTING) {
+      rejectPendingStateTransitions(
+        BroadcastStateTransition.E_SUPERSEDED,
+        "Broadcast session state transition has been superseded by a new request.",
+        null
+      );
+      new BroadcastStateTransition(BroadcastSession.State.DISCONNECTED, "timeToDisconnect", timeoutMillis, mainThreadHandler, promise)
+        .resolve(sessionStateMachine.getSnapshot().sessionId);
+      return;
+    }
+
+    awaitStateTransition(BroadcastSession.State.DISCONNECTED, "timeToDisconnect", timeoutMillis, promise);
+    stop();
+  }
+
+  public void sendTimedMetadata(@NonNull String contents, boolean isBatchable) {
+    timedMetadataScheduler.enqueue(contents, isBatchable);
+  }
+
+  public void observeLatencyProbe(@NonNull String payload) {
+    Long latency = latencyProbe.observe(payload);
+    if (latency == null) return;
+
+    WritableMap eventPayload = Arguments.createMap();
+    eventPayload.putDouble("latency", latency);
+    eventPayload.putMap("histogram", latencyProbe.getHistogramSnapshot().toPayload());
+
+    dispatchEvent(Events.ON_LATENCY_MEASURED, eventPayload);
+  }
+
+  public WritableMap getTimedMetadataStatistics() {
+    return timedMetadataScheduler.getStatistics().toPayload();
+  }
+
+  public WritableMap getLatencyHistogram() {
+    return latencyProbe.getHistogramSnapshot().toPayload();
+  }
+
+  /**
+   * @return the statistics of the audio processing, or {@code null} if it is not running.
+   */
+  @Nullable
+  public WritableMap getAudioProcessingStatistics() {
+    ProcessedMicrophone microphone = processedMicrophone;
+    return microphone != null ? microphone.getStatisticsPayload() : null;
   }
 
   @Deprecated
   public void swapCamera(CameraPreviewHandler callback) {
-    swapCameraAsync(callback);
+    Device.Descriptor attachedCameraDescriptor = sessionStateMachine.getSnapshot().cameraDescriptor;
+    Device.Descriptor.Position attachedCameraPosition = attachedCameraDescriptor != null
+      ? attachedCameraDescriptor.position
+      : cameraPosition;
+    cameraPosition = attachedCameraPosition == Device.Descriptor.Position.BACK
+      ? Device.Descriptor.Position.FRONT
+      : Device.Descriptor.Position.BACK;
+    // Swapping picks a camera by position, the requested camera id would pin the current one.
+    cameraId = null;
+    exchangeCameraAsync(callback);
+  }
+
+  /**
+   * The cameras known to the SDK ranked for the video config and lens, the current position first.
+   */
+  public WritableArray getAvailableCameras() {
+    Device.Descriptor[] availableDescriptors = BroadcastSession.listAvailableDevices(mReactContext);
+    Device.Descriptor attachedCameraDescriptor = sessionStateMachine.getSnapshot().cameraDescriptor;
+    Device.Descriptor.Position position = cameraPosition;
+    Device.Descriptor.Position otherPosition = position == Device.Descriptor.Position.BACK
+      ? Device.Descriptor.Position.FRONT
+      : Device.Descriptor.Position.BACK;
+
+    List<CameraCatalog.RankedCamera> rankedCameras = new ArrayList<>(rankCameras(position));
+    rankedCameras.addAll(rankCameras(otherPosition));
+
+    WritableArray camerasPayload = Arguments.createArray();
+    for (CameraCatalog.RankedCamera rankedCamera : rankedCameras) {
+      CameraCatalog.CameraInfo info = rankedCamera.info;
+      Device.Descriptor cameraDescriptor = findCameraDescriptor(availableDescriptors, info.cameraId);
+      if (cameraDescriptor == null) continue;
+
+      WritableMap cameraPayload = Arguments.createMap();
+      cameraPayload.putString("cameraId", info.cameraId);
+      cameraPayload.putString("position", info.isFront ? "front" : "back");
+      cameraPayload.putString("lens", info.lens.toString());
+      cameraPayload.putInt("maxWidth", info.maxWidth);
+      cameraPayload.putInt("maxHeight", info.maxHeight);
+      cameraPayload.putInt("maxFrameRate", info.maxFrameRate);
+      cameraPayload.putDouble("focalLength", info.equivalentFocalLength);
+      cameraPayload.putBoolean("isLogicalMultiCamera", info.isLogicalMultiCamera);
+      cameraPayload.putBoolean("meetsResolution", rankedCamera.meetsResolution);
+      cameraPayload.putBoolean("meetsFrameRate", rankedCamera.meetsFrameRate);
+      cameraPayload.putBoolean(
+        "isAttached",
+        attachedCameraDescriptor != null && attachedCameraDescriptor.urn.equals(cameraDescriptor.urn)
+      );
+      camerasPayload.pushMap(cameraPayload);
+    }
+    return camerasPayload;
+  }
+
+  /**
+   * Measures the uplink before the broadcast, with the network test of the SDK against the ingest
+   * endpoint or by uploading to the echo endpoint. The derived bitrates apply to the sessions
+   * initialized afterwards, `onApplied` re-creates the current one.
+   */
+  public void probeUplinkAsync(
+    @Nullable String ivsRTMPSUrl,
+    @Nullable String ivsStreamKey,
+    @Nullable ReadableMap options,
+    Runnable onApplied,
+    Promise promise
+  ) {
+    if (isBroadcasting()) {
+      promise.reject(BroadcastStateTransition.E_BROADCAST_ERROR, "Uplink can not be probed while broadcasting.");
+      return;
+    }
+
+    UplinkProbe.Options probeOptions = UplinkProbe.Options.fromMap(options);
+
+    if (probeOptions.probeUrl != null) {
+      probeEcho(
+        probeOptions.probeUrl,
+        probeOptions.durationMillis,
+        probeOptions.timeoutMillis,
+        probeOptions.isApplied,
+        onApplied,
+        promise
+      );
+    } else if (ivsRTMPSUrl == null) {
+      promise.reject(BroadcastStateTransition.E_INVALID_ARGUMENTS, "'rtmpsUrl' is empty.");
+    } else if (ivsStreamKey == null) {
+      promise.reject(BroadcastStateTransition.E_INVALID_ARGUMENTS, "'streamKey' is empty.");
+    } else {
+      probeNetworkTest(ivsRTMPSUrl, ivsStreamKey, probeOptions.timeoutMillis, probeOptions.isApplied, onApplied, promise);
+    }
+  }
+
+  /**
+   * Mirrors the screen into the session once the projection consent has been given. The capture is
+   * bounded by the video size of the config and composed at its target frame rate.
+   */
+  public void startScreenCaptureAsync(int resultCode, @NonNull Intent resultData, @Nullable ReadableMap options, Promise promise) {
+    if (resultCode != Activity.RESULT_OK) {
+      promise.reject(ScreenCapture.E_PERMISSION_DENIED, "Screen capture has not been permitted.");
+      return;
+    }
+
+    ScreenCapture.Options captureOptions = ScreenCapture.Options.fromMap(options);
+    getSession();
+    // Android 10+ hands out the projection only while a foreground service of its type is running.
+    ScreenCaptureService.start(mReactContext, () -> {
+      try {
+        startScreenCapture(resultCode, resultData, captureOptions, promise);
+      } catch (RuntimeException error) {
+        ScreenCaptureService.stop(mReactContext);
+        promise.reject(BroadcastStateTransition.E_BROADCAST_ERROR, error.toString());
+      }
+    });
+  }
+
+  /**
+   * @return whether a screen capture has been stopped.
+   */
+  public boolean stopScreenCapture() {
+    if (!releaseScreenCapture()) return false;
+
+    ScreenCaptureService.stop(mReactContext);
+    dispatchScreenCaptureState(null);
+    return true;
+  }
+
+  // Stops the capture but leaves the foreground service running.
+  private boolean releaseScreenCapture() {
+    ScreenCapture capture = screenCapture;
+    if (capture == null) return false;
+
+    screenCapture = null;
+    capture.stop();
+    return true;
+  }
+
+  public boolean isPinchZoomEnabled() {
+    return isPinchZoomEnabled;
+  }
+
+  /**
+   * Applied on every step of the pinch, nothing is reported until it settles.
+   *
+   * @param focusX horizontal position of the pinch focus relative to the preview, from 0 to 1.
+   * @param focusY vertical position of the pinch focus relative to the preview, from 0 to 1.
+   */
+  public void scaleCameraZoom(float scaleFactor, float focusX, float focusY) {
+    if (cameraZoom.scaleBy(scaleFactor, focusX, focusY)) {
+      applyCameraZoom();
+    }
+  }
+
+  public void settleCameraZoom() {
+    dispatchEvent(Events.ON_CAMERA_ZOOM_CHANGED, getCameraZoomPayload());
   }
 
   public void getCameraPreviewAsync(CameraPreviewHandler callback) {
-    broadcastSession.awaitDeviceChanges(() -> {
-      callback.run(getCameraPreview());
+    BroadcastSession session = getSession();
+    session.awaitDeviceChanges(() -> {
+      if (sessionStateMachine.isCurrent(session)) {
+        callback.run(getCameraPreview(session));
+      }
     });
   }
 
   public void setCameraPosition(String cameraPositionName, CameraPreviewHandler callback) {
+    cameraPosition = getCameraPosition(cameraPositionName);
     if (isInitialized()) {
-      swapCameraAsync(callback);
-    } else {
-      initialCameraPosition = getCameraPosition(cameraPositionName);
+      exchangeCameraAsync(callback);
+    }
+  }
+
+  public void setCameraId(@Nullable String cameraIdName, CameraPreviewHandler callback) {
+    cameraId = cameraIdName;
+    if (isInitialized()) {
+      exchangeCameraAsync(callback);
+    }
+  }
+
+  public void setCameraLens(@Nullable String cameraLensName, CameraPreviewHandler callback) {
+    cameraLens = cameraLensName != null ? CameraCatalog.Lens.fromString(cameraLensName) : null;
+    if (isInitialized()) {
+      exchangeCameraAsync(callback);
     }
   }
 
@@ -434,17 +1834,26 @@ public class IVSBroadcastSessionService {
   }
 
   public void setIsMuted(boolean isMuted) {
+    // Kept for the microphones swapped in later.
+    isMicrophoneMuted = isMuted;
     if (isInitialized()) {
       muteAsync(isMuted);
-    } else {
-      isInitialMuted = isMuted;
+    }
+  }
+
+  public void setAudioInput(@Nullable String audioInputName) {
+    audioInput = audioInputName != null ? AudioInputPolicy.Input.fromString(audioInputName) : null;
+    if (isInitialized()) {
+      updateAudioDeviceCallbackRegistration();
+      updateAudioInput();
     }
   }
 
   public void setSessionLogLevel(String sessionLogLevelName) {
     BroadcastConfiguration.LogLevel sessionLogLevel = getLogLevel(sessionLogLevelName);
-    if (isInitialized()) {
-      broadcastSession.setLogLevel(sessionLogLevel);
+    BroadcastSession session = sessionStateMachine.getSnapshot().session;
+    if (session != null) {
+      session.setLogLevel(sessionLogLevel);
     } else {
       initialSessionLogLevel = sessionLogLevel;
     }
@@ -459,16 +1868,93 @@ public class IVSBroadcastSessionService {
 
   public void setConfigurationPreset(String configurationPreset) {
     config = getConfigurationPreset(configurationPreset);
+    // Probed against the previous bitrate bounds.
+    probedBitrates = null;
   }
 
   public void setVideoConfig(ReadableMap videoConfig) {
     customVideoConfig = videoConfig;
+    // Probed against the previous bitrate bounds.
+    probedBitrates = null;
   }
 
   public void setAudioConfig(ReadableMap audioConfig) {
     customAudioConfig = audioConfig;
   }
 
+  public void setAudioProcessing(@Nullable ReadableMap audioProcessing) {
+    // Enabling or disabling takes effect on the next session, the parameters apply right away.
+    AudioDspChain.Config processingConfig = AudioDspChain.Config.fromMap(audioProcessing);
+    audioProcessingConfig = processingConfig;
+    ProcessedMicrophone microphone = processedMicrophone;
+    if (microphone != null && processingConfig != null) {
+      microphone.setConfig(processingConfig);
+    }
+  }
+
+  public void setIsNetworkHandoffEnabled(boolean isEnabled) {
+    isNetworkHandoffEnabled = isEnabled;
+    updateNetworkMonitorRegistration();
+  }
+
+  public void setPinchZoom(@Nullable ReadableMap pinchZoomConfig) {
+    isPinchZoomEnabled = pinchZoomConfig != null
+      && pinchZoomConfig.hasKey("isEnabled")
+      && pinchZoomConfig.getBoolean("isEnabled");
+    float minZoom = pinchZoomConfig != null && pinchZoomConfig.hasKey("minZoom")
+      ? (float) pinchZoomConfig.getDouble("minZoom")
+      : CameraZoom.MIN_ZOOM;
+    float maxZoom = pinchZoomConfig != null && pinchZoomConfig.hasKey("maxZoom")
+      ? (float) pinchZoomConfig.getDouble("maxZoom")
+      : CameraZoom.DEFAULT_MAX_ZOOM;
+
+    if (cameraZoom.setLimits(minZoom, maxZoom)) {
+      applyCameraZoom();
+      settleCameraZoom();
+    }
+  }
+
+  /**
+   * @param onClampable re-creates the session, called if it has been created before the encoder
+   * profile was loaded.
+   */
+  public void setIsVideoConfigClamped(boolean isClamped, @Nullable Runnable onClampable) {
+    isVideoConfigClamped = isClamped;
+    onVideoConfigClampable = onClampable;
+    if (isClamped) {
+      // Loading the profile might query the codec list, keep it off the session initialization.
+      EncoderProfiler.prefetch(mReactContext, null);
+    }
+  }
+
+  public void setLatencyProbeConfig(@Nullable ReadableMap latencyProbeConfig) {
+    latencyProbe.setConfig(LatencyProbe.Config.fromMap(latencyProbeConfig));
+  }
+
+  public void setHealthMonitorConfig(@Nullable ReadableMap healthMonitorConfig) {
+    healthMonitor.setConfig(BroadcastHealthMonitor.Config.fromMap(healthMonitorConfig));
+  }
+
+  public void setResourceProfilerConfig(@Nullable ReadableMap resourceProfilerConfig) {
+    ResourceProfiler.Config profilerConfig = ResourceProfiler.Config.fromMap(resourceProfilerConfig);
+    resourceProfiler.setConfig(profilerConfig);
+    // Enabled while connected, the profile covers the rest of the connection.
+    if (profilerConfig.isEnabled && sessionState == BroadcastSession.State.CONNECTED) {
+      resourceProfiler.start();
+    }
+  }
+
+  public void setVoiceActivityConfig(@Nullable ReadableMap voiceActivityConfig) {
+    voiceActivityDetector.setConfig(VoiceActivityDetector.Config.fromMap(voiceActivityConfig));
+  }
+
+  /**
+   * @param events the events to dispatch, or {@code null} to dispatch all of them.
+   */
+  public void setSubscribedEvents(@Nullable Set<Events> events) {
+    subscribedEvents = events;
+  }
+
   public void setEventHandler(RunnableCallback handler) {
     broadcastEventHandler = handler;
   }
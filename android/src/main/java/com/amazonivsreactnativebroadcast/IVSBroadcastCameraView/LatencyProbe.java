@@ -0,0 +1,169 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.ReadableMap;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+@FunctionalInterface
+interface LatencyProbeSender {
+  // The payload is created once the timed metadata is sent, so it carries the timestamps of then.
+  void send(TimedMetadataScheduler.ContentsFactory payload);
+}
+
+/**
+ * Periodically injects timestamped timed metadata while the session is connected, and measures
+ * glass-to-glass latency once the same packet is observed by a player.
+ *
+ * The probe carries the monotonic capture timestamp which is only comparable on the broadcasting
+ * device (e.g. the broadcaster watching its own stream), as well as the wall clock timestamp for
+ * players running on other devices with a synchronized clock. Both are taken when the probe is
+ * handed to the session, not when it is queued behind the timed metadata rate limit.
+ */
+public class LatencyProbe {
+  public static final String PAYLOAD_TYPE = "latencyProbe";
+  public static final long DEFAULT_INTERVAL_MILLIS = 5000;
+
+  private static final long[] HISTOGRAM_BOUNDS = {
+    250, 500, 750, 1000, 1500, 2000, 2500, 3000, 4000, 5000, 7500, 10000, 15000, 20000
+  };
+
+  public static final class Config {
+    public final boolean isEnabled;
+    public final long intervalMillis;
+
+    public Config(boolean isEnabled, long intervalMillis) {
+      this.isEnabled = isEnabled;
+      this.intervalMillis = intervalMillis;
+    }
+
+    public static Config fromMap(@Nullable ReadableMap config) {
+      boolean isEnabled = config != null
+        && config.hasKey("isEnabled")
+        && config.getBoolean("isEnabled");
+      long intervalMillis = config != null && config.hasKey("interval")
+        ? (long) config.getDouble("interval")
+        : DEFAULT_INTERVAL_MILLIS;
+      return new Config(isEnabled, intervalMillis);
+    }
+  }
+
+  private final Clock clock;
+  private final Clock wallClock;
+  private final Timer timer;
+  private final LatencyProbeSender sender;
+  private final Histogram histogram = new Histogram(HISTOGRAM_BOUNDS);
+
+  private volatile boolean isEnabled = false;
+  private volatile long intervalMillis = DEFAULT_INTERVAL_MILLIS;
+  private volatile String sessionId;
+  private long sequence = 0;
+
+  private final Runnable probeTask = new Runnable() {
+    @Override
+    public void run() {
+      String currentSessionId = sessionId;
+      if (!isEnabled || currentSessionId == null) return;
+
+      long currentSequence = sequence++;
+      sender.send(() -> createPayload(currentSessionId, currentSequence));
+      timer.schedule(this, intervalMillis);
+    }
+  };
+
+  /**
+   * @param clock     monotonic clock, e.g. the elapsed realtime.
+   * @param wallClock wall clock in milliseconds since the epoch.
+   */
+  public LatencyProbe(
+    Clock clock,
+    Clock wallClock,
+    Timer timer,
+    LatencyProbeSender sender
+  ) {
+    this.clock = clock;
+    this.wallClock = wallClock;
+    this.timer = timer;
+    this.sender = sender;
+  }
+
+  private String createPayload(String sessionId, long sequence) {
+    try {
+      JSONObject payload = new JSONObject();
+      payload.put("type", PAYLOAD_TYPE);
+      payload.put("sessionId", sessionId);
+      payload.put("sequence", sequence);
+      payload.put("captureTimestamp", clock.now());
+      payload.put("wallClockTimestamp", wallClock.now());
+      return payload.toString();
+    } catch (JSONException error) {
+      throw new RuntimeException(error);
+    }
+  }
+
+  /**
+   * Computes latency of the probe observed on the player side.
+   *
+   * @return latency in milliseconds, or {@code null} if the payload is not a latency probe.
+   */
+  @Nullable
+  private Long computeLatency(@NonNull String payload, @Nullable String localSessionId) {
+    JSONObject probe;
+    try {
+      probe = new JSONObject(payload);
+    } catch (JSONException error) {
+      return null;
+    }
+    if (!PAYLOAD_TYPE.equals(probe.optString("type"))) return null;
+
+    // The monotonic clock is only meaningful within the process that has produced the probe.
+    if (localSessionId != null && localSessionId.equals(probe.optString("sessionId"))) {
+      return clock.now() - probe.optLong("captureTimestamp");
+    }
+    return wallClock.now() - probe.optLong("wallClockTimestamp");
+  }
+
+  public void setConfig(Config config) {
+    this.isEnabled = config.isEnabled;
+    this.intervalMillis = config.intervalMillis > 0 ? config.intervalMillis : DEFAULT_INTERVAL_MILLIS;
+    timer.cancel(probeTask);
+    if (isEnabled && sessionId != null) {
+      timer.schedule(probeTask, 0);
+    }
+  }
+
+  /**
+   * Starts probing the connected session if the probe is enabled.
+   */
+  public void start(@NonNull String sessionId) {
+    this.sessionId = sessionId;
+    timer.cancel(probeTask);
+    if (isEnabled) {
+      timer.schedule(probeTask, 0);
+    }
+  }
+
+  public void stop() {
+    sessionId = null;
+    timer.cancel(probeTask);
+  }
+
+  /**
+   * @return latency in milliseconds, or {@code null} if the payload is not a latency probe.
+   */
+  @Nullable
+  public Long observe(@NonNull String payload) {
+    Long latency = computeLatency(payload, sessionId);
+    if (latency != null) {
+      histogram.record(latency);
+    }
+    return latency;
+  }
+
+  public Histogram.Snapshot getHistogramSnapshot() {
+    return histogram.getSnapshot();
+  }
+}
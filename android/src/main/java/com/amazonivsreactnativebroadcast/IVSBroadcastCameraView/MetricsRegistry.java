@@ -0,0 +1,117 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Named counters, gauges and fixed-bucket histograms. Recording is lock-free, a metric is
+ * registered on its first lookup and keeps its identity afterwards, so callers may hold on to it.
+ */
+public final class MetricsRegistry {
+  public static final class Counter {
+    private final AtomicLong value = new AtomicLong();
+
+    public void increment() {
+      value.incrementAndGet();
+    }
+
+    public void add(long delta) {
+      value.addAndGet(delta);
+    }
+
+    public long get() {
+      return value.get();
+    }
+  }
+
+  public static final class Gauge {
+    private final AtomicLong value = new AtomicLong();
+
+    public void set(long newValue) {
+      value.set(newValue);
+    }
+
+    public void add(long delta) {
+      value.addAndGet(delta);
+    }
+
+    public long get() {
+      return value.get();
+    }
+  }
+
+  public static final class Snapshot {
+    public final Map<String, Long> counters;
+    public final Map<String, Long> gauges;
+    public final Map<String, Histogram.Snapshot> histograms;
+
+    Snapshot(Map<String, Long> counters, Map<String, Long> gauges, Map<String, Histogram.Snapshot> histograms) {
+      this.counters = Collections.unmodifiableMap(counters);
+      this.gauges = Collections.unmodifiableMap(gauges);
+      this.histograms = Collections.unmodifiableMap(histograms);
+    }
+  }
+
+  private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<String, Gauge> gauges = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+  public Counter counter(String name) {
+    Counter counter = counters.get(name);
+    if (counter != null) return counter;
+
+    Counter newCounter = new Counter();
+    counter = counters.putIfAbsent(name, newCounter);
+    return counter != null ? counter : newCounter;
+  }
+
+  public Gauge gauge(String name) {
+    Gauge gauge = gauges.get(name);
+    if (gauge != null) return gauge;
+
+    Gauge newGauge = new Gauge();
+    gauge = gauges.putIfAbsent(name, newGauge);
+    return gauge != null ? gauge : newGauge;
+  }
+
+  /**
+   * @param bounds bucket upper bounds, only used when the histogram is registered.
+   */
+  public Histogram histogram(String name, long... bounds) {
+    Histogram histogram = histograms.get(name);
+    if (histogram != null) return histogram;
+
+    Histogram newHistogram = new Histogram(bounds);
+    histogram = histograms.putIfAbsent(name, newHistogram);
+    return histogram != null ? histogram : newHistogram;
+  }
+
+  /**
+   * Metrics which have not recorded anything are left out to keep the snapshot compact. The names
+   * are sorted.
+   */
+  public Snapshot getSnapshot() {
+    Map<String, Long> countersSnapshot = new TreeMap<>();
+    for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+      long value = entry.getValue().get();
+      if (value != 0) {
+        countersSnapshot.put(entry.getKey(), value);
+      }
+    }
+    Map<String, Long> gaugesSnapshot = new TreeMap<>();
+    for (Map.Entry<String, Gauge> entry : gauges.entrySet()) {
+      gaugesSnapshot.put(entry.getKey(), entry.getValue().get());
+    }
+    Map<String, Histogram.Snapshot> histogramsSnapshot = new TreeMap<>();
+    for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+      Histogram.Snapshot snapshot = entry.getValue().getSnapshot();
+      if (snapshot.count != 0) {
+        histogramsSnapshot.put(entry.getKey(), snapshot);
+      }
+    }
+    return new Snapshot(countersSnapshot, gaugesSnapshot, histogramsSnapshot);
+  }
+}
@@ -0,0 +1,97 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+import android.os.Build;
+import android.os.Handler;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Follows the default network of the app, e.g. the move from Wi-Fi to cellular, so the broadcast
+ * can be restarted on the new network instead of waiting for the connection on the old one to time
+ * out.
+ */
+class NetworkMonitor {
+  static final String TYPE_WIFI = "wifi";
+  static final String TYPE_CELLULAR = "cellular";
+  static final String TYPE_ETHERNET = "ethernet";
+  static final String TYPE_UNKNOWN = "unknown";
+
+  @FunctionalInterface
+  interface Listener {
+    void onDefaultNetworkChanged(@NonNull String previousNetworkType, @NonNull String networkType);
+  }
+
+  private final ConnectivityManager connectivityManager;
+  private final Handler handler;
+  private final Listener listener;
+
+  // Touched on the handler thread only.
+  @Nullable
+  private Network defaultNetwork;
+  private String defaultNetworkType = TYPE_UNKNOWN;
+  private boolean isRegistered = false;
+
+  private final ConnectivityManager.NetworkCallback networkCallback = new ConnectivityManager.NetworkCallback() {
+    @Override
+    public void onAvailable(@NonNull Network network) {
+      handler.post(() -> onDefaultNetworkAvailable(network));
+    }
+  };
+
+  NetworkMonitor(@NonNull ConnectivityManager connectivityManager, @NonNull Handler handler, @NonNull Listener listener) {
+    this.connectivityManager = connectivityManager;
+    this.handler = handler;
+    this.listener = listener;
+  }
+
+  private String getNetworkType(@NonNull Network network) {
+    NetworkCapabilities capabilities = connectivityManager.getNetworkCapabilities(network);
+    if (capabilities == null) return TYPE_UNKNOWN;
+    if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_WIFI)) return TYPE_WIFI;
+    if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_CELLULAR)) return TYPE_CELLULAR;
+    if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_ETHERNET)) return TYPE_ETHERNET;
+    return TYPE_UNKNOWN;
+  }
+
+  private void onDefaultNetworkAvailable(@NonNull Network network) {
+    if (!isRegistered) return;
+
+    Network previousNetwork = defaultNetwork;
+    String previousNetworkType = defaultNetworkType;
+    defaultNetwork = network;
+    defaultNetworkType = getNetworkType(network);
+    // The network available on registration is the initial one. A lost network is kept as the
+    // previous one, the connection on it is gone either way.
+    if (previousNetwork != null && !previousNetwork.equals(network)) {
+      listener.onDefaultNetworkChanged(previousNetworkType, defaultNetworkType);
+    }
+  }
+
+  @NonNull
+  String getDefaultNetworkType() {
+    return defaultNetworkType;
+  }
+
+  /**
+   * Does nothing below Android 7, the default network can not be followed there.
+   */
+  void start() {
+    if (isRegistered || Build.VERSION.SDK_INT < Build.VERSION_CODES.N) return;
+
+    connectivityManager.registerDefaultNetworkCallback(networkCallback);
+    isRegistered = true;
+  }
+
+  void stop() {
+    if (!isRegistered) return;
+
+    connectivityManager.unregisterNetworkCallback(networkCallback);
+    isRegistered = false;
+    defaultNetwork = null;
+    defaultNetworkType = TYPE_UNKNOWN;
+  }
+}
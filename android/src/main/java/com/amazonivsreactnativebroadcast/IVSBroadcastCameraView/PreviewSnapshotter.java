@@ -0,0 +1,238 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.net.Uri;
+import android.os.Build;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.PixelCopy;
+import android.view.SurfaceView;
+import android.view.TextureView;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.WritableMap;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Captures the current frame of the camera preview into a file.
+ *
+ * The frame is copied straight into a pooled bitmap of the requested size, so the scaling is done
+ * by the platform copy and no intermediate full size bitmap is allocated. Encoding and writing the
+ * file happen on a dedicated background thread. A {@link SurfaceView} preview is copied on that
+ * thread too, a {@link TextureView} preview can only be read back on the UI thread, which it blocks
+ * for the capture duration. Only the latest snapshots are kept, the older files
+ * are deleted before a new one is written.
+ */
+class PreviewSnapshotter {
+  static final String E_PREVIEW_UNAVAILABLE = "E_PREVIEW_UNAVAILABLE";
+  static final String E_SNAPSHOT_FAILED = "E_SNAPSHOT_FAILED";
+
+  private static final String SNAPSHOTS_DIRECTORY_NAME = "ivs-snapshots";
+  private static final int BITMAP_POOL_SIZE = 2;
+  private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+  static final int MAX_SNAPSHOTS = 10;
+
+  enum Format {
+    JPEG("jpeg", "jpg"),
+    PNG("png", "png"),
+    WEBP("webp", "webp");
+
+    private final String title;
+    private final String extension;
+
+    Format(String title, String extension) {
+      this.title = title;
+      this.extension = extension;
+    }
+
+    // Resolved on use, WEBP_LOSSY does not exist before Android 11.
+    @SuppressWarnings("deprecation")
+    Bitmap.CompressFormat getCompressFormat() {
+      switch (this) {
+        case JPEG: {
+          return Bitmap.CompressFormat.JPEG;
+        }
+        case PNG: {
+          return Bitmap.CompressFormat.PNG;
+        }
+        default: {
+          return Build.VERSION.SDK_INT >= Build.VERSION_CODES.R
+            ? Bitmap.CompressFormat.WEBP_LOSSY
+            : Bitmap.CompressFormat.WEBP;
+        }
+      }
+    }
+
+    static Format fromString(String formatName) {
+      for (Format format : values()) {
+        if (format.title.equals(formatName)) {
+          return format;
+        }
+      }
+      throw new RuntimeException("Does not support snapshot format: " + formatName);
+    }
+
+    @Override
+    public String toString() {
+      return title;
+    }
+  }
+
+  private final Context context;
+  private final Handler mainThreadHandler = new Handler(Looper.getMainLooper());
+  private final BitmapPool bitmapPool = new BitmapPool(BITMAP_POOL_SIZE);
+  private HandlerThread workerThread;
+  private Handler workerHandler;
+  private boolean isReleased = false;
+
+  PreviewSnapshotter(@NonNull Context context) {
+    this.context = context;
+  }
+
+  @Nullable
+  private static View findPreviewSurface(@NonNull View view) {
+    if (view instanceof TextureView || view instanceof SurfaceView) {
+      return view;
+    }
+    if (view instanceof ViewGroup) {
+      ViewGroup viewGroup = (ViewGroup) view;
+      for (int i = 0; i < viewGroup.getChildCount(); i++) {
+        View surface = findPreviewSurface(viewGroup.getChildAt(i));
+        if (surface != null) {
+          return surface;
+        }
+      }
+    }
+    return null;
+  }
+
+  // Not created again once released, a capture queued before the release has nothing to run on.
+  @Nullable
+  private synchronized Handler getWorkerHandler() {
+    if (isReleased) return null;
+
+    if (workerHandler == null) {
+      workerThread = new HandlerThread("IVSPreviewSnapshot");
+      workerThread.start();
+      workerHandler = new Handler(workerThread.getLooper());
+    }
+    return workerHandler;
+  }
+
+  // Leaves room for one more snapshot, the oldest ones go first.
+  private static void pruneSnapshots(@NonNull File directory) {
+    File[] files = directory.listFiles();
+    if (files == null || files.length < MAX_SNAPSHOTS) return;
+
+    Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+    for (int i = 0; i <= files.length - MAX_SNAPSHOTS; i++) {
+      // A snapshot which can not be deleted is left for the system to evict with the cache.
+      files[i].delete();
+    }
+  }
+
+  private File createOutputFile(Format format) throws IOException {
+    File directory = new File(context.getCacheDir(), SNAPSHOTS_DIRECTORY_NAME);
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      throw new IOException("Unable to create directory: " + directory);
+    }
+    pruneSnapshots(directory);
+    return new File(directory, "snapshot-" + SystemClock.elapsedRealtimeNanos() + "." + format.extension);
+  }
+
+  private void encode(Bitmap bitmap, Format format, int quality, long captureDuration, Promise promise) {
+    long startedAt = SystemClock.elapsedRealtime();
+    try {
+      File file = createOutputFile(format);
+      try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(file), OUTPUT_BUFFER_SIZE)) {
+        if (!bitmap.compress(format.getCompressFormat(), quality, outputStream)) {
+          throw new IOException("Unable to encode snapshot as " + format + ".");
+        }
+      }
+
+      WritableMap result = Arguments.createMap();
+      result.putString("uri", Uri.fromFile(file).toString());
+      result.putInt("width", bitmap.getWidth());
+      result.putInt("height", bitmap.getHeight());
+      result.putString("format", format.toString());
+      result.putDouble("captureDuration", captureDuration);
+      result.putDouble("encodeDuration", SystemClock.elapsedRealtime() - startedAt);
+      promise.resolve(result);
+    } catch (IOException error) {
+      promise.reject(E_SNAPSHOT_FAILED, error);
+    } finally {
+      bitmapPool.release(bitmap);
+    }
+  }
+
+  /**
+   * @param maxWidth width limit of the snapshot, the preview width is used when not positive.
+   * @param quality  compression quality in the range of 0..100, ignored by lossless formats.
+   */
+  void capture(@NonNull View root, int maxWidth, @NonNull Format format, int quality, @NonNull Promise promise) {
+    mainThreadHandler.post(() -> {
+      Handler handler = getWorkerHandler();
+      if (handler == null) {
+        promise.reject(E_PREVIEW_UNAVAILABLE, "Camera preview has been released.");
+        return;
+      }
+
+      View surface = findPreviewSurface(root);
+      if (surface == null || surface.getWidth() == 0 || surface.getHeight() == 0) {
+        promise.reject(E_PREVIEW_UNAVAILABLE, "Camera preview is not available.");
+        return;
+      }
+
+      int width = maxWidth > 0 ? Math.min(maxWidth, surface.getWidth()) : surface.getWidth();
+      int height = Math.max(1, Math.round((float) surface.getHeight() * width / surface.getWidth()));
+      Bitmap bitmap = bitmapPool.acquire(width, height);
+      long startedAt = SystemClock.elapsedRealtime();
+
+      if (surface instanceof TextureView) {
+        // Draws the current frame scaled to the bitmap size without allocating a new bitmap. The
+        // texture can only be read on the UI thread, a copy of the producer buffer would not have
+        // the transform of the view applied.
+        ((TextureView) surface).getBitmap(bitmap);
+        long captureDuration = SystemClock.elapsedRealtime() - startedAt;
+        handler.post(() -> encode(bitmap, format, quality, captureDuration, promise));
+      } else if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+        PixelCopy.request((SurfaceView) surface, bitmap, copyResult -> {
+          if (copyResult == PixelCopy.SUCCESS) {
+            encode(bitmap, format, quality, SystemClock.elapsedRealtime() - startedAt, promise);
+          } else {
+            bitmapPool.release(bitmap);
+            promise.reject(E_SNAPSHOT_FAILED, "Unable to copy the preview frame, error: " + copyResult);
+          }
+        }, handler);
+      } else {
+        bitmapPool.release(bitmap);
+        promise.reject(E_PREVIEW_UNAVAILABLE, "Preview snapshots require Android 7.0 or newer.");
+      }
+    });
+  }
+
+  synchronized void release() {
+    isReleased = true;
+    if (workerThread != null) {
+      workerThread.quitSafely();
+      workerThread = null;
+      workerHandler = null;
+    }
+    bitmapPool.clear();
+  }
+}
@@ -0,0 +1,65 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import android.os.Debug;
+import android.os.Process;
+
+import java.io.File;
+
+/**
+ * Reads the resource usage of the app process. Every value is a cheap read, nothing is parsed
+ * beyond the GC counters and the thread count is the entry count of the task directory.
+ */
+class ProcessResources implements ResourceProfiler.Source {
+  private static final String GC_COUNT_STAT = "art.gc.gc-count";
+  private static final String BLOCKING_GC_COUNT_STAT = "art.gc.blocking-gc-count";
+
+  private final File taskDirectory = new File("/proc/self/task");
+  private final Runtime runtime = Runtime.getRuntime();
+
+  private static long getRuntimeStat(String name) {
+    String value = Debug.getRuntimeStat(name);
+    if (value == null) return -1;
+
+    try {
+      return Long.parseLong(value);
+    } catch (NumberFormatException error) {
+      return -1;
+    }
+  }
+
+  @Override
+  public long getProcessCpuTimeMillis() {
+    return Process.getElapsedCpuTime();
+  }
+
+  @Override
+  public long getJavaHeapBytes() {
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  @Override
+  public long getNativeHeapBytes() {
+    return Debug.getNativeHeapAllocatedSize();
+  }
+
+  @Override
+  public long getGcCount() {
+    return getRuntimeStat(GC_COUNT_STAT);
+  }
+
+  @Override
+  public long getBlockingGcCount() {
+    return getRuntimeStat(BLOCKING_GC_COUNT_STAT);
+  }
+
+  @Override
+  public int getThreadCount() {
+    String[] tasks = taskDirectory.list();
+    return tasks != null ? tasks.length : Thread.activeCount();
+  }
+
+  @Override
+  public long getThreadCpuTimeNanos() {
+    return Debug.threadCpuTimeNanos();
+  }
+}
@@ -0,0 +1,209 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import android.media.AudioDeviceInfo;
+import android.media.AudioFormat;
+import android.media.AudioRecord;
+import android.media.MediaRecorder;
+import android.os.Debug;
+import android.os.Process;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.amazonaws.ivs.broadcast.AudioDevice;
+import com.amazonaws.ivs.broadcast.BroadcastConfiguration;
+import com.amazonaws.ivs.broadcast.BroadcastSession;
+import com.amazonaws.ivs.broadcast.Device;
+import com.amazonaws.ivs.broadcast.Mixer;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records the microphone, runs the PCM through the DSP chain and feeds it to a custom audio source
+ * bound to the microphone slot of the mixer. The microphone of the SDK does not expose its PCM, so
+ * it is not attached while the processing is enabled and the recording is routed to the preferred
+ * input instead.
+ *
+ * The buffers are allocated upfront and reused, the recording thread allocates nothing per buffer.
+ */
+class ProcessedMicrophone {
+  static final int SAMPLE_RATE = 48000;
+  static final int BUFFER_DURATION_MILLIS = 10;
+  private static final long[] CPU_TIME_BOUNDS_MICROS = {10, 25, 50, 100, 250, 500, 1000, 2500, 5000};
+  private static final long STOP_TIMEOUT_MILLIS = 500;
+
+  /**
+   * Called on the recording thread once the recording has failed, the thread is done by then.
+   */
+  @FunctionalInterface
+  interface ErrorListener {
+    // One of the AudioRecord error codes.
+    void onError(int code);
+  }
+
+  private final BroadcastSession session;
+  private final AudioDspChain chain;
+  private final AudioRecord audioRecord;
+  private final AudioDevice audioSource;
+  private final ErrorListener errorListener;
+  private final short[] samples;
+  private final ByteBuffer byteBuffer;
+  private final ShortBuffer shortBuffer;
+  private final Histogram cpuTime = new Histogram(CPU_TIME_BOUNDS_MICROS);
+  private final AtomicLong processedBuffers = new AtomicLong();
+  private final Thread thread;
+  private volatile boolean isRunning = true;
+
+  private ProcessedMicrophone(
+    @NonNull BroadcastSession session,
+    @NonNull AudioDspChain chain,
+    @NonNull AudioRecord audioRecord,
+    @NonNull AudioDevice audioSource,
+    @NonNull ErrorListener errorListener,
+    int bufferSamples
+  ) {
+    this.session = session;
+    this.chain = chain;
+    this.audioRecord = audioRecord;
+    this.audioSource = audioSource;
+    this.errorListener = errorListener;
+    samples = new short[bufferSamples];
+    byteBuffer = ByteBuffer.allocateDirect(bufferSamples * 2).order(ByteOrder.nativeOrder());
+    shortBuffer = byteBuffer.asShortBuffer();
+    thread = new Thread(this::run, "IVSAudioProcessing");
+  }
+
+  /**
+   * @param preferredDevice input to record, {@code null} for the system default.
+   * @throws RuntimeException if the microphone can not be recorded.
+   */
+  static ProcessedMicrophone start(
+    @NonNull BroadcastSession session,
+    int channels,
+    @NonNull AudioDspChain.Config config,
+    boolean isMuted,
+    @Nullable AudioDeviceInfo preferredDevice,
+    @NonNull ErrorListener errorListener
+  ) {
+    AudioDspChain chain = new AudioDspChain(SAMPLE_RATE, channels, config, isMuted);
+    int channelMask = channels == 2 ? AudioFormat.CHANNEL_IN_STEREO : AudioFormat.CHANNEL_IN_MONO;
+    int bufferSamples = SAMPLE_RATE * BUFFER_DURATION_MILLIS / 1000 * channels;
+    int minBufferSize = AudioRecord.getMinBufferSize(SAMPLE_RATE, channelMask, AudioFormat.ENCODING_PCM_16BIT);
+    if (minBufferSize <= 0) {
+      throw new RuntimeException("Does not support microphone recording with audio channels: " + channels);
+    }
+
+    AudioRecord audioRecord = new AudioRecord(
+      MediaRecorder.AudioSource.MIC,
+      SAMPLE_RATE,
+      channelMask,
+      AudioFormat.ENCODING_PCM_16BIT,
+      Math.max(minBufferSize, bufferSamples * 2 * 2)
+    );
+    if (audioRecord.getState() != AudioRecord.STATE_INITIALIZED) {
+      audioRecord.release();
+      throw new RuntimeException("Microphone could not be opened for the audio processing.");
+    }
+    audioRecord.setPreferredDevice(preferredDevice);
+
+    AudioDevice audioSource = session.createAudioInputSource(
+      channels,
+      BroadcastConfiguration.AudioSampleRate.RATE_48000,
+      AudioDevice.Format.INT16
+    );
+    Mixer mixer = session.getMixer();
+    for (BroadcastConfiguration.Mixer.Slot slot : mixer.getSlots()) {
+      if (slot.getPreferredAudioInput() == Device.Descriptor.DeviceType.MICROPHONE) {
+        mixer.bind(audioSource, slot.getName());
+        break;
+      }
+    }
+
+    ProcessedMicrophone microphone = new ProcessedMicrophone(session, chain, audioRecord, audioSource, errorListener, bufferSamples);
+    try {
+      audioRecord.startRecording();
+    } catch (IllegalStateException error) {
+      microphone.release();
+      throw new RuntimeException("Microphone could not be started for the audio processing.", error);
+    }
+    microphone.thread.start();
+    return microphone;
+  }
+
+  private void run() {
+    Process.setThreadPriority(Process.THREAD_PRIORITY_URGENT_AUDIO);
+    while (isRunning) {
+      int read = audioRecord.read(samples, 0, samples.length);
+      if (read < 0) {
+        // The recording does not recover from an error, e.g. a dead object once the audio server
+        // has restarted. Stopping reads no samples, so only a failure of a running one is reported.
+        if (isRunning) {
+          isRunning = false;
+          errorListener.onError(read);
+        }
+        return;
+      }
+      if (read == 0) continue;
+
+      long startCpuTime = Debug.threadCpuTimeNanos();
+      chain.process(samples, read);
+      cpuTime.record((Debug.threadCpuTimeNanos() - startCpuTime) / 1000);
+
+      shortBuffer.clear();
+      shortBuffer.put(samples, 0, read);
+      byteBuffer.clear();
+      audioSource.appendBuffer(byteBuffer, read * 2L, System.nanoTime() / 1000);
+      processedBuffers.incrementAndGet();
+    }
+  }
+
+  private void release() {
+    audioRecord.release();
+    session.getMixer().unbind(audioSource);
+    session.detachDevice(audioSource);
+  }
+
+  /**
+   * Routes the recording to the input, {@code null} for the system default. The recording carries
+   * on from the new input without being restarted.
+   */
+  void setPreferredDevice(@Nullable AudioDeviceInfo preferredDevice) {
+    audioRecord.setPreferredDevice(preferredDevice);
+  }
+
+  void setConfig(@NonNull AudioDspChain.Config config) {
+    chain.setConfig(config);
+  }
+
+  void setMuted(boolean isMuted) {
+    chain.setMuted(isMuted);
+  }
+
+  WritableMap getStatisticsPayload() {
+    WritableMap statisticsPayload = Arguments.createMap();
+    statisticsPayload.putInt("channels", chain.getChannels());
+    statisticsPayload.putInt("bufferDuration", BUFFER_DURATION_MILLIS);
+    statisticsPayload.putDouble("processedBuffers", processedBuffers.get());
+    statisticsPayload.putMap("cpuTime", cpuTime.getSnapshot().toPayload());
+    return statisticsPayload;
+  }
+
+  /**
+   * Stops the recording and detaches the audio source, waiting for the buffer in flight.
+   */
+  void stop() {
+    isRunning = false;
+    audioRecord.stop();
+    try {
+      thread.join(STOP_TIMEOUT_MILLIS);
+    } catch (InterruptedException error) {
+      Thread.currentThread().interrupt();
+    }
+    release();
+  }
+}
@@ -0,0 +1,442 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+
+/**
+ * Samples the resource usage of the process while the broadcast is connected, so a degraded
+ * stream can be told apart as CPU, memory or network bound.
+ *
+ * Every sample is paired with the latest transmission statistics and folded into running
+ * aggregates and correlations, no samples are kept. The time spent sampling is measured and the
+ * interval is stretched whenever sampling would take more than the allowed share of the profile.
+ */
+public class ResourceProfiler {
+  public static final long DEFAULT_INTERVAL_MILLIS = 2000;
+  public static final double DEFAULT_MAX_OVERHEAD = 0.005;
+
+  static final long MIN_INTERVAL_MILLIS = 250;
+  static final long MAX_INTERVAL_MILLIS = 60000;
+
+  /**
+   * Reads the resource usage, the values are cumulative where noted.
+   */
+  public interface Source {
+    // Cumulative CPU time of the process.
+    long getProcessCpuTimeMillis();
+
+    long getJavaHeapBytes();
+
+    long getNativeHeapBytes();
+
+    // Cumulative, or a negative value when unknown.
+    long getGcCount();
+
+    // Cumulative, or a negative value when unknown.
+    long getBlockingGcCount();
+
+    int getThreadCount();
+
+    // Cumulative CPU time of the calling thread, used to measure the sampling cost.
+    long getThreadCpuTimeNanos();
+  }
+
+  @FunctionalInterface
+  public interface Listener {
+    void onSummary(Summary summary);
+  }
+
+  public static final class Config {
+    public final boolean isEnabled;
+    public final long intervalMillis;
+    public final double maxOverhead;
+
+    public Config(boolean isEnabled, long intervalMillis, double maxOverhead) {
+      this.isEnabled = isEnabled;
+      this.intervalMillis = intervalMillis;
+      this.maxOverhead = maxOverhead;
+    }
+
+    public static Config fromMap(@Nullable ReadableMap config) {
+      boolean isEnabled = config != null
+        && config.hasKey("isEnabled")
+        && config.getBoolean("isEnabled");
+      long intervalMillis = config != null && config.hasKey("interval")
+        ? (long) config.getDouble("interval")
+        : DEFAULT_INTERVAL_MILLIS;
+      double maxOverhead = config != null && config.hasKey("maxOverhead")
+        ? config.getDouble("maxOverhead")
+        : DEFAULT_MAX_OVERHEAD;
+      return new Config(isEnabled, intervalMillis, maxOverhead);
+    }
+  }
+
+  public static final class Metric {
+    public final double mean;
+    public final double min;
+    public final double max;
+
+    Metric(double mean, double min, double max) {
+      this.mean = mean;
+      this.min = min;
+      this.max = max;
+    }
+
+    public WritableMap toPayload() {
+      WritableMap metricPayload = Arguments.createMap();
+      metricPayload.putDouble("mean", mean);
+      metricPayload.putDouble("min", min);
+      metricPayload.putDouble("max", max);
+      return metricPayload;
+    }
+  }
+
+  public static final class Summary {
+    public final long duration;
+    public final long sampleCount;
+    public final long interval;
+    // Share of one core, may exceed 1 on multiple cores.
+    public final Metric cpuUsage;
+    public final Metric javaHeap;
+    public final Metric nativeHeap;
+    public final Metric threadCount;
+    // The garbage collections during the profile, negative when unknown.
+    public final long gcCount;
+    public final long blockingGcCount;
+    public final Metric measuredBitrate;
+    public final Metric roundTripTime;
+    // Pearson coefficients against the measured bitrate, NaN when they can not be computed.
+    public final double cpuUsageToBitrate;
+    public final double javaHeapToBitrate;
+    public final double gcToBitrate;
+    // CPU time spent sampling, in microseconds, and its share of the duration.
+    public final long overheadCpuTime;
+    public final double overhead;
+
+    Summary(
+      long duration,
+      long sampleCount,
+      long interval,
+      Metric cpuUsage,
+      Metric javaHeap,
+      Metric nativeHeap,
+      Metric threadCount,
+      long gcCount,
+      long blockingGcCount,
+      Metric measuredBitrate,
+      Metric roundTripTime,
+      double cpuUsageToBitrate,
+      double javaHeapToBitrate,
+      double gcToBitrate,
+      long overheadCpuTime,
+      double overhead
+    ) {
+      this.duration = duration;
+      this.sampleCount = sampleCount;
+      this.interval = interval;
+      this.cpuUsage = cpuUsage;
+      this.javaHeap = javaHeap;
+      this.nativeHeap = nativeHeap;
+      this.threadCount = threadCount;
+      this.gcCount = gcCount;
+      this.blockingGcCount = blockingGcCount;
+      this.measuredBitrate = measuredBitrate;
+      this.roundTripTime = roundTripTime;
+      this.cpuUsageToBitrate = cpuUsageToBitrate;
+      this.javaHeapToBitrate = javaHeapToBitrate;
+      this.gcToBitrate = gcToBitrate;
+      this.overheadCpuTime = overheadCpuTime;
+      this.overhead = overhead;
+    }
+
+    private static void putOptionalDouble(WritableMap map, String key, double value) {
+      if (Double.isNaN(value)) {
+        map.putNull(key);
+      } else {
+        map.putDouble(key, value);
+      }
+    }
+
+    public WritableMap toPayload() {
+      WritableMap correlations = Arguments.createMap();
+      putOptionalDouble(correlations, "cpuUsage", cpuUsageToBitrate);
+      putOptionalDouble(correlations, "javaHeap", javaHeapToBitrate);
+      putOptionalDouble(correlations, "gc", gcToBitrate);
+
+      WritableMap overheadPayload = Arguments.createMap();
+      overheadPayload.putDouble("cpuTime", overheadCpuTime);
+      overheadPayload.putDouble("ratio", overhead);
+
+      WritableMap profilePayload = Arguments.createMap();
+      profilePayload.putDouble("duration", duration);
+      profilePayload.putDouble("sampleCount", sampleCount);
+      profilePayload.putDouble("interval", interval);
+      profilePayload.putMap("cpuUsage", cpuUsage.toPayload());
+      profilePayload.putMap("javaHeap", javaHeap.toPayload());
+      profilePayload.putMap("nativeHeap", nativeHeap.toPayload());
+      profilePayload.putMap("threadCount", threadCount.toPayload());
+      putOptionalDouble(profilePayload, "gcCount", gcCount < 0 ? Double.NaN : gcCount);
+      putOptionalDouble(profilePayload, "blockingGcCount", blockingGcCount < 0 ? Double.NaN : blockingGcCount);
+      profilePayload.putMap("measuredBitrate", measuredBitrate.toPayload());
+      profilePayload.putMap("rtt", roundTripTime.toPayload());
+      profilePayload.putMap("correlations", correlations);
+      profilePayload.putMap("overhead", overheadPayload);
+      return profilePayload;
+    }
+  }
+
+  private static final class Aggregate {
+    long count = 0;
+    double sum = 0;
+    double min = Double.POSITIVE_INFINITY;
+    double max = Double.NEGATIVE_INFINITY;
+
+    void add(double value) {
+      count++;
+      sum += value;
+      min = Math.min(min, value);
+      max = Math.max(max, value);
+    }
+
+    Metric toMetric() {
+      return count == 0 ? new Metric(0, 0, 0) : new Metric(sum / count, min, max);
+    }
+  }
+
+  private static final class Correlation {
+    long count = 0;
+    double sumX = 0;
+    double sumY = 0;
+    double sumXX = 0;
+    double sumYY = 0;
+    double sumXY = 0;
+
+    void add(double x, double y) {
+      count++;
+      sumX += x;
+      sumY += y;
+      sumXX += x * x;
+      sumYY += y * y;
+      sumXY += x * y;
+    }
+
+    double get() {
+      if (count < 2) return Double.NaN;
+
+      double covariance = count * sumXY - sumX * sumY;
+      double varianceX = count * sumXX - sumX * sumX;
+      double varianceY = count * sumYY - sumY * sumY;
+      if (varianceX <= 0 || varianceY <= 0) return Double.NaN;
+
+      return covariance / Math.sqrt(varianceX * varianceY);
+    }
+  }
+
+  private final Source source;
+  private final Clock clock;
+  private final Timer timer;
+  private volatile Listener listener;
+
+  private boolean isEnabled = false;
+  private long intervalMillis = DEFAULT_INTERVAL_MILLIS;
+  private double maxOverhead = DEFAULT_MAX_OVERHEAD;
+
+  private boolean hasTransmissionStatistics = false;
+  private double measuredBitrate = 0;
+  private double roundTripTime = 0;
+
+  private boolean isRunning = false;
+  private long startTimestamp;
+  private long lastTimestamp;
+  private long lastProcessCpuTime;
+  private long firstGcCount;
+  private long lastGcCount;
+  private long firstBlockingGcCount;
+  private long lastBlockingGcCount;
+  private long currentIntervalMillis;
+  private long sampleCount;
+  private long overheadNanos;
+  private Aggregate cpuUsage;
+  private Aggregate javaHeap;
+  private Aggregate nativeHeap;
+  private Aggregate threadCount;
+  private Aggregate bitrate;
+  private Aggregate rtt;
+  private Correlation cpuUsageToBitrate;
+  private Correlation javaHeapToBitrate;
+  private Correlation gcToBitrate;
+
+  private final Runnable sampleTask = this::onSampleTask;
+
+  public ResourceProfiler(Source source, Clock clock, Timer timer) {
+    this.source = source;
+    this.clock = clock;
+    this.timer = timer;
+  }
+
+  private static long clampInterval(long intervalMillis) {
+    return Math.max(MIN_INTERVAL_MILLIS, Math.min(MAX_INTERVAL_MILLIS, intervalMillis));
+  }
+
+  /**
+   * A profile in progress is discarded when the profiler is disabled.
+   */
+  public synchronized void setConfig(Config config) {
+    this.isEnabled = config.isEnabled;
+    this.intervalMillis = clampInterval(config.intervalMillis);
+    this.maxOverhead = config.maxOverhead > 0 ? config.maxOverhead : DEFAULT_MAX_OVERHEAD;
+    if (!isEnabled && isRunning) {
+      timer.cancel(sampleTask);
+      isRunning = false;
+    }
+  }
+
+  public void setListener(Listener listener) {
+    this.listener = listener;
+  }
+
+  public synchronized boolean isRunning() {
+    return isRunning;
+  }
+
+  public synchronized void onTransmissionStatistics(double measuredBitrate, double roundTripTime) {
+    this.hasTransmissionStatistics = true;
+    this.measuredBitrate = measuredBitrate;
+    this.roundTripTime = roundTripTime;
+  }
+
+  /**
+   * Starts a profile, e.g. once the session is connected. Does nothing when disabled or running.
+   */
+  public synchronized void start() {
+    if (!isEnabled || isRunning) return;
+
+    long overheadStart = source.getThreadCpuTimeNanos();
+    isRunning = true;
+    startTimestamp = clock.now();
+    lastTimestamp = startTimestamp;
+    lastProcessCpuTime = source.getProcessCpuTimeMillis();
+    firstGcCount = source.getGcCount();
+    lastGcCount = firstGcCount;
+    firstBlockingGcCount = source.getBlockingGcCount();
+    lastBlockingGcCount = firstBlockingGcCount;
+    currentIntervalMillis = intervalMillis;
+    sampleCount = 0;
+    cpuUsage = new Aggregate();
+    javaHeap = new Aggregate();
+    nativeHeap = new Aggregate();
+    threadCount = new Aggregate();
+    bitrate = new Aggregate();
+    rtt = new Aggregate();
+    cpuUsageToBitrate = new Correlation();
+    javaHeapToBitrate = new Correlation();
+    gcToBitrate = new Correlation();
+    // The statistics of the previous connection do not describe this one.
+    hasTransmissionStatistics = false;
+    overheadNanos = source.getThreadCpuTimeNanos() - overheadStart;
+    timer.schedule(sampleTask, intervalMillis);
+  }
+
+  private synchronized void onSampleTask() {
+    if (!isRunning) return;
+
+    long cost = sample();
+    // Delays the next sample until the time spent sampling so far, the next sample included, is
+    // within the allowed share of the profile.
+    long boundedIntervalMillis = (long) Math.ceil((overheadNanos + cost) / 1e6 / maxOverhead)
+      - (lastTimestamp - startTimestamp);
+    currentIntervalMillis = Math.min(MAX_INTERVAL_MILLIS, Math.max(intervalMillis, boundedIntervalMillis));
+    timer.schedule(sampleTask, currentIntervalMillis);
+  }
+
+  // Returns the CPU time spent on the sample, in nanoseconds.
+  private long sample() {
+    long overheadStart = source.getThreadCpuTimeNanos();
+
+    long now = clock.now();
+    long elapsed = now - lastTimestamp;
+    if (elapsed <= 0) return 0;
+
+    long processCpuTime = source.getProcessCpuTimeMillis();
+    double currentCpuUsage = (double) (processCpuTime - lastProcessCpuTime) / elapsed;
+    long currentJavaHeap = source.getJavaHeapBytes();
+    long gcCount = source.getGcCount();
+    long blockingGcCount = source.getBlockingGcCount();
+    long gcDelta = gcCount >= 0 && lastGcCount >= 0 ? gcCount - lastGcCount : 0;
+
+    cpuUsage.add(currentCpuUsage);
+    javaHeap.add(currentJavaHeap);
+    nativeHeap.add(source.getNativeHeapBytes());
+    threadCount.add(source.getThreadCount());
+    if (hasTransmissionStatistics) {
+      bitrate.add(measuredBitrate);
+      rtt.add(roundTripTime);
+      cpuUsageToBitrate.add(currentCpuUsage, measuredBitrate);
+      javaHeapToBitrate.add(currentJavaHeap, measuredBitrate);
+      gcToBitrate.add(gcDelta, measuredBitrate);
+    }
+
+    sampleCount++;
+    lastTimestamp = now;
+    lastProcessCpuTime = processCpuTime;
+    lastGcCount = gcCount;
+    lastBlockingGcCount = blockingGcCount;
+
+    long cost = source.getThreadCpuTimeNanos() - overheadStart;
+    overheadNanos += cost;
+    return cost;
+  }
+
+  /**
+   * Takes a last sample and reports the summary, e.g. once the session has left the connected
+   * state. Does nothing when not running.
+   */
+  public void stop() {
+    Summary summary;
+    synchronized (this) {
+      if (!isRunning) return;
+
+      timer.cancel(sampleTask);
+      isRunning = false;
+      sample();
+
+      long duration = lastTimestamp - startTimestamp;
+      summary = new Summary(
+        duration,
+        sampleCount,
+        currentIntervalMillis,
+        cpuUsage.toMetric(),
+        javaHeap.toMetric(),
+        nativeHeap.toMetric(),
+        threadCount.toMetric(),
+        firstGcCount >= 0 && lastGcCount >= 0 ? lastGcCount - firstGcCount : -1,
+        firstBlockingGcCount >= 0 && lastBlockingGcCount >= 0 ? lastBlockingGcCount - firstBlockingGcCount : -1,
+        bitrate.toMetric(),
+        rtt.toMetric(),
+        cpuUsageToBitrate.get(),
+        javaHeapToBitrate.get(),
+        gcToBitrate.get(),
+        overheadNanos / 1000,
+        duration > 0 ? overheadNanos / 1e6 / duration : 0
+      );
+    }
+
+    Listener currentListener = listener;
+    if (currentListener != null) {
+      currentListener.onSummary(summary);
+    }
+  }
+
+  /**
+   * Discards a profile in progress without reporting, e.g. when the session is released.
+   */
+  public synchronized void reset() {
+    if (isRunning) {
+      timer.cancel(sampleTask);
+      isRunning = false;
+    }
+  }
+}
@@ -0,0 +1,213 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import android.hardware.display.DisplayManager;
+import android.hardware.display.VirtualDisplay;
+import android.media.projection.MediaProjection;
+import android.os.Handler;
+import android.util.DisplayMetrics;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.amazonaws.ivs.broadcast.BroadcastConfiguration;
+import com.amazonaws.ivs.broadcast.BroadcastSession;
+import com.amazonaws.ivs.broadcast.Device;
+import com.amazonaws.ivs.broadcast.Mixer;
+import com.amazonaws.ivs.broadcast.SurfaceSource;
+import com.facebook.react.bridge.ReadableMap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mirrors the screen into a custom image source of the session. The virtual display renders
+ * straight into the input surface of the source, so the frames are not copied on the way to the
+ * mixer. The camera slots are either hidden or shrunk into a picture-in-picture, the microphone
+ * stays attached.
+ */
+class ScreenCapture {
+  static final String E_PERMISSION_DENIED = "E_PERMISSION_DENIED";
+
+  static final String SCREEN_SLOT_NAME = "screen";
+  private static final String VIRTUAL_DISPLAY_NAME = "IVSScreenCapture";
+  private static final int SCREEN_Z_INDEX = 1;
+  private static final int CAMERA_PIP_Z_INDEX = 2;
+
+  static final class Options {
+    final boolean isCameraPipEnabled;
+    final ScreenCaptureLayout.Corner cameraPipCorner;
+    final float cameraPipScale;
+
+    Options(boolean isCameraPipEnabled, ScreenCaptureLayout.Corner cameraPipCorner, float cameraPipScale) {
+      this.isCameraPipEnabled = isCameraPipEnabled;
+      this.cameraPipCorner = cameraPipCorner;
+      this.cameraPipScale = cameraPipScale;
+    }
+
+    static Options fromMap(@Nullable ReadableMap options) {
+      boolean isCameraPipEnabled = options != null
+        && options.hasKey("isCameraPipEnabled")
+        && options.getBoolean("isCameraPipEnabled");
+      ScreenCaptureLayout.Corner cameraPipCorner = options != null && options.hasKey("cameraPipCorner")
+        ? ScreenCaptureLayout.Corner.fromString(options.getString("cameraPipCorner"))
+        : ScreenCaptureLayout.Corner.BOTTOM_RIGHT;
+      float cameraPipScale = options != null && options.hasKey("cameraPipScale")
+        ? (float) options.getDouble("cameraPipScale")
+        : ScreenCaptureLayout.DEFAULT_CAMERA_PIP_SCALE;
+      return new Options(isCameraPipEnabled, cameraPipCorner, cameraPipScale);
+    }
+  }
+
+  private final BroadcastSession session;
+  private final MediaProjection projection;
+  private final Handler handler;
+  private final Runnable onProjectionStopped;
+
+  private final List<BroadcastConfiguration.Mixer.Slot> cameraSlots = new ArrayList<>();
+  private SurfaceSource surfaceSource;
+  private VirtualDisplay virtualDisplay;
+  private boolean isScreenSlotAdded = false;
+  private boolean isStopped = false;
+
+  private final MediaProjection.Callback projectionCallback = new MediaProjection.Callback() {
+    @Override
+    public void onStop() {
+      // The projection has been revoked from the system UI.
+      if (!isStopped) {
+        onProjectionStopped.run();
+      }
+    }
+  };
+
+  ScreenCapture(
+    @NonNull BroadcastSession session,
+    @NonNull MediaProjection projection,
+    @NonNull Handler handler,
+    @NonNull Runnable onProjectionStopped
+  ) {
+    this.session = session;
+    this.projection = projection;
+    this.handler = handler;
+    this.onProjectionStopped = onProjectionStopped;
+  }
+
+  private static BroadcastConfiguration.Mixer.Slot getCameraSlot(
+    BroadcastConfiguration.Mixer.Slot slot,
+    @Nullable ScreenCaptureLayout.Frame pipFrame
+  ) {
+    return BroadcastConfiguration.Mixer.Slot.with($ -> {
+      $.setName(slot.getName());
+      $.setPreferredVideoInput(slot.getPreferredVideoInput());
+      $.setPreferredAudioInput(slot.getPreferredAudioInput());
+      $.setGain(slot.getGain());
+      $.setAspect(BroadcastConfiguration.AspectMode.FILL);
+      if (pipFrame != null) {
+        $.setPosition(new BroadcastConfiguration.Vec2(pipFrame.x, pipFrame.y));
+        $.setSize(new BroadcastConfiguration.Vec2(pipFrame.width, pipFrame.height));
+        $.setzIndex(CAMERA_PIP_Z_INDEX);
+      } else {
+        // A transparent slot keeps the camera attached, so stopping the capture does not reopen it.
+        $.setPosition(slot.getPosition());
+        $.setSize(slot.getSize());
+        $.setzIndex(slot.getzIndex());
+        $.setTransparency(1);
+      }
+      return $;
+    });
+  }
+
+  /**
+   * @return frame of the screen on the mixer canvas, bounded by the video size of the config.
+   */
+  ScreenCaptureLayout.Frame start(
+    @NonNull BroadcastConfiguration config,
+    @NonNull DisplayMetrics screenMetrics,
+    @NonNull Options options
+  ) {
+    BroadcastConfiguration.Vec2 videoSize = config.video.getSize();
+    int videoWidth = (int) videoSize.x;
+    int videoHeight = (int) videoSize.y;
+    ScreenCaptureLayout.Frame captureFrame = ScreenCaptureLayout.getCaptureFrame(
+      screenMetrics.widthPixels,
+      screenMetrics.heightPixels,
+      videoWidth,
+      videoHeight
+    );
+    int captureWidth = (int) captureFrame.width;
+    int captureHeight = (int) captureFrame.height;
+
+    try {
+      Mixer mixer = session.getMixer();
+      ScreenCaptureLayout.Frame pipFrame = options.isCameraPipEnabled
+        ? ScreenCaptureLayout.getCameraPipFrame(videoWidth, videoHeight, options.cameraPipCorner, options.cameraPipScale)
+        : null;
+      for (BroadcastConfiguration.Mixer.Slot slot : mixer.getSlots()) {
+        if (slot.getPreferredVideoInput() != Device.Descriptor.DeviceType.CAMERA) continue;
+
+        cameraSlots.add(slot);
+        mixer.transition(slot.getName(), getCameraSlot(slot, pipFrame), 0, null);
+      }
+
+      isScreenSlotAdded = mixer.addSlot(BroadcastConfiguration.Mixer.Slot.with($ -> {
+        $.setName(SCREEN_SLOT_NAME);
+        $.setPreferredVideoInput(Device.Descriptor.DeviceType.USER_IMAGE);
+        $.setAspect(BroadcastConfiguration.AspectMode.FIT);
+        $.setPosition(new BroadcastConfiguration.Vec2(captureFrame.x, captureFrame.y));
+        $.setSize(new BroadcastConfiguration.Vec2(captureWidth, captureHeight));
+        $.setzIndex(SCREEN_Z_INDEX);
+        return $;
+      }));
+
+      surfaceSource = session.createImageInputSource();
+      surfaceSource.setSize(captureWidth, captureHeight);
+      mixer.bind(surfaceSource, SCREEN_SLOT_NAME);
+
+      projection.registerCallback(projectionCallback, handler);
+      virtualDisplay = projection.createVirtualDisplay(
+        VIRTUAL_DISPLAY_NAME,
+        captureWidth,
+        captureHeight,
+        screenMetrics.densityDpi,
+        DisplayManager.VIRTUAL_DISPLAY_FLAG_AUTO_MIRROR,
+        surfaceSource.getInputSurface(),
+        null,
+        handler
+      );
+    } catch (RuntimeException error) {
+      stop();
+      throw error;
+    }
+    return captureFrame;
+  }
+
+  /**
+   * Releases the virtual display and the image source, restores the camera slots and stops the
+   * projection. Subsequent calls do nothing.
+   */
+  void stop() {
+    if (isStopped) return;
+    isStopped = true;
+
+    projection.unregisterCallback(projectionCallback);
+    if (virtualDisplay != null) {
+      virtualDisplay.release();
+      virtualDisplay = null;
+    }
+
+    Mixer mixer = session.getMixer();
+    if (surfaceSource != null) {
+      mixer.unbind(surfaceSource);
+      session.detachDevice(surfaceSource);
+      surfaceSource = null;
+    }
+    if (isScreenSlotAdded) {
+      mixer.removeSlot(SCREEN_SLOT_NAME);
+    }
+    for (BroadcastConfiguration.Mixer.Slot slot : cameraSlots) {
+      mixer.transition(slot.getName(), slot, 0, null);
+    }
+    cameraSlots.clear();
+
+    projection.stop();
+  }
+}
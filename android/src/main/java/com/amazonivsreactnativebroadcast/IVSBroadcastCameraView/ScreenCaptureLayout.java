@@ -0,0 +1,106 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+/**
+ * Geometry of the screen capture: the size of the virtual display bounded by the video config and
+ * the frame of the camera picture-in-picture on the mixer canvas.
+ */
+final class ScreenCaptureLayout {
+  static final float DEFAULT_CAMERA_PIP_SCALE = 0.3f;
+  static final float MIN_CAMERA_PIP_SCALE = 0.1f;
+  static final float MAX_CAMERA_PIP_SCALE = 0.5f;
+
+  // Distance between the picture-in-picture and the canvas edges relative to the shorter edge.
+  private static final float CAMERA_PIP_MARGIN = 0.04f;
+
+  enum Corner {
+    TOP_LEFT("topLeft"),
+    TOP_RIGHT("topRight"),
+    BOTTOM_LEFT("bottomLeft"),
+    BOTTOM_RIGHT("bottomRight");
+
+    private final String title;
+
+    Corner(String title) {
+      this.title = title;
+    }
+
+    static Corner fromString(String cornerName) {
+      for (Corner corner : values()) {
+        if (corner.title.equals(cornerName)) {
+          return corner;
+        }
+      }
+      throw new RuntimeException("Does not support camera PiP corner: " + cornerName);
+    }
+
+    @Override
+    public String toString() {
+      return title;
+    }
+  }
+
+  static final class Frame {
+    final float x;
+    final float y;
+    final float width;
+    final float height;
+
+    Frame(float x, float y, float width, float height) {
+      this.x = x;
+      this.y = y;
+      this.width = width;
+      this.height = height;
+    }
+
+    WritableMap toPayload() {
+      WritableMap framePayload = Arguments.createMap();
+      framePayload.putInt("width", (int) width);
+      framePayload.putInt("height", (int) height);
+      return framePayload;
+    }
+  }
+
+  private ScreenCaptureLayout() {
+  }
+
+  private static int alignDown(float value) {
+    return Math.max(2, ((int) value) & ~1);
+  }
+
+  /**
+   * Fits the screen into the video size keeping its aspect ratio, so the virtual display never
+   * renders more pixels than the encoder sends. The screen is never upscaled.
+   *
+   * @return frame of the capture centered on the canvas of the video size, with even dimensions.
+   */
+  static Frame getCaptureFrame(int screenWidth, int screenHeight, int videoWidth, int videoHeight) {
+    float scale = Math.min(1, Math.min((float) videoWidth / screenWidth, (float) videoHeight / screenHeight));
+    int width = Math.min(alignDown(screenWidth * scale), videoWidth);
+    int height = Math.min(alignDown(screenHeight * scale), videoHeight);
+
+    return new Frame((videoWidth - width) / 2f, (videoHeight - height) / 2f, width, height);
+  }
+
+  /**
+   * @param scale size of the picture-in-picture relative to the canvas, clamped to
+   *              [{@link #MIN_CAMERA_PIP_SCALE}, {@link #MAX_CAMERA_PIP_SCALE}].
+   */
+  static Frame getCameraPipFrame(int videoWidth, int videoHeight, Corner corner, float scale) {
+    float clampedScale = Math.max(MIN_CAMERA_PIP_SCALE, Math.min(MAX_CAMERA_PIP_SCALE, scale));
+    float width = Math.round(videoWidth * clampedScale);
+    float height = Math.round(videoHeight * clampedScale);
+    float margin = Math.round(Math.min(videoWidth, videoHeight) * CAMERA_PIP_MARGIN);
+
+    boolean isLeft = corner == Corner.TOP_LEFT || corner == Corner.BOTTOM_LEFT;
+    boolean isTop = corner == Corner.TOP_LEFT || corner == Corner.TOP_RIGHT;
+    return new Frame(
+      isLeft ? margin : videoWidth - width - margin,
+      isTop ? margin : videoHeight - height - margin,
+      width,
+      height
+    );
+  }
+}
@@ -0,0 +1,84 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import android.app.Notification;
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.app.Service;
+import android.content.Context;
+import android.content.Intent;
+import android.content.pm.ServiceInfo;
+import android.os.Build;
+import android.os.Handler;
+import android.os.IBinder;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.app.NotificationCompat;
+import androidx.core.content.ContextCompat;
+
+/**
+ * Foreground service which keeps the media projection alive, Android 10+ requires one of the
+ * `mediaProjection` type to be running before the projection is obtained.
+ */
+public class ScreenCaptureService extends Service {
+  private static final String NOTIFICATION_CHANNEL_ID = "ivs-screen-capture";
+  private static final int NOTIFICATION_ID = 0x1f5;
+
+  private static final Handler mainThreadHandler = new Handler(Looper.getMainLooper());
+  private static volatile Runnable pendingForegroundCallback;
+
+  /**
+   * Starts the service, the callback runs on the main thread once it is in the foreground.
+   */
+  static void start(@NonNull Context context, @NonNull Runnable onForeground) {
+    pendingForegroundCallback = onForeground;
+    Intent intent = new Intent(context, ScreenCaptureService.class);
+    ContextCompat.startForegroundService(context, intent);
+  }
+
+  static void stop(@NonNull Context context) {
+    pendingForegroundCallback = null;
+    context.stopService(new Intent(context, ScreenCaptureService.class));
+  }
+
+  private Notification createNotification() {
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+      NotificationChannel channel = new NotificationChannel(
+        NOTIFICATION_CHANNEL_ID,
+        "Screen capture",
+        NotificationManager.IMPORTANCE_LOW
+      );
+      getSystemService(NotificationManager.class).createNotificationChannel(channel);
+    }
+
+    return new NotificationCompat.Builder(this, NOTIFICATION_CHANNEL_ID)
+      .setContentTitle("Sharing your screen")
+      .setSmallIcon(getApplicationInfo().icon)
+      .setOngoing(true)
+      .setCategory(NotificationCompat.CATEGORY_SERVICE)
+      .build();
+  }
+
+  @Override
+  public int onStartCommand(@Nullable Intent intent, int flags, int startId) {
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+      startForeground(NOTIFICATION_ID, createNotification(), ServiceInfo.FOREGROUND_SERVICE_TYPE_MEDIA_PROJECTION);
+    } else {
+      startForeground(NOTIFICATION_ID, createNotification());
+    }
+
+    Runnable onForeground = pendingForegroundCallback;
+    pendingForegroundCallback = null;
+    if (onForeground != null) {
+      mainThreadHandler.post(onForeground);
+    }
+    return START_NOT_STICKY;
+  }
+
+  @Nullable
+  @Override
+  public IBinder onBind(Intent intent) {
+    return null;
+  }
+}
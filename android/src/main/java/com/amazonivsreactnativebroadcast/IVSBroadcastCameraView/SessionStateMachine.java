@@ -0,0 +1,145 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lifecycle of the broadcast session published as immutable snapshots.
+ *
+ * Writers replace the whole snapshot with a compare-and-set, readers (the SDK listener and the
+ * device callbacks) take the current snapshot without locking and never observe a half-updated
+ * state. Updates coming from callbacks are bound to the session they were issued for, so a late
+ * callback of a released session can not leak into the state of the next one.
+ *
+ * @param <S> type of the session.
+ * @param <D> type of the device descriptor.
+ */
+public final class SessionStateMachine<S, D> {
+  public enum Phase {
+    IDLE,
+    INITIALIZED
+  }
+
+  public static final class Snapshot<S, D> {
+    public final Phase phase;
+    /**
+     * Incremented on every initialization, distinguishes consecutive sessions.
+     */
+    public final long generation;
+    public final S session;
+    public final String sessionId;
+    public final D cameraDescriptor;
+    public final D microphoneDescriptor;
+
+    Snapshot(Phase phase, long generation, S session, String sessionId, D cameraDescriptor, D microphoneDescriptor) {
+      this.phase = phase;
+      this.generation = generation;
+      this.session = session;
+      this.sessionId = sessionId;
+      this.cameraDescriptor = cameraDescriptor;
+      this.microphoneDescriptor = microphoneDescriptor;
+    }
+
+    public boolean isInitialized() {
+      return phase == Phase.INITIALIZED;
+    }
+  }
+
+  @FunctionalInterface
+  private interface Mutation<S, D> {
+    Snapshot<S, D> apply(Snapshot<S, D> current);
+  }
+
+  private final AtomicReference<Snapshot<S, D>> snapshot = new AtomicReference<>(
+    new Snapshot<>(Phase.IDLE, 0, null, null, null, null)
+  );
+
+  private boolean update(S session, Mutation<S, D> mutation) {
+    while (true) {
+      Snapshot<S, D> current = snapshot.get();
+      if (!current.isInitialized() || current.session != session) return false;
+
+      if (snapshot.compareAndSet(current, mutation.apply(current))) return true;
+    }
+  }
+
+  public Snapshot<S, D> getSnapshot() {
+    return snapshot.get();
+  }
+
+  /**
+   * @return {@code false} if a session has already been initialized.
+   */
+  public boolean initialize(S session, D cameraDescriptor, D microphoneDescriptor) {
+    while (true) {
+      Snapshot<S, D> current = snapshot.get();
+      if (current.isInitialized()) return false;
+
+      Snapshot<S, D> next = new Snapshot<>(
+        Phase.INITIALIZED,
+        current.generation + 1,
+        session,
+        null,
+        cameraDescriptor,
+        microphoneDescriptor
+      );
+      if (snapshot.compareAndSet(current, next)) return true;
+    }
+  }
+
+  /**
+   * Moves back to the idle phase.
+   *
+   * @return the released session which the caller is responsible to dispose, or {@code null} if
+   * there is no session or it has been released by another caller.
+   */
+  public S release() {
+    while (true) {
+      Snapshot<S, D> current = snapshot.get();
+      if (!current.isInitialized()) return null;
+
+      Snapshot<S, D> next = new Snapshot<>(Phase.IDLE, current.generation, null, null, null, null);
+      if (snapshot.compareAndSet(current, next)) return current.session;
+    }
+  }
+
+  public boolean isCurrent(S session) {
+    Snapshot<S, D> current = snapshot.get();
+    return current.isInitialized() && current.session == session;
+  }
+
+  /**
+   * The setters below are ignored unless the given session is still the current one.
+   */
+  public boolean setSessionId(S session, String sessionId) {
+    return update(session, current -> new Snapshot<>(
+      current.phase,
+      current.generation,
+      current.session,
+      sessionId,
+      current.cameraDescriptor,
+      current.microphoneDescriptor
+    ));
+  }
+
+  public boolean setCameraDescriptor(S session, D cameraDescriptor) {
+    return update(session, current -> new Snapshot<>(
+      current.phase,
+      current.generation,
+      current.session,
+      current.sessionId,
+      cameraDescriptor,
+      current.microphoneDescriptor
+    ));
+  }
+
+  public boolean setMicrophoneDescriptor(S session, D microphoneDescriptor) {
+    return update(session, current -> new Snapshot<>(
+      current.phase,
+      current.generation,
+      current.session,
+      current.sessionId,
+      current.cameraDescriptor,
+      microphoneDescriptor
+    ));
+  }
+}
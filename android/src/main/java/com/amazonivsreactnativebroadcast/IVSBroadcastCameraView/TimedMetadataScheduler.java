@@ -0,0 +1,341 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Queues timed metadata and hands it to the broadcast session without exceeding the IVS
+ * payload size and rate limits. When the rate limit is reached the next send is scheduled
+ * on the timer instead of failing. Batchable messages are packed into a single JSON array
+ * frame as long as the frame fits into the payload limit.
+ */
+public class TimedMetadataScheduler {
+  // Guide: https://docs.aws.amazon.com/ivs/latest/userguide/metadata.html
+  public static final int DEFAULT_MAX_PAYLOAD_BYTES = 1024;
+  public static final int DEFAULT_MAX_FRAMES_PER_SECOND = 5;
+  public static final int DEFAULT_MAX_QUEUE_SIZE = 100;
+
+  private static final long RATE_WINDOW_MILLIS = 1000;
+
+  /**
+   * Creates the contents of a message once its frame is sent, e.g. to timestamp it.
+   */
+  @FunctionalInterface
+  public interface ContentsFactory {
+    String create();
+  }
+
+  @FunctionalInterface
+  public interface Sender {
+    boolean send(String payload);
+  }
+
+  @FunctionalInterface
+  public interface StatisticsListener {
+    void onChanged(Statistics statistics);
+  }
+
+  public static final class Statistics {
+    public final int queueDepth;
+    public final long sentMessagesCount;
+    public final long sentFramesCount;
+    public final long batchedMessagesCount;
+    public final long droppedMessagesCount;
+
+    Statistics(int queueDepth, long sentMessagesCount, long sentFramesCount, long batchedMessagesCount, long droppedMessagesCount) {
+      this.queueDepth = queueDepth;
+      this.sentMessagesCount = sentMessagesCount;
+      this.sentFramesCount = sentFramesCount;
+      this.batchedMessagesCount = batchedMessagesCount;
+      this.droppedMessagesCount = droppedMessagesCount;
+    }
+
+    public WritableMap toPayload() {
+      WritableMap statisticsPayload = Arguments.createMap();
+      statisticsPayload.putInt("queueDepth", queueDepth);
+      statisticsPayload.putDouble("sentMessagesCount", sentMessagesCount);
+      statisticsPayload.putDouble("sentFramesCount", sentFramesCount);
+      statisticsPayload.putDouble("batchedMessagesCount", batchedMessagesCount);
+      statisticsPayload.putDouble("droppedMessagesCount", droppedMessagesCount);
+      return statisticsPayload;
+    }
+  }
+
+  private static final class Message {
+    final String contents;
+    final int size;
+    final boolean isBatchable;
+    // Creates the contents again once sent, if any.
+    final ContentsFactory contentsFactory;
+
+    Message(String contents, int size, boolean isBatchable, ContentsFactory contentsFactory) {
+      this.contents = contents;
+      this.size = size;
+      this.isBatchable = isBatchable;
+      this.contentsFactory = contentsFactory;
+    }
+  }
+
+  private final Clock clock;
+  private final Timer timer;
+  private final Sender sender;
+  private final int maxPayloadBytes;
+  private final int maxQueueSize;
+
+  private final ArrayDeque<Message> queue = new ArrayDeque<>();
+  private final long[] sentFrameTimestamps;
+  private int sentFrameTimestampsHead = 0;
+  private int sentFrameTimestampsCount = 0;
+  private boolean isDrainScheduled = false;
+
+  private long sentMessagesCount = 0;
+  private long sentFramesCount = 0;
+  private long batchedMessagesCount = 0;
+  private long droppedMessagesCount = 0;
+
+  private StatisticsListener statisticsListener;
+  private final Runnable drainTask = this::drain;
+
+  public TimedMetadataScheduler(Clock clock, Timer timer, Sender sender) {
+    this(clock, timer, sender, DEFAULT_MAX_PAYLOAD_BYTES, DEFAULT_MAX_FRAMES_PER_SECOND, DEFAULT_MAX_QUEUE_SIZE);
+  }
+
+  public TimedMetadataScheduler(Clock clock, Timer timer, Sender sender, int maxPayloadBytes, int maxFramesPerSecond, int maxQueueSize) {
+    if (maxPayloadBytes <= 0 || maxFramesPerSecond <= 0 || maxQueueSize <= 0) {
+      throw new IllegalArgumentException("Timed metadata limits must be positive.");
+    }
+    this.clock = clock;
+    this.timer = timer;
+    this.sender = sender;
+    this.maxPayloadBytes = maxPayloadBytes;
+    this.maxQueueSize = maxQueueSize;
+    this.sentFrameTimestamps = new long[maxFramesPerSecond];
+  }
+
+  private static int getByteSize(String value) {
+    return value.getBytes(StandardCharsets.UTF_8).length;
+  }
+
+  private static void appendJsonString(StringBuilder builder, String value) {
+    builder.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char character = value.charAt(i);
+      switch (character) {
+        case '"': {
+          builder.append("\\\"");
+          break;
+        }
+        case '\\': {
+          builder.append("\\\\");
+          break;
+        }
+        case '\n': {
+          builder.append("\\n");
+          break;
+        }
+        case '\r': {
+          builder.append("\\r");
+          break;
+        }
+        case '\t': {
+          builder.append("\\t");
+          break;
+        }
+        default: {
+          if (character < 0x20) {
+            builder.append(String.format("\\u%04x", (int) character));
+          } else {
+            builder.append(character);
+          }
+        }
+      }
+    }
+    builder.append('"');
+  }
+
+  static String toJsonString(String value) {
+    StringBuilder builder = new StringBuilder(value.length() + 2);
+    appendJsonString(builder, value);
+    return builder.toString();
+  }
+
+  private long getRateLimitDelay(long now) {
+    if (sentFrameTimestampsCount < sentFrameTimestamps.length) {
+      return 0;
+    }
+    long oldestTimestamp = sentFrameTimestamps[sentFrameTimestampsHead];
+    return Math.max(0, oldestTimestamp + RATE_WINDOW_MILLIS - now);
+  }
+
+  private void recordSentFrame(long now) {
+    sentFrameTimestamps[sentFrameTimestampsHead] = now;
+    sentFrameTimestampsHead = (sentFrameTimestampsHead + 1) % sentFrameTimestamps.length;
+    sentFrameTimestampsCount = Math.min(sentFrameTimestampsCount + 1, sentFrameTimestamps.length);
+  }
+
+  private List<Message> pollFrame() {
+    List<Message> frame = new ArrayList<>();
+    Message head = queue.poll();
+    frame.add(head);
+    if (!head.isBatchable) {
+      return frame;
+    }
+
+    // `[` + `]` + the head message, every next message adds its size and a `,`.
+    int frameSize = head.size + 2;
+    while (!queue.isEmpty()) {
+      Message next = queue.peek();
+      if (!next.isBatchable || frameSize + next.size + 1 > maxPayloadBytes) {
+        break;
+      }
+      frameSize += next.size + 1;
+      frame.add(queue.poll());
+    }
+    return frame;
+  }
+
+  private String getFramePayload(List<Message> frame) {
+    Message head = frame.get(0);
+    if (head.contentsFactory != null) {
+      return head.contentsFactory.create();
+    }
+    if (!head.isBatchable) {
+      return head.contents;
+    }
+
+    StringBuilder builder = new StringBuilder("[");
+    for (int i = 0; i < frame.size(); i++) {
+      if (i > 0) {
+        builder.append(',');
+      }
+      builder.append(frame.get(i).contents);
+    }
+    return builder.append(']').toString();
+  }
+
+  private void scheduleDrain(long delayMillis) {
+    if (isDrainScheduled) return;
+
+    isDrainScheduled = true;
+    timer.schedule(drainTask, delayMillis);
+  }
+
+  private Statistics createStatistics() {
+    return new Statistics(queue.size(), sentMessagesCount, sentFramesCount, batchedMessagesCount, droppedMessagesCount);
+  }
+
+  private void notifyStatisticsListener(Statistics statistics) {
+    StatisticsListener listener;
+    synchronized (this) {
+      listener = statisticsListener;
+    }
+    if (listener != null) {
+      listener.onChanged(statistics);
+    }
+  }
+
+  /**
+   * @return {@code false} when the message has been dropped because it exceeds the payload limit
+   * or the queue is full.
+   */
+  public boolean enqueue(String contents, boolean isBatchable) {
+    // Batchable messages are stored as JSON strings so the frame size is known upfront.
+    String storedContents = isBatchable ? toJsonString(contents) : contents;
+    return enqueue(storedContents, isBatchable, null);
+  }
+
+  /**
+   * Enqueues a message created when its frame is sent, it is never batched. The size is checked
+   * against the payload limit with the contents created now, a message which has outgrown the limit
+   * by the time it is sent is dropped.
+   *
+   * @return {@code false} when the message has been dropped because it exceeds the payload limit
+   * or the queue is full.
+   */
+  public boolean enqueue(ContentsFactory contentsFactory) {
+    return enqueue(contentsFactory.create(), false, contentsFactory);
+  }
+
+  private boolean enqueue(String storedContents, boolean isBatchable, ContentsFactory contentsFactory) {
+    Statistics statistics;
+    boolean isAccepted;
+
+    synchronized (this) {
+      int size = getByteSize(storedContents);
+      int frameSize = isBatchable ? size + 2 : size;
+
+      isAccepted = frameSize <= maxPayloadBytes && queue.size() < maxQueueSize;
+      if (isAccepted) {
+        queue.add(new Message(storedContents, size, isBatchable, contentsFactory));
+        scheduleDrain(0);
+      } else {
+        droppedMessagesCount++;
+      }
+      statistics = createStatistics();
+    }
+
+    if (!isAccepted) {
+      notifyStatisticsListener(statistics);
+    }
+    return isAccepted;
+  }
+
+  /**
+   * Sends as many frames as the rate limit allows and schedules itself for the rest.
+   */
+  public void drain() {
+    Statistics statistics;
+
+    synchronized (this) {
+      isDrainScheduled = false;
+      if (queue.isEmpty()) return;
+
+      while (!queue.isEmpty()) {
+        long now = clock.now();
+        long delay = getRateLimitDelay(now);
+        if (delay > 0) {
+          scheduleDrain(delay);
+          break;
+        }
+
+        List<Message> frame = pollFrame();
+        recordSentFrame(now);
+
+        String payload = getFramePayload(frame);
+        boolean isOversized = frame.get(0).contentsFactory != null && getByteSize(payload) > maxPayloadBytes;
+        if (!isOversized && sender.send(payload)) {
+          sentFramesCount++;
+          sentMessagesCount += frame.size();
+          if (frame.size() > 1) {
+            batchedMessagesCount += frame.size();
+          }
+        } else {
+          droppedMessagesCount += frame.size();
+        }
+      }
+      statistics = createStatistics();
+    }
+
+    notifyStatisticsListener(statistics);
+  }
+
+  public synchronized void clear() {
+    timer.cancel(drainTask);
+    isDrainScheduled = false;
+    droppedMessagesCount += queue.size();
+    queue.clear();
+  }
+
+  public synchronized Statistics getStatistics() {
+    return createStatistics();
+  }
+
+  public synchronized void setStatisticsListener(StatisticsListener listener) {
+    statisticsListener = listener;
+  }
+}
@@ -0,0 +1,10 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+/**
+ * Runs the tasks after a delay on the thread the timer is bound to.
+ */
+public interface Timer {
+  void schedule(Runnable task, long delayMillis);
+
+  void cancel(Runnable task);
+}
@@ -0,0 +1,175 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+/**
+ * Derives the initial bitrate and its bounds from the uplink measured before the broadcast, so the
+ * stream does not start above what the network sustains and wait for the automatic bitrate to back
+ * off.
+ */
+final class UplinkProbe {
+  // The limits of the broadcast SDK.
+  static final int MIN_BITRATE = 100000;
+  static final int MAX_BITRATE = 8500000;
+
+  // Share of the measured uplink left for the video, the rest covers audio and transport overhead.
+  static final double MAX_UPLINK_SHARE = 0.8;
+  // The stream starts lower than the maximum, ramping up is cheaper than backing off.
+  static final double INITIAL_UPLINK_SHARE = 0.6;
+
+  static final long DEFAULT_DURATION_MILLIS = 5000;
+  static final long DEFAULT_TIMEOUT_MILLIS = 20000;
+
+  private static final int CHUNK_SIZE = 64 * 1024;
+  private static final int CONNECT_TIMEOUT_MILLIS = 5000;
+
+  static final class Bitrates {
+    final int initialBitrate;
+    final int minBitrate;
+    final int maxBitrate;
+
+    Bitrates(int initialBitrate, int minBitrate, int maxBitrate) {
+      this.initialBitrate = initialBitrate;
+      this.minBitrate = minBitrate;
+      this.maxBitrate = maxBitrate;
+    }
+  }
+
+  static final class Options {
+    @Nullable final String probeUrl;
+    final long durationMillis;
+    final long timeoutMillis;
+    final boolean isApplied;
+
+    Options(@Nullable String probeUrl, long durationMillis, long timeoutMillis, boolean isApplied) {
+      this.probeUrl = probeUrl;
+      this.durationMillis = durationMillis;
+      this.timeoutMillis = timeoutMillis;
+      this.isApplied = isApplied;
+    }
+
+    static Options fromMap(@Nullable ReadableMap options) {
+      String probeUrl = options != null && options.hasKey("probeUrl") && !options.isNull("probeUrl")
+        ? options.getString("probeUrl")
+        : null;
+      long durationMillis = options != null && options.hasKey("duration")
+        ? (long) options.getDouble("duration")
+        : DEFAULT_DURATION_MILLIS;
+      long timeoutMillis = options != null && options.hasKey("timeout")
+        ? (long) options.getDouble("timeout")
+        : DEFAULT_TIMEOUT_MILLIS;
+      boolean isApplied = options == null || !options.hasKey("isApplied") || options.getBoolean("isApplied");
+      return new Options(probeUrl, durationMillis, timeoutMillis, isApplied);
+    }
+  }
+
+  private UplinkProbe() {
+  }
+
+  /**
+   * @param uplinkBitrate the measured uplink, negative if it is not known.
+   */
+  static WritableMap toPayload(String source, long duration, long uplinkBitrate, Bitrates bitrates, boolean isApplied) {
+    WritableMap resultPayload = Arguments.createMap();
+    resultPayload.putString("source", source);
+    resultPayload.putDouble("duration", duration);
+    if (uplinkBitrate >= 0) {
+      resultPayload.putDouble("uplinkBitrate", uplinkBitrate);
+    } else {
+      resultPayload.putNull("uplinkBitrate");
+    }
+    resultPayload.putInt("initialBitrate", bitrates.initialBitrate);
+    resultPayload.putInt("minBitrate", bitrates.minBitrate);
+    resultPayload.putInt("maxBitrate", bitrates.maxBitrate);
+    resultPayload.putBoolean("isApplied", isApplied);
+    return resultPayload;
+  }
+
+  private static int clamp(long value, int min, int max) {
+    return (int) Math.max(min, Math.min(max, value));
+  }
+
+  /**
+   * Bounds the bitrates recommended by the SDK network test by the configured maximum bitrate.
+   */
+  static Bitrates fromRecommendation(int initialBitrate, int minBitrate, int maxBitrate, int configMaxBitrate) {
+    int bitrateCeiling = clamp(configMaxBitrate, MIN_BITRATE, MAX_BITRATE);
+    int finalMaxBitrate = clamp(maxBitrate, MIN_BITRATE, bitrateCeiling);
+    int finalMinBitrate = clamp(minBitrate, MIN_BITRATE, finalMaxBitrate);
+    return new Bitrates(clamp(initialBitrate, finalMinBitrate, finalMaxBitrate), finalMinBitrate, finalMaxBitrate);
+  }
+
+  /**
+   * @param uplinkBitrate measured uplink in bps.
+   */
+  static Bitrates fromUplink(long uplinkBitrate, int configMinBitrate, int configMaxBitrate) {
+    int bitrateCeiling = clamp(configMaxBitrate, MIN_BITRATE, MAX_BITRATE);
+    int maxBitrate = clamp((long) (uplinkBitrate * MAX_UPLINK_SHARE), MIN_BITRATE, bitrateCeiling);
+    int initialBitrate = clamp((long) (uplinkBitrate * INITIAL_UPLINK_SHARE), MIN_BITRATE, maxBitrate);
+    // A configured minimum the uplink can not sustain would keep the stream above it.
+    int minBitrate = clamp(configMinBitrate, MIN_BITRATE, initialBitrate);
+    return new Bitrates(initialBitrate, minBitrate, maxBitrate);
+  }
+
+  /**
+   * Creates the connection without connecting, so it can be disconnected from another thread to
+   * abort {@link #measureEchoUplink}.
+   */
+  static HttpURLConnection createEchoConnection(String probeUrl) throws IOException {
+    return (HttpURLConnection) new URL(probeUrl).openConnection();
+  }
+
+  /**
+   * Uploads data to the echo endpoint for the given duration and measures the throughput. Blocks
+   * the calling thread, the connection is disconnected once done.
+   *
+   * @return the measured uplink in bps.
+   */
+  static long measureEchoUplink(HttpURLConnection connection, long durationMillis, Clock clock) throws IOException {
+    try {
+      connection.setConnectTimeout(CONNECT_TIMEOUT_MILLIS);
+      connection.setReadTimeout((int) durationMillis + CONNECT_TIMEOUT_MILLIS);
+      connection.setDoOutput(true);
+      connection.setRequestMethod("POST");
+      connection.setRequestProperty("Content-Type", "application/octet-stream");
+      connection.setChunkedStreamingMode(CHUNK_SIZE);
+
+      byte[] chunk = new byte[CHUNK_SIZE];
+      long sentBytes = 0;
+      long startTimestamp = clock.now();
+      long elapsed;
+      try (OutputStream outputStream = connection.getOutputStream()) {
+        do {
+          outputStream.write(chunk);
+          sentBytes += chunk.length;
+          elapsed = clock.now() - startTimestamp;
+        } while (elapsed < durationMillis);
+      }
+
+      int responseCode = connection.getResponseCode();
+      // The data is only known to have arrived once the endpoint has responded.
+      elapsed = Math.max(1, clock.now() - startTimestamp);
+      if (responseCode < 200 || responseCode >= 300) {
+        throw new IOException("Echo endpoint responded with " + responseCode + ".");
+      }
+      try (InputStream inputStream = connection.getInputStream()) {
+        while (inputStream.read(chunk) != -1) {
+          // Drain the response, so the connection can be reused.
+        }
+      }
+      return sentBytes * 8 * 1000 / elapsed;
+    } finally {
+      connection.disconnect();
+    }
+  }
+}
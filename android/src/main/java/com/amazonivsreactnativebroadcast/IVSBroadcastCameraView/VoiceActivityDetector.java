@@ -0,0 +1,198 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.ReadableMap;
+
+/**
+ * Detects speech and clipping from the audio levels reported by the broadcast session, so only the
+ * state changes need to be sent to JS instead of every level.
+ *
+ * The rms level is smoothed with separate attack and release times, the voice is active while the
+ * smoothed level is above the threshold and for the hangover after it has fallen below. Clipping
+ * is flagged as soon as the peak reaches the clipping threshold and cleared after the clipping
+ * hangover without clipped peaks. The levels are in dBFS.
+ */
+public class VoiceActivityDetector {
+  public static final double DEFAULT_VOICE_THRESHOLD = -45;
+  public static final long DEFAULT_ATTACK_MILLIS = 50;
+  public static final long DEFAULT_RELEASE_MILLIS = 300;
+  public static final long DEFAULT_HANGOVER_MILLIS = 500;
+  public static final double DEFAULT_CLIPPING_THRESHOLD = -1;
+  public static final long DEFAULT_CLIPPING_HANGOVER_MILLIS = 1000;
+
+  static final double SILENCE_LEVEL = -100;
+
+  public interface Listener {
+    void onVoiceActivityChanged(boolean isSpeaking, double level);
+
+    void onClippingChanged(boolean isClipping, double peak);
+  }
+
+  public static final class Config {
+    public final boolean isEnabled;
+    public final double voiceThreshold;
+    public final long attackMillis;
+    public final long releaseMillis;
+    public final long hangoverMillis;
+    public final double clippingThreshold;
+    public final long clippingHangoverMillis;
+
+    public Config(
+      boolean isEnabled,
+      double voiceThreshold,
+      long attackMillis,
+      long releaseMillis,
+      long hangoverMillis,
+      double clippingThreshold,
+      long clippingHangoverMillis
+    ) {
+      this.isEnabled = isEnabled;
+      this.voiceThreshold = voiceThreshold;
+      this.attackMillis = attackMillis;
+      this.releaseMillis = releaseMillis;
+      this.hangoverMillis = hangoverMillis;
+      this.clippingThreshold = clippingThreshold;
+      this.clippingHangoverMillis = clippingHangoverMillis;
+    }
+
+    private static double getDouble(@Nullable ReadableMap map, String key, double defaultValue) {
+      return map != null && map.hasKey(key) ? map.getDouble(key) : defaultValue;
+    }
+
+    public static Config fromMap(@Nullable ReadableMap config) {
+      ReadableMap clipping = config != null && config.hasKey("clipping")
+        ? config.getMap("clipping")
+        : null;
+      return new Config(
+        config != null && config.hasKey("isEnabled") && config.getBoolean("isEnabled"),
+        getDouble(config, "threshold", DEFAULT_VOICE_THRESHOLD),
+        (long) getDouble(config, "attack", DEFAULT_ATTACK_MILLIS),
+        (long) getDouble(config, "release", DEFAULT_RELEASE_MILLIS),
+        (long) getDouble(config, "hangover", DEFAULT_HANGOVER_MILLIS),
+        getDouble(clipping, "threshold", DEFAULT_CLIPPING_THRESHOLD),
+        (long) getDouble(clipping, "hangover", DEFAULT_CLIPPING_HANGOVER_MILLIS)
+      );
+    }
+  }
+
+  private final Clock clock;
+  private volatile Listener listener;
+
+  private boolean isEnabled = false;
+  private double voiceThreshold = DEFAULT_VOICE_THRESHOLD;
+  private long attackMillis = DEFAULT_ATTACK_MILLIS;
+  private long releaseMillis = DEFAULT_RELEASE_MILLIS;
+  private long hangoverMillis = DEFAULT_HANGOVER_MILLIS;
+  private double clippingThreshold = DEFAULT_CLIPPING_THRESHOLD;
+  private long clippingHangoverMillis = DEFAULT_CLIPPING_HANGOVER_MILLIS;
+
+  private double level = SILENCE_LEVEL;
+  private long lastTimestamp = -1;
+  private boolean isSpeaking = false;
+  private long lastVoiceTimestamp = 0;
+  private boolean isClipping = false;
+  private long lastClippingTimestamp = 0;
+
+  public VoiceActivityDetector(Clock clock) {
+    this.clock = clock;
+  }
+
+  private static double getSmoothing(long elapsedMillis, long timeMillis) {
+    if (timeMillis <= 0) return 1;
+    return 1 - Math.exp(-(double) elapsedMillis / timeMillis);
+  }
+
+  public synchronized void setConfig(Config config) {
+    this.isEnabled = config.isEnabled;
+    this.voiceThreshold = config.voiceThreshold;
+    this.attackMillis = config.attackMillis;
+    this.releaseMillis = config.releaseMillis;
+    this.hangoverMillis = config.hangoverMillis;
+    this.clippingThreshold = config.clippingThreshold;
+    this.clippingHangoverMillis = config.clippingHangoverMillis;
+    if (!isEnabled) {
+      resetState();
+    }
+  }
+
+  public void setListener(Listener listener) {
+    this.listener = listener;
+  }
+
+  public synchronized boolean isSpeaking() {
+    return isSpeaking;
+  }
+
+  public synchronized boolean isClipping() {
+    return isClipping;
+  }
+
+  public void onAudioStats(double peak, double rms) {
+    boolean isVoiceChanged = false;
+    boolean isClippingChanged = false;
+    double currentLevel;
+    boolean currentIsSpeaking;
+    boolean currentIsClipping;
+
+    synchronized (this) {
+      if (!isEnabled) return;
+
+      long now = clock.now();
+      long elapsed = lastTimestamp >= 0 ? now - lastTimestamp : 0;
+      lastTimestamp = now;
+      double smoothing = getSmoothing(elapsed, rms > level ? attackMillis : releaseMillis);
+      // The first level is taken as is, there is nothing to smooth it with.
+      level = elapsed > 0 ? level + (rms - level) * smoothing : rms;
+
+      if (level >= voiceThreshold) {
+        lastVoiceTimestamp = now;
+        if (!isSpeaking) {
+          isSpeaking = true;
+          isVoiceChanged = true;
+        }
+      } else if (isSpeaking && now - lastVoiceTimestamp >= hangoverMillis) {
+        isSpeaking = false;
+        isVoiceChanged = true;
+      }
+
+      if (peak >= clippingThreshold) {
+        lastClippingTimestamp = now;
+        if (!isClipping) {
+          isClipping = true;
+          isClippingChanged = true;
+        }
+      } else if (isClipping && now - lastClippingTimestamp >= clippingHangoverMillis) {
+        isClipping = false;
+        isClippingChanged = true;
+      }
+
+      currentLevel = level;
+      currentIsSpeaking = isSpeaking;
+      currentIsClipping = isClipping;
+    }
+
+    Listener currentListener = listener;
+    if (currentListener == null) return;
+    if (isVoiceChanged) {
+      currentListener.onVoiceActivityChanged(currentIsSpeaking, currentLevel);
+    }
+    if (isClippingChanged) {
+      currentListener.onClippingChanged(currentIsClipping, peak);
+    }
+  }
+
+  private void resetState() {
+    level = SILENCE_LEVEL;
+    lastTimestamp = -1;
+    isSpeaking = false;
+    isClipping = false;
+  }
+
+  /**
+   * Forgets the levels without reporting, e.g. when the session is released.
+   */
+  public synchronized void reset() {
+    resetState();
+  }
+}
@@ -0,0 +1,10 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import com.amazonivsreactnativebroadcast.NativeIVSBroadcastCameraModuleSpec;
+import com.facebook.react.bridge.ReactApplicationContext;
+
+abstract class IVSBroadcastCameraModuleSpec extends NativeIVSBroadcastCameraModuleSpec {
+  IVSBroadcastCameraModuleSpec(ReactApplicationContext reactContext) {
+    super(reactContext);
+  }
+}
@@ -0,0 +1,21 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import android.view.ViewGroup;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.uimanager.ViewGroupManager;
+import com.facebook.react.uimanager.ViewManagerDelegate;
+import com.facebook.react.viewmanagers.RCTIVSBroadcastCameraViewManagerDelegate;
+import com.facebook.react.viewmanagers.RCTIVSBroadcastCameraViewManagerInterface;
+
+public abstract class IVSBroadcastCameraViewMangerSpec<T extends ViewGroup> extends ViewGroupManager<T>
+  implements RCTIVSBroadcastCameraViewManagerInterface<T> {
+  private final ViewManagerDelegate<T> mDelegate = new RCTIVSBroadcastCameraViewManagerDelegate<>(this);
+
+  @Nullable
+  @Override
+  protected ViewManagerDelegate<T> getDelegate() {
+    return mDelegate;
+  }
+}
@@ -0,0 +1,56 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+
+abstract class IVSBroadcastCameraModuleSpec extends ReactContextBaseJavaModule {
+  IVSBroadcastCameraModuleSpec(ReactApplicationContext reactContext) {
+    super(reactContext);
+  }
+
+  public abstract void start(double viewTag, @Nullable String rtmpsUrl, @Nullable String streamKey);
+
+  public abstract void stop(double viewTag);
+
+  public abstract void startAsync(
+    double viewTag,
+    @Nullable String rtmpsUrl,
+    @Nullable String streamKey,
+    double timeout,
+    Promise promise
+  );
+
+  public abstract void stopAsync(double viewTag, double timeout, Promise promise);
+
+  public abstract void captureSnapshot(double viewTag, @Nullable ReadableMap options, Promise promise);
+
+  public abstract void getAvailableCameras(double viewTag, Promise promise);
+
+  public abstract void probeUplink(double viewTag, @Nullable ReadableMap options, Promise promise);
+
+  public abstract void startScreenCapture(double viewTag, @Nullable ReadableMap options, Promise promise);
+
+  public abstract void stopScreenCapture(double viewTag, Promise promise);
+
+  public abstract void sendTimedMetadata(double viewTag, String contents, boolean isBatchable);
+
+  public abstract void observeLatencyProbe(double viewTag, String payload);
+
+  @Nullable
+  public abstract WritableMap getTimedMetadataStatistics(double viewTag);
+
+  @Nullable
+  public abstract WritableMap getLatencyHistogram(double viewTag);
+
+  @Nullable
+  public abstract WritableMap getAudioProcessingStatistics(double viewTag);
+
+  public abstract WritableMap getMetrics();
+
+  public abstract void ping(double viewTag, double value, Promise promise);
+}
@@ -0,0 +1,19 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import android.view.ViewGroup;
+
+import com.facebook.react.uimanager.ViewGroupManager;
+
+public abstract class IVSBroadcastCameraViewMangerSpec<T extends ViewGroup> extends ViewGroupManager<T> {
+  public abstract void start(T view, String rtmpsUrl, String streamKey);
+
+  public abstract void stop(T view);
+
+  public abstract void swapCamera(T view);
+
+  public abstract void sendTimedMetadata(T view, String contents, boolean isBatchable);
+
+  public abstract void observeLatencyProbe(T view, String payload);
+
+  public abstract void ping(T view, double id);
+}
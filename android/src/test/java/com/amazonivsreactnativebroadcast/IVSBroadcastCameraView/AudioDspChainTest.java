@@ -0,0 +1,169 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+public class AudioDspChainTest extends TestCase {
+  private static final int SAMPLE_RATE = 48000;
+  // 10 ms buffers, as read from the microphone.
+  private static final int FRAMES_PER_BUFFER = 480;
+
+  private static AudioDspChain.Config createConfig(boolean isNoiseGateEnabled, boolean isCompressorEnabled, boolean isLimiterEnabled) {
+    return new AudioDspChain.Config(
+      isNoiseGateEnabled,
+      AudioDspChain.DEFAULT_NOISE_GATE_THRESHOLD,
+      AudioDspChain.DEFAULT_NOISE_GATE_ATTACK,
+      AudioDspChain.DEFAULT_NOISE_GATE_RELEASE,
+      isCompressorEnabled,
+      -20,
+      4,
+      1,
+      AudioDspChain.DEFAULT_COMPRESSOR_RELEASE,
+      0,
+      isLimiterEnabled,
+      -6,
+      AudioDspChain.DEFAULT_LIMITER_RELEASE,
+      10
+    );
+  }
+
+  private static void fillSine(short[] samples, int channels, float amplitude, int startFrame) {
+    for (int frame = 0; frame < FRAMES_PER_BUFFER; frame++) {
+      short value = (short) Math.round(amplitude * 32767 * Math.sin(2 * Math.PI * 440 * (startFrame + frame) / SAMPLE_RATE));
+      for (int channel = 0; channel < channels; channel++) {
+        samples[frame * channels + channel] = value;
+      }
+    }
+  }
+
+  private static float getPeak(short[] samples) {
+    int peak = 0;
+    for (short sample : samples) {
+      peak = Math.max(peak, Math.abs(sample));
+    }
+    return peak / 32768f;
+  }
+
+  /**
+   * @return the peak of the last buffer.
+   */
+  private static float processSine(AudioDspChain chain, float amplitude, int buffers) {
+    int channels = chain.getChannels();
+    short[] samples = new short[FRAMES_PER_BUFFER * channels];
+    for (int i = 0; i < buffers; i++) {
+      fillSine(samples, channels, amplitude, i * FRAMES_PER_BUFFER);
+      chain.process(samples, samples.length);
+    }
+    return getPeak(samples);
+  }
+
+  @Test
+  public void testGatesNoiseAndPassesVoice() {
+    AudioDspChain chain = new AudioDspChain(SAMPLE_RATE, 1, createConfig(true, false, false), false);
+
+    assertTrue(processSine(chain, 0.001f, 50) < 0.0001f);
+    assertEquals(0.5f, processSine(chain, 0.5f, 50), 0.01f);
+  }
+
+  @Test
+  public void testCompressesAboveThresholdByRatio() {
+    AudioDspChain chain = new AudioDspChain(SAMPLE_RATE, 1, createConfig(false, true, false), false);
+
+    // 20 dB above the threshold at the ratio of 4 leaves 5 dB, -15 dBFS.
+    float peak = processSine(chain, AudioDspChain.fromDecibels(0), 100);
+    assertEquals(AudioDspChain.fromDecibels(-15), peak, 0.02f);
+    assertEquals(0.05f, processSine(chain, 0.05f, 100), 0.001f);
+  }
+
+  @Test
+  public void testLimitsToCeiling() {
+    AudioDspChain chain = new AudioDspChain(SAMPLE_RATE, 1, createConfig(false, false, true), false);
+    short[] samples = new short[FRAMES_PER_BUFFER];
+    fillSine(samples, 1, 1, 0);
+
+    chain.process(samples, samples.length);
+
+    assertTrue(getPeak(samples) <= AudioDspChain.fromDecibels(-6) + 0.0001f);
+  }
+
+  @Test
+  public void testRampsGainOnMute() {
+    AudioDspChain chain = new AudioDspChain(SAMPLE_RATE, 1, createConfig(false, false, false), false);
+    short[] samples = new short[FRAMES_PER_BUFFER];
+    fillSine(samples, 1, 0.5f, 0);
+
+    chain.setMuted(true);
+    chain.process(samples, samples.length);
+
+    // The 10 ms ramp spans the first 480 frames, it is halfway through in the middle.
+    int middleFrame = FRAMES_PER_BUFFER / 2;
+    float expected = 0.5f * (float) Math.sin(2 * Math.PI * 440 * middleFrame / SAMPLE_RATE) * 0.5f;
+    assertEquals(expected, samples[middleFrame] / 32767f, 0.01f);
+    assertEquals(0, processSine(chain, 0.5f, 1), 0);
+
+    chain.setMuted(false);
+    assertEquals(0.5f, processSine(chain, 0.5f, 2), 0.01f);
+  }
+
+  @Test
+  public void testStartsMutedWithoutRamp() {
+    AudioDspChain chain = new AudioDspChain(SAMPLE_RATE, 1, createConfig(false, false, false), true);
+
+    assertEquals(0, processSine(chain, 0.5f, 1), 0);
+  }
+
+  @Test
+  public void testAppliesSameGainToStereoChannels() {
+    AudioDspChain chain = new AudioDspChain(SAMPLE_RATE, 2, createConfig(true, true, true), false);
+    short[] samples = new short[FRAMES_PER_BUFFER * 2];
+    for (int i = 0; i < 20; i++) {
+      for (int frame = 0; frame < FRAMES_PER_BUFFER; frame++) {
+        short value = (short) Math.round(32767 * Math.sin(2 * Math.PI * 440 * (i * FRAMES_PER_BUFFER + frame) / SAMPLE_RATE));
+        samples[frame * 2] = value;
+        samples[frame * 2 + 1] = (short) (value / 4);
+      }
+      chain.process(samples, samples.length);
+    }
+
+    for (int frame = 0; frame < FRAMES_PER_BUFFER; frame++) {
+      assertEquals(samples[frame * 2] / 4f, samples[frame * 2 + 1], 1);
+    }
+  }
+
+  @Test
+  public void testRejectsUnsupportedChannels() {
+    try {
+      new AudioDspChain(SAMPLE_RATE, 6, AudioDspChain.Config.createDefault(), false);
+      fail();
+    } catch (RuntimeException error) {
+      assertTrue(error.getMessage().contains("6"));
+    }
+  }
+
+  @Test
+  public void testDoesNotAllocatePerBuffer() {
+    if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+      return;
+    }
+    com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    AudioDspChain chain = new AudioDspChain(SAMPLE_RATE, 2, AudioDspChain.Config.createDefault(), false);
+    short[] samples = new short[FRAMES_PER_BUFFER * 2];
+    fillSine(samples, 2, 0.5f, 0);
+    // Warm up, so the measurement does not include the class loading and the compilation.
+    for (int i = 0; i < 1000; i++) {
+      chain.process(samples, samples.length);
+    }
+
+    long threadId = Thread.currentThread().getId();
+    long allocatedBytes = threadMXBean.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < 1000; i++) {
+      chain.process(samples, samples.length);
+    }
+
+    // The measurement itself may allocate a little, per buffer allocations would take far more.
+    assertTrue(threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBytes < 1000);
+  }
+}
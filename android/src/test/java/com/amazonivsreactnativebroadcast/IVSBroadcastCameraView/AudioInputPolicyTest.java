@@ -0,0 +1,63 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class AudioInputPolicyTest extends TestCase {
+
+  @Test
+  public void testPrefersWiredInputInAutoMode() {
+    assertEquals(2, AudioInputPolicy.select(
+      AudioInputPolicy.Input.AUTO,
+      Arrays.asList(AudioInputPolicy.Input.BUILT_IN, AudioInputPolicy.Input.BLUETOOTH, AudioInputPolicy.Input.WIRED)
+    ));
+    assertEquals(1, AudioInputPolicy.select(
+      AudioInputPolicy.Input.AUTO,
+      Arrays.asList(AudioInputPolicy.Input.BUILT_IN, AudioInputPolicy.Input.BLUETOOTH)
+    ));
+  }
+
+  @Test
+  public void testPicksRequestedInput() {
+    assertEquals(1, AudioInputPolicy.select(
+      AudioInputPolicy.Input.BLUETOOTH,
+      Arrays.asList(AudioInputPolicy.Input.WIRED, AudioInputPolicy.Input.BLUETOOTH, AudioInputPolicy.Input.BUILT_IN)
+    ));
+    assertEquals(2, AudioInputPolicy.select(
+      AudioInputPolicy.Input.BUILT_IN,
+      Arrays.asList(AudioInputPolicy.Input.WIRED, AudioInputPolicy.Input.BLUETOOTH, AudioInputPolicy.Input.BUILT_IN)
+    ));
+  }
+
+  @Test
+  public void testFallsBackToBuiltInInput() {
+    assertEquals(1, AudioInputPolicy.select(
+      AudioInputPolicy.Input.USB,
+      Arrays.asList(AudioInputPolicy.Input.WIRED, AudioInputPolicy.Input.BUILT_IN)
+    ));
+    assertEquals(0, AudioInputPolicy.select(
+      AudioInputPolicy.Input.USB,
+      Collections.singletonList(AudioInputPolicy.Input.WIRED)
+    ));
+  }
+
+  @Test
+  public void testReturnsNothingWithoutInputs() {
+    assertEquals(-1, AudioInputPolicy.select(AudioInputPolicy.Input.AUTO, Collections.emptyList()));
+  }
+
+  @Test
+  public void testRejectsUnknownInput() {
+    assertEquals(AudioInputPolicy.Input.BUILT_IN, AudioInputPolicy.Input.fromString("builtIn"));
+    try {
+      AudioInputPolicy.Input.fromString("hdmi");
+      fail();
+    } catch (RuntimeException error) {
+      assertTrue(error.getMessage().contains("hdmi"));
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import android.graphics.Bitmap;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class BitmapPoolTest extends TestCase {
+
+  @Test
+  public void testReusesBitmapForSmallerSize() {
+    BitmapPool pool = new BitmapPool(2);
+    Bitmap bitmap = pool.acquire(320, 180);
+    pool.release(bitmap);
+
+    Bitmap reusedBitmap = pool.acquire(160, 90);
+
+    assertSame(bitmap, reusedBitmap);
+    assertEquals(160, reusedBitmap.getWidth());
+    assertEquals(90, reusedBitmap.getHeight());
+  }
+
+  @Test
+  public void testRecyclesBitmapsBeyondMaxSize() {
+    BitmapPool pool = new BitmapPool(1);
+    Bitmap firstBitmap = pool.acquire(160, 90);
+    Bitmap secondBitmap = pool.acquire(160, 90);
+
+    pool.release(firstBitmap);
+    pool.release(secondBitmap);
+
+    assertFalse(firstBitmap.isRecycled());
+    assertTrue(secondBitmap.isRecycled());
+    assertSame(firstBitmap, pool.acquire(160, 90));
+  }
+
+  @Test
+  public void testRecyclesPooledBitmapsOnClear() {
+    BitmapPool pool = new BitmapPool(2);
+    Bitmap bitmap = pool.acquire(160, 90);
+    pool.release(bitmap);
+
+    pool.clear();
+
+    assertTrue(bitmap.isRecycled());
+    assertNotSame(bitmap, pool.acquire(160, 90));
+  }
+
+  @Test
+  public void testRecyclesBitmapReleasedAfterClear() {
+    BitmapPool pool = new BitmapPool(2);
+    Bitmap bitmap = pool.acquire(160, 90);
+
+    pool.clear();
+    pool.release(bitmap);
+
+    assertTrue(bitmap.isRecycled());
+    assertNotSame(bitmap, pool.acquire(160, 90));
+  }
+}
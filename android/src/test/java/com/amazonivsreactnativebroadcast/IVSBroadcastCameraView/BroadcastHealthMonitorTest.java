@@ -0,0 +1,123 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import junit.framework.TestCase;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BroadcastHealthMonitorTest extends TestCase {
+
+  private FakeTimer timer;
+  private List<BroadcastHealthMonitor.Report> reports;
+  private BroadcastHealthMonitor monitor;
+
+  @Before
+  public void setUp() throws Exception {
+    timer = new FakeTimer();
+    reports = new ArrayList<>();
+    monitor = new BroadcastHealthMonitor(timer, timer);
+    monitor.setListener(reports::add);
+    monitor.setConfig(new BroadcastHealthMonitor.Config(true, 3000, 1000, 1000));
+  }
+
+  @Test
+  public void testReportsErrorsAsIsWhenDisabled() {
+    monitor.setConfig(new BroadcastHealthMonitor.Config(false, 0, 0, 0));
+
+    assertTrue(monitor.onError("NETWORK", "socket", 1, "detail", false));
+    assertTrue(monitor.onError("NETWORK", "socket", 1, "detail", false));
+    timer.advanceBy(5000);
+    assertEquals(0, reports.size());
+  }
+
+  @Test
+  public void testFoldsRepeatedErrors() {
+    assertTrue(monitor.onError("NETWORK", "socket", 1, "detail", false));
+    assertFalse(monitor.onError("NETWORK", "socket", 1, "detail", false));
+    assertFalse(monitor.onError("NETWORK", "socket", 1, "detail", false));
+    assertTrue(monitor.onError("NETWORK", "socket", 2, "detail", false));
+    assertEquals(0, reports.size());
+
+    timer.advanceBy(1000);
+    assertEquals(1, reports.size());
+    List<BroadcastHealthMonitor.FoldedError> errors = reports.get(0).errors;
+    assertEquals(2, errors.size());
+    assertEquals(3, errors.get(0).count);
+    assertEquals(1, errors.get(1).count);
+
+    assertTrue(monitor.onError("NETWORK", "socket", 1, "detail", false));
+  }
+
+  @Test
+  public void testDoesNotReportSingleErrors() {
+    monitor.onError("NETWORK", "socket", 1, "detail", false);
+
+    timer.advanceBy(1000);
+    assertEquals(0, reports.size());
+  }
+
+  @Test
+  public void testFlagsStallWhileConnected() {
+    monitor.onStateChanged(true);
+    monitor.onTransmissionStatistics(2000);
+
+    timer.advanceBy(1000);
+    monitor.onTransmissionStatistics(10);
+    timer.advanceBy(1000);
+    assertEquals(0, reports.size());
+
+    timer.advanceBy(1000);
+    assertEquals(1, reports.size());
+    assertTrue(reports.get(0).isStalled);
+    assertEquals(3000, reports.get(0).stallDuration);
+  }
+
+  @Test
+  public void testFlagsStallWithoutStatistics() {
+    monitor.onStateChanged(true);
+
+    timer.advanceBy(3000);
+    assertEquals(1, reports.size());
+    assertTrue(reports.get(0).isStalled);
+  }
+
+  @Test
+  public void testReportsStallRecovery() {
+    monitor.onStateChanged(true);
+    timer.advanceBy(4000);
+    assertEquals(1, reports.size());
+
+    monitor.onTransmissionStatistics(2000);
+    assertEquals(2, reports.size());
+    assertFalse(reports.get(1).isStalled);
+    assertEquals(4000, reports.get(1).stallDuration);
+
+    timer.advanceBy(2000);
+    assertEquals(2, reports.size());
+  }
+
+  @Test
+  public void testClearsStallOnDisconnect() {
+    monitor.onStateChanged(true);
+    timer.advanceBy(3000);
+    monitor.onStateChanged(false);
+
+    assertEquals(2, reports.size());
+    assertFalse(reports.get(1).isStalled);
+    assertFalse(reports.get(1).isConnected);
+
+    timer.advanceBy(10000);
+    assertEquals(2, reports.size());
+  }
+
+  @Test
+  public void testDoesNotFlagStallWhileDisconnected() {
+    monitor.onTransmissionStatistics(0);
+
+    timer.advanceBy(10000);
+    assertEquals(0, reports.size());
+  }
+}
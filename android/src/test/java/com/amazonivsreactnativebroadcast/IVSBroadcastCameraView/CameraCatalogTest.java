@@ -0,0 +1,108 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class CameraCatalogTest extends TestCase {
+
+  private static CameraCatalog.CameraInfo createCamera(String cameraId, boolean isFront, CameraCatalog.Lens lens, int maxWidth, int maxHeight, int maxFrameRate) {
+    return new CameraCatalog.CameraInfo(cameraId, isFront, lens, maxWidth, maxHeight, maxFrameRate, 0, false);
+  }
+
+  private static List<String> getCameraIds(List<CameraCatalog.RankedCamera> rankedCameras) {
+    List<String> cameraIds = new ArrayList<>();
+    for (CameraCatalog.RankedCamera rankedCamera : rankedCameras) {
+      cameraIds.add(rankedCamera.info.cameraId);
+    }
+    return cameraIds;
+  }
+
+  @Test
+  public void testKeepsCamerasFacingRequestedDirection() {
+    List<CameraCatalog.CameraInfo> cameras = Arrays.asList(
+      createCamera("0", false, CameraCatalog.Lens.WIDE, 1920, 1080, 30),
+      createCamera("1", true, CameraCatalog.Lens.WIDE, 1920, 1080, 30),
+      createCamera("2", false, CameraCatalog.Lens.ULTRA_WIDE, 1920, 1080, 30)
+    );
+
+    assertEquals(Arrays.asList("0", "2"), getCameraIds(CameraCatalog.rank(cameras, false, null, 1280, 720, 30)));
+    assertEquals(Arrays.asList("1"), getCameraIds(CameraCatalog.rank(cameras, true, null, 1280, 720, 30)));
+  }
+
+  @Test
+  public void testRanksRequestedLensFirst() {
+    List<CameraCatalog.CameraInfo> cameras = Arrays.asList(
+      createCamera("0", false, CameraCatalog.Lens.WIDE, 3840, 2160, 60),
+      createCamera("2", false, CameraCatalog.Lens.ULTRA_WIDE, 1280, 720, 24)
+    );
+
+    List<CameraCatalog.RankedCamera> rankedCameras = CameraCatalog.rank(cameras, false, CameraCatalog.Lens.ULTRA_WIDE, 1920, 1080, 30);
+
+    assertEquals(Arrays.asList("2", "0"), getCameraIds(rankedCameras));
+    assertTrue(rankedCameras.get(0).matchesLens);
+    assertFalse(rankedCameras.get(0).meetsResolution);
+    assertFalse(rankedCameras.get(0).meetsFrameRate);
+    assertFalse(rankedCameras.get(1).matchesLens);
+  }
+
+  @Test
+  public void testRanksCamerasMeetingResolutionBeforeFrameRate() {
+    List<CameraCatalog.CameraInfo> cameras = Arrays.asList(
+      createCamera("0", false, CameraCatalog.Lens.WIDE, 1280, 720, 60),
+      createCamera("2", false, CameraCatalog.Lens.WIDE, 1920, 1080, 30)
+    );
+
+    List<CameraCatalog.RankedCamera> rankedCameras = CameraCatalog.rank(cameras, false, null, 1920, 1080, 60);
+
+    assertEquals(Arrays.asList("2", "0"), getCameraIds(rankedCameras));
+    assertTrue(rankedCameras.get(0).meetsResolution);
+    assertFalse(rankedCameras.get(0).meetsFrameRate);
+  }
+
+  @Test
+  public void testComparesResolutionRegardlessOfOrientation() {
+    List<CameraCatalog.CameraInfo> cameras = Arrays.asList(
+      createCamera("0", false, CameraCatalog.Lens.WIDE, 1920, 1080, 30)
+    );
+
+    assertTrue(CameraCatalog.rank(cameras, false, null, 1080, 1920, 30).get(0).meetsResolution);
+    assertFalse(CameraCatalog.rank(cameras, false, null, 1440, 1920, 30).get(0).meetsResolution);
+  }
+
+  @Test
+  public void testRanksCamerasMeetingFrameRateFirst() {
+    List<CameraCatalog.CameraInfo> cameras = Arrays.asList(
+      createCamera("0", false, CameraCatalog.Lens.WIDE, 3840, 2160, 30),
+      createCamera("2", false, CameraCatalog.Lens.TELEPHOTO, 1920, 1080, 60)
+    );
+
+    assertEquals(Arrays.asList("2", "0"), getCameraIds(CameraCatalog.rank(cameras, false, null, 1920, 1080, 60)));
+  }
+
+  @Test
+  public void testPrefersWideLensWithoutRequestedLens() {
+    List<CameraCatalog.CameraInfo> cameras = Arrays.asList(
+      createCamera("2", false, CameraCatalog.Lens.ULTRA_WIDE, 3840, 2160, 30),
+      createCamera("3", false, CameraCatalog.Lens.TELEPHOTO, 3840, 2160, 30),
+      createCamera("0", false, CameraCatalog.Lens.WIDE, 1920, 1080, 30)
+    );
+
+    assertEquals("0", getCameraIds(CameraCatalog.rank(cameras, false, null, 1280, 720, 30)).get(0));
+  }
+
+  @Test
+  public void testPrefersLargestSensorOutput() {
+    List<CameraCatalog.CameraInfo> cameras = Arrays.asList(
+      createCamera("0", false, CameraCatalog.Lens.WIDE, 1920, 1080, 30),
+      createCamera("4", false, CameraCatalog.Lens.WIDE, 4000, 3000, 30),
+      createCamera("2", false, CameraCatalog.Lens.WIDE, 3840, 2160, 30)
+    );
+
+    assertEquals(Arrays.asList("4", "2", "0"), getCameraIds(CameraCatalog.rank(cameras, false, null, 1280, 720, 30)));
+  }
+}
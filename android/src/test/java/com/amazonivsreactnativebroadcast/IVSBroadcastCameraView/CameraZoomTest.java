@@ -0,0 +1,87 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+public class CameraZoomTest extends TestCase {
+
+  @Test
+  public void testCoversCanvasWithoutZoom() {
+    ScreenCaptureLayout.Frame frame = new CameraZoom().getFrame(1280, 720);
+
+    assertEquals(0f, frame.x);
+    assertEquals(0f, frame.y);
+    assertEquals(1280f, frame.width);
+    assertEquals(720f, frame.height);
+  }
+
+  @Test
+  public void testKeepsFocusInPlace() {
+    CameraZoom zoom = new CameraZoom();
+
+    assertTrue(zoom.scaleBy(2, 0.25f, 0.5f));
+
+    ScreenCaptureLayout.Frame frame = zoom.getFrame(1280, 720);
+    assertEquals(2f, zoom.getZoom());
+    assertEquals(2560f, frame.width);
+    assertEquals(1440f, frame.height);
+    // The camera point at a quarter of the width is still under the focus.
+    assertEquals(320f, frame.x + 0.25f * frame.width, 0.001f);
+    assertEquals(360f, frame.y + 0.5f * frame.height, 0.001f);
+  }
+
+  @Test
+  public void testKeepsSlotCoveringCanvas() {
+    CameraZoom zoom = new CameraZoom();
+
+    zoom.scaleBy(3, 1, 1);
+    zoom.scaleBy(0.5f, 0, 0);
+
+    ScreenCaptureLayout.Frame frame = zoom.getFrame(1000, 1000);
+    assertEquals(1500f, frame.width);
+    assertTrue(frame.x <= 0 && frame.x + frame.width >= 1000);
+    assertTrue(frame.y <= 0 && frame.y + frame.height >= 1000);
+  }
+
+  @Test
+  public void testClampsToLimits() {
+    CameraZoom zoom = new CameraZoom();
+    zoom.setLimits(0.5f, 2);
+
+    assertEquals(CameraZoom.MIN_ZOOM, zoom.getMinZoom());
+    assertFalse(zoom.scaleBy(0.5f, 0.5f, 0.5f));
+    assertTrue(zoom.scaleBy(10, 0.5f, 0.5f));
+    assertEquals(2f, zoom.getZoom());
+    assertFalse(zoom.scaleBy(1.5f, 0.5f, 0.5f));
+  }
+
+  @Test
+  public void testFitsZoomIntoNewLimits() {
+    CameraZoom zoom = new CameraZoom();
+    zoom.scaleBy(4, 0.5f, 0.5f);
+
+    assertTrue(zoom.setLimits(1, 2));
+
+    ScreenCaptureLayout.Frame frame = zoom.getFrame(1000, 1000);
+    assertEquals(2f, zoom.getZoom());
+    assertEquals(-500f, frame.x, 0.001f);
+    assertEquals(-500f, frame.y, 0.001f);
+    assertFalse(zoom.setLimits(1, 3));
+  }
+
+  @Test
+  public void testResetsToMinZoom() {
+    CameraZoom zoom = new CameraZoom();
+    zoom.setLimits(1.5f, 3);
+    zoom.scaleBy(2, 0.1f, 0.9f);
+
+    zoom.reset();
+
+    ScreenCaptureLayout.Frame frame = zoom.getFrame(100, 100);
+    assertEquals(1.5f, zoom.getZoom());
+    assertEquals(-25f, frame.x, 0.001f);
+    assertEquals(-25f, frame.y, 0.001f);
+    assertEquals(150f, frame.width);
+  }
+}
@@ -0,0 +1,155 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+public class EncoderProfileTest extends TestCase {
+
+  private static final String FINGERPRINT = "vendor/device:12/build:user/release-keys";
+
+  // 1280x720 (3600 macroblocks) at 30 fps.
+  private static final long MACROBLOCKS_PER_SECOND_720P_30 = 108000;
+
+  private static EncoderProfile createProfile(EncoderProfile.AvcProfile maxProfile, long maxMacroblocksPerSecond) {
+    return new EncoderProfile(
+      FINGERPRINT,
+      "OMX.vendor.video.encoder.avc",
+      true,
+      maxProfile,
+      512,
+      1920,
+      1088,
+      2,
+      2,
+      60,
+      maxMacroblocksPerSecond,
+      4000000
+    );
+  }
+
+  private static EncoderProfile.VideoConfig createVideoConfig(int width, int height, int frameRate) {
+    return new EncoderProfile.VideoConfig(width, height, frameRate, 2000000, 500000, 3500000, false);
+  }
+
+  private static EncoderProfile.Adjustment findAdjustment(EncoderProfile.ClampResult result, String key) {
+    for (EncoderProfile.Adjustment adjustment : result.adjustments) {
+      if (adjustment.key.equals(key)) return adjustment;
+    }
+    return null;
+  }
+
+  @Test
+  public void testRoundTripsSerializedProfile() {
+    EncoderProfile profile = createProfile(EncoderProfile.AvcProfile.MAIN, MACROBLOCKS_PER_SECOND_720P_30);
+
+    EncoderProfile parsedProfile = EncoderProfile.parse(profile.serialize(), FINGERPRINT);
+
+    assertNotNull(parsedProfile);
+    assertEquals(profile.encoderName, parsedProfile.encoderName);
+    assertEquals(profile.isHardwareAccelerated, parsedProfile.isHardwareAccelerated);
+    assertEquals(EncoderProfile.AvcProfile.MAIN, parsedProfile.maxProfile);
+    assertEquals(profile.maxLevel, parsedProfile.maxLevel);
+    assertEquals(profile.maxWidth, parsedProfile.maxWidth);
+    assertEquals(profile.maxHeight, parsedProfile.maxHeight);
+    assertEquals(profile.maxFrameRate, parsedProfile.maxFrameRate);
+    assertEquals(profile.maxMacroblocksPerSecond, parsedProfile.maxMacroblocksPerSecond);
+    assertEquals(profile.maxBitrate, parsedProfile.maxBitrate);
+  }
+
+  @Test
+  public void testRejectsProfileOfAnotherSystemBuild() {
+    EncoderProfile profile = createProfile(EncoderProfile.AvcProfile.HIGH, MACROBLOCKS_PER_SECOND_720P_30);
+
+    assertNull(EncoderProfile.parse(profile.serialize(), "vendor/device:13/build:user/release-keys"));
+  }
+
+  @Test
+  public void testRejectsMalformedProfile() {
+    assertNull(EncoderProfile.parse("", FINGERPRINT));
+    assertNull(EncoderProfile.parse("version=1\nfingerprint=" + FINGERPRINT + "\nencoderName=avc\n", FINGERPRINT));
+  }
+
+  @Test
+  public void testFitsPortraitSizeIntoLandscapeMaxSize() {
+    EncoderProfile profile = createProfile(EncoderProfile.AvcProfile.HIGH, MACROBLOCKS_PER_SECOND_720P_30 * 4);
+
+    EncoderProfile.ClampResult result = profile.clamp(createVideoConfig(1080, 1920, 30));
+
+    assertNull(findAdjustment(result, "width"));
+    assertEquals(1080, result.videoConfig.width);
+    assertEquals(1920, result.videoConfig.height);
+  }
+
+  @Test
+  public void testKeepsSustainableConfig() {
+    EncoderProfile profile = createProfile(EncoderProfile.AvcProfile.HIGH, MACROBLOCKS_PER_SECOND_720P_30);
+
+    EncoderProfile.ClampResult result = profile.clamp(createVideoConfig(720, 1280, 30));
+
+    assertTrue(result.adjustments.isEmpty());
+    assertEquals(720, result.videoConfig.width);
+    assertEquals(1280, result.videoConfig.height);
+    assertEquals(30, result.videoConfig.frameRate);
+  }
+
+  @Test
+  public void testLowersFrameRateFirst() {
+    EncoderProfile profile = createProfile(EncoderProfile.AvcProfile.HIGH, MACROBLOCKS_PER_SECOND_720P_30);
+
+    EncoderProfile.ClampResult result = profile.clamp(createVideoConfig(720, 1280, 60));
+
+    assertEquals(720, result.videoConfig.width);
+    assertEquals(1280, result.videoConfig.height);
+    assertEquals(30, result.videoConfig.frameRate);
+    EncoderProfile.Adjustment adjustment = findAdjustment(result, "targetFrameRate");
+    assertNotNull(adjustment);
+    assertEquals(60.0, adjustment.requestedValue);
+    assertEquals(30.0, adjustment.adjustedValue);
+    assertEquals("exceedsMacroblockRate", adjustment.reason);
+  }
+
+  @Test
+  public void testLowersResolutionBelowMinSustainedFrameRate() {
+    EncoderProfile profile = createProfile(EncoderProfile.AvcProfile.HIGH, MACROBLOCKS_PER_SECOND_720P_30);
+
+    EncoderProfile.ClampResult result = profile.clamp(createVideoConfig(1080, 1920, 30));
+
+    assertEquals(EncoderProfile.MIN_SUSTAINED_FRAME_RATE, result.videoConfig.frameRate);
+    assertTrue(result.videoConfig.width < 1080);
+    assertTrue(result.videoConfig.height < 1920);
+    assertEquals(0, result.videoConfig.width % 2);
+    assertTrue(profile.getMaxFrameRate(result.videoConfig.width, result.videoConfig.height) >= EncoderProfile.MIN_SUSTAINED_FRAME_RATE);
+    assertEquals("exceedsMacroblockRate", findAdjustment(result, "width").reason);
+    assertEquals("exceedsMacroblockRate", findAdjustment(result, "targetFrameRate").reason);
+  }
+
+  @Test
+  public void testFitsSizeIntoMaxSize() {
+    EncoderProfile profile = createProfile(EncoderProfile.AvcProfile.HIGH, Long.MAX_VALUE / 2);
+
+    EncoderProfile.ClampResult result = profile.clamp(createVideoConfig(1920, 3840, 30));
+
+    assertEquals(960, result.videoConfig.width);
+    assertEquals(1920, result.videoConfig.height);
+    assertEquals("exceedsMaxSize", findAdjustment(result, "height").reason);
+  }
+
+  @Test
+  public void testClampsBitratesAndBFrames() {
+    EncoderProfile profile = createProfile(EncoderProfile.AvcProfile.BASELINE, MACROBLOCKS_PER_SECOND_720P_30);
+
+    EncoderProfile.ClampResult result = profile.clamp(
+      new EncoderProfile.VideoConfig(720, 1280, 30, 5000000, 500000, 8500000, true)
+    );
+
+    assertEquals(4000000, result.videoConfig.initialBitrate);
+    assertEquals(500000, result.videoConfig.minBitrate);
+    assertEquals(4000000, result.videoConfig.maxBitrate);
+    assertFalse(result.videoConfig.isBFrames);
+    assertEquals("exceedsMaxBitrate", findAdjustment(result, "bitrate").reason);
+    assertEquals("exceedsMaxBitrate", findAdjustment(result, "maxBitrate").reason);
+    assertNull(findAdjustment(result, "minBitrate"));
+    assertEquals("unsupportedProfile", findAdjustment(result, "isBFrames").reason);
+  }
+}
@@ -0,0 +1,48 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Runs the scheduled tasks in order of their time as the test advances the time, which also
+ * serves as the clock.
+ */
+final class FakeTimer implements Timer, Clock {
+  private long now = 0;
+  private final Map<Runnable, Long> tasks = new HashMap<>();
+
+  @Override
+  public long now() {
+    return now;
+  }
+
+  @Override
+  public void schedule(Runnable task, long delayMillis) {
+    tasks.put(task, now + delayMillis);
+  }
+
+  @Override
+  public void cancel(Runnable task) {
+    tasks.remove(task);
+  }
+
+  void advanceBy(long millis) {
+    long target = now + millis;
+    while (true) {
+      Runnable nextTask = null;
+      long nextTime = Long.MAX_VALUE;
+      for (Map.Entry<Runnable, Long> entry : tasks.entrySet()) {
+        if (entry.getValue() <= target && entry.getValue() < nextTime) {
+          nextTask = entry.getKey();
+          nextTime = entry.getValue();
+        }
+      }
+      if (nextTask == null) break;
+
+      tasks.remove(nextTask);
+      now = nextTime;
+      nextTask.run();
+    }
+    now = target;
+  }
+}
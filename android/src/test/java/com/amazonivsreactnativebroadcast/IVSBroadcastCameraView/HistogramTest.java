@@ -0,0 +1,84 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+public class HistogramTest extends TestCase {
+
+  @Test
+  public void testRecordsValuesIntoBuckets() {
+    Histogram histogram = new Histogram(10, 20, 30);
+    histogram.record(5);
+    histogram.record(10);
+    histogram.record(15);
+    histogram.record(35);
+
+    Histogram.Snapshot snapshot = histogram.getSnapshot();
+    // The upper bounds are inclusive, the last bucket collects the values above the highest one.
+    assertEquals(2, snapshot.buckets[0]);
+    assertEquals(1, snapshot.buckets[1]);
+    assertEquals(0, snapshot.buckets[2]);
+    assertEquals(1, snapshot.buckets[3]);
+    assertEquals(4, snapshot.count);
+    assertEquals(65, snapshot.sum);
+    assertEquals(5, snapshot.min);
+    assertEquals(35, snapshot.max);
+    assertEquals(16.25, snapshot.getMean(), 1e-9);
+  }
+
+  @Test
+  public void testComputesPercentilesFromBucketBounds() {
+    Histogram histogram = new Histogram(10, 20, 30);
+    for (int i = 0; i < 8; i++) {
+      histogram.record(5);
+    }
+    histogram.record(25);
+    histogram.record(100);
+
+    Histogram.Snapshot snapshot = histogram.getSnapshot();
+    assertEquals(10, snapshot.getPercentile(50));
+    assertEquals(30, snapshot.getPercentile(90));
+    // The overflow bucket has no upper bound.
+    assertEquals(100, snapshot.getPercentile(99));
+  }
+
+  @Test
+  public void testBoundsPercentilesByMaximum() {
+    Histogram histogram = new Histogram(10, 20, 30);
+    histogram.record(12);
+
+    assertEquals(12, histogram.getSnapshot().getPercentile(50));
+  }
+
+  @Test
+  public void testReportsEmptySnapshot() {
+    Histogram.Snapshot snapshot = new Histogram(10, 20).getSnapshot();
+
+    assertEquals(0, snapshot.count);
+    assertEquals(0, snapshot.min);
+    assertEquals(0, snapshot.max);
+    assertEquals(0, snapshot.getMean(), 1e-9);
+    assertEquals(0, snapshot.getPercentile(50));
+  }
+
+  @Test
+  public void testKeepsBoundsOfSnapshotsApart() {
+    Histogram histogram = new Histogram(10, 20);
+    histogram.getSnapshot().bounds[0] = 100;
+    histogram.record(15);
+
+    assertEquals(10, histogram.getSnapshot().bounds[0]);
+    assertEquals(1, histogram.getSnapshot().buckets[1]);
+  }
+
+  @Test
+  public void testRejectsUnsortedBounds() {
+    try {
+      new Histogram(10, 30, 20);
+      fail();
+    } catch (IllegalArgumentException error) {
+      assertTrue(error.getMessage().contains("ascending"));
+    }
+  }
+}
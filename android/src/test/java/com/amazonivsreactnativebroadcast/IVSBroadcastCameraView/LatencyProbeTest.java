@@ -0,0 +1,115 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import junit.framework.TestCase;
+
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Robolectric provides the org.json implementation.
+@RunWith(RobolectricTestRunner.class)
+public class LatencyProbeTest extends TestCase {
+  private static final long WALL_CLOCK_OFFSET = 1_600_000_000_000L;
+
+  private FakeTimer timer;
+  private List<String> sentPayloads;
+  private TimedMetadataScheduler scheduler;
+  private LatencyProbe probe;
+
+  @Before
+  public void setUp() throws Exception {
+    timer = new FakeTimer();
+    sentPayloads = new ArrayList<>();
+    scheduler = new TimedMetadataScheduler(
+      timer,
+      timer,
+      payload -> sentPayloads.add(payload),
+      1024,
+      1,
+      10
+    );
+    probe = new LatencyProbe(
+      timer,
+      () -> WALL_CLOCK_OFFSET + timer.now(),
+      timer,
+      scheduler::enqueue
+    );
+    probe.setConfig(new LatencyProbe.Config(true, 1000));
+  }
+
+  @Test
+  public void testProbesPeriodicallyWhileStarted() throws Exception {
+    probe.start("session");
+    timer.advanceBy(0);
+    assertEquals(1, sentPayloads.size());
+
+    timer.advanceBy(2000);
+    assertEquals(3, sentPayloads.size());
+    JSONObject payload = new JSONObject(sentPayloads.get(2));
+    assertEquals(LatencyProbe.PAYLOAD_TYPE, payload.optString("type"));
+    assertEquals("session", payload.optString("sessionId"));
+    assertEquals(2, payload.optLong("sequence"));
+
+    probe.stop();
+    timer.advanceBy(5000);
+    assertEquals(3, sentPayloads.size());
+  }
+
+  @Test
+  public void testDoesNothingWhenDisabled() {
+    probe.setConfig(new LatencyProbe.Config(false, 1000));
+    probe.start("session");
+
+    timer.advanceBy(5000);
+    assertTrue(sentPayloads.isEmpty());
+  }
+
+  @Test
+  public void testTimestampsProbeWhenSent() throws Exception {
+    // The rate limit holds the probe back behind the timed metadata sent before.
+    scheduler.enqueue("quiz", false);
+    timer.advanceBy(0);
+    timer.advanceBy(200);
+    probe.start("session");
+    timer.advanceBy(0);
+    assertEquals(1, sentPayloads.size());
+
+    timer.advanceBy(800);
+    assertEquals(2, sentPayloads.size());
+    JSONObject payload = new JSONObject(sentPayloads.get(1));
+    assertEquals(1000, payload.optLong("captureTimestamp"));
+    assertEquals(WALL_CLOCK_OFFSET + 1000, payload.optLong("wallClockTimestamp"));
+  }
+
+  @Test
+  public void testMeasuresOwnProbeWithMonotonicClock() {
+    probe.start("session");
+    timer.advanceBy(0);
+
+    timer.advanceBy(1500);
+    Long latency = probe.observe(sentPayloads.get(0));
+    assertEquals(Long.valueOf(1500), latency);
+    assertEquals(1, probe.getHistogramSnapshot().count);
+  }
+
+  @Test
+  public void testMeasuresForeignProbeWithWallClock() {
+    timer.advanceBy(10000);
+    String payload = "{\"type\":\"latencyProbe\",\"sessionId\":\"other\",\"sequence\":0,"
+      + "\"captureTimestamp\":0,\"wallClockTimestamp\":" + (WALL_CLOCK_OFFSET + 7500) + "}";
+
+    assertEquals(Long.valueOf(2500), probe.observe(payload));
+  }
+
+  @Test
+  public void testIgnoresOtherPayloads() {
+    assertNull(probe.observe("quiz"));
+    assertNull(probe.observe("{\"type\":\"poll\"}"));
+    assertEquals(0, probe.getHistogramSnapshot().count);
+  }
+}
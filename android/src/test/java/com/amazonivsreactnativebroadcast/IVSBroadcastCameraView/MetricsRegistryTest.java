@@ -0,0 +1,60 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class MetricsRegistryTest extends TestCase {
+
+  @Test
+  public void testKeepsMetricIdentity() {
+    MetricsRegistry registry = new MetricsRegistry();
+
+    assertSame(registry.counter("session.init"), registry.counter("session.init"));
+    assertSame(registry.gauge("session.active"), registry.gauge("session.active"));
+    assertSame(registry.histogram("commands.START.latency", 10, 100), registry.histogram("commands.START.latency"));
+  }
+
+  @Test
+  public void testSnapshotsRecordedMetrics() {
+    MetricsRegistry registry = new MetricsRegistry();
+    registry.counter("events.onError.emitted").increment();
+    registry.counter("state.CONNECTED.time").add(1500);
+    registry.counter("events.onPong.dropped");
+    registry.gauge("session.active").set(2);
+    registry.histogram("commands.PING.latency", 10, 100).record(42);
+    registry.histogram("commands.STOP.latency", 10, 100);
+
+    MetricsRegistry.Snapshot snapshot = registry.getSnapshot();
+
+    assertEquals(Arrays.asList("events.onError.emitted", "state.CONNECTED.time"), new ArrayList<>(snapshot.counters.keySet()));
+    assertEquals(Long.valueOf(1500), snapshot.counters.get("state.CONNECTED.time"));
+    assertEquals(Long.valueOf(2), snapshot.gauges.get("session.active"));
+    assertEquals(1, snapshot.histograms.size());
+    assertEquals(1, snapshot.histograms.get("commands.PING.latency").count);
+  }
+
+  @Test
+  public void testCountsConcurrently() throws InterruptedException {
+    MetricsRegistry registry = new MetricsRegistry();
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      Thread thread = new Thread(() -> {
+        for (int j = 0; j < 10000; j++) {
+          registry.counter("events.onBroadcastAudioStats.emitted").increment();
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertEquals(40000, registry.counter("events.onBroadcastAudioStats.emitted").get());
+  }
+}
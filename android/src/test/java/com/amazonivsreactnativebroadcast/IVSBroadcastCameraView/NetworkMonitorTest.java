@@ -0,0 +1,109 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import static org.robolectric.Shadows.shadowOf;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+import android.os.Handler;
+import android.os.Looper;
+
+import junit.framework.TestCase;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.shadows.ShadowNetwork;
+import org.robolectric.shadows.ShadowNetworkCapabilities;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RunWith(RobolectricTestRunner.class)
+public class NetworkMonitorTest extends TestCase {
+
+  private ConnectivityManager connectivityManager;
+  private NetworkMonitor networkMonitor;
+  private final List<String> changes = new ArrayList<>();
+
+  @Before
+  public void setUp() throws Exception {
+    connectivityManager = (ConnectivityManager) RuntimeEnvironment.application.getSystemService(Context.CONNECTIVITY_SERVICE);
+    networkMonitor = new NetworkMonitor(
+      connectivityManager,
+      new Handler(Looper.getMainLooper()),
+      (previousNetworkType, networkType) -> changes.add(previousNetworkType + "->" + networkType)
+    );
+  }
+
+  private Network createNetwork(int netId, int transportType) {
+    Network network = ShadowNetwork.newInstance(netId);
+    NetworkCapabilities capabilities = ShadowNetworkCapabilities.newInstance();
+    shadowOf(capabilities).addTransportType(transportType);
+    shadowOf(connectivityManager).setNetworkCapabilities(network, capabilities);
+    return network;
+  }
+
+  private void makeDefault(Network network) {
+    for (ConnectivityManager.NetworkCallback callback : shadowOf(connectivityManager).getNetworkCallbacks()) {
+      callback.onAvailable(network);
+    }
+    shadowOf(Looper.getMainLooper()).idle();
+  }
+
+  private void lose(Network network) {
+    for (ConnectivityManager.NetworkCallback callback : shadowOf(connectivityManager).getNetworkCallbacks()) {
+      callback.onLost(network);
+    }
+    shadowOf(Looper.getMainLooper()).idle();
+  }
+
+  @Test
+  public void testIgnoresInitialNetwork() {
+    networkMonitor.start();
+
+    makeDefault(createNetwork(1, NetworkCapabilities.TRANSPORT_WIFI));
+
+    assertTrue(changes.isEmpty());
+    assertEquals(NetworkMonitor.TYPE_WIFI, networkMonitor.getDefaultNetworkType());
+  }
+
+  @Test
+  public void testReportsHandoffToCellular() {
+    networkMonitor.start();
+    Network wifi = createNetwork(1, NetworkCapabilities.TRANSPORT_WIFI);
+    makeDefault(wifi);
+
+    lose(wifi);
+    makeDefault(createNetwork(2, NetworkCapabilities.TRANSPORT_CELLULAR));
+
+    assertEquals(1, changes.size());
+    assertEquals("wifi->cellular", changes.get(0));
+  }
+
+  @Test
+  public void testIgnoresSameNetworkAgain() {
+    networkMonitor.start();
+    Network wifi = createNetwork(1, NetworkCapabilities.TRANSPORT_WIFI);
+    makeDefault(wifi);
+
+    makeDefault(wifi);
+
+    assertTrue(changes.isEmpty());
+  }
+
+  @Test
+  public void testUnregistersOnStop() {
+    networkMonitor.start();
+    assertEquals(1, shadowOf(connectivityManager).getNetworkCallbacks().size());
+    makeDefault(createNetwork(1, NetworkCapabilities.TRANSPORT_WIFI));
+
+    networkMonitor.stop();
+
+    assertTrue(shadowOf(connectivityManager).getNetworkCallbacks().isEmpty());
+    assertEquals(NetworkMonitor.TYPE_UNKNOWN, networkMonitor.getDefaultNetworkType());
+  }
+}
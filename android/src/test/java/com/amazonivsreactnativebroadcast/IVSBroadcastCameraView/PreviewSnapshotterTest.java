@@ -0,0 +1,138 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import android.os.Looper;
+import android.widget.FrameLayout;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.WritableMap;
+
+import junit.framework.TestCase;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.robolectric.Shadows.shadowOf;
+
+@RunWith(RobolectricTestRunner.class)
+public class PreviewSnapshotterTest extends TestCase {
+
+  private static class FakePromise implements Promise {
+    boolean isSettled = false;
+    String code;
+    String message;
+
+    private void settle(String code, String message) {
+      isSettled = true;
+      this.code = code;
+      this.message = message;
+    }
+
+    @Override
+    public void resolve(@Nullable Object value) {
+      settle(null, null);
+    }
+
+    @Override
+    public void reject(String code, String message) {
+      settle(code, message);
+    }
+
+    @Override
+    public void reject(String code, Throwable throwable) {
+      settle(code, throwable.getMessage());
+    }
+
+    @Override
+    public void reject(String code, String message, Throwable throwable) {
+      settle(code, message);
+    }
+
+    @Override
+    public void reject(Throwable throwable) {
+      settle(null, throwable.getMessage());
+    }
+
+    @Override
+    public void reject(Throwable throwable, WritableMap userInfo) {
+      settle(null, throwable.getMessage());
+    }
+
+    @Override
+    public void reject(String code, @NonNull WritableMap userInfo) {
+      settle(code, null);
+    }
+
+    @Override
+    public void reject(String code, Throwable throwable, WritableMap userInfo) {
+      settle(code, throwable.getMessage());
+    }
+
+    @Override
+    public void reject(String code, String message, @NonNull WritableMap userInfo) {
+      settle(code, message);
+    }
+
+    @Override
+    public void reject(String code, String message, Throwable throwable, WritableMap userInfo) {
+      settle(code, message);
+    }
+
+    @Override
+    @Deprecated
+    public void reject(String message) {
+      settle(null, message);
+    }
+  }
+
+  private PreviewSnapshotter snapshotter;
+  private FrameLayout root;
+
+  @Before
+  public void setUp() throws Exception {
+    snapshotter = new PreviewSnapshotter(RuntimeEnvironment.application);
+    root = new FrameLayout(RuntimeEnvironment.application);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    snapshotter.release();
+  }
+
+  @Test
+  public void testRejectsWithoutPreviewSurface() {
+    FakePromise promise = new FakePromise();
+
+    snapshotter.capture(root, 320, PreviewSnapshotter.Format.JPEG, 80, promise);
+    shadowOf(Looper.getMainLooper()).idle();
+
+    assertTrue(promise.isSettled);
+    assertEquals(PreviewSnapshotter.E_PREVIEW_UNAVAILABLE, promise.code);
+    assertEquals("Camera preview is not available.", promise.message);
+  }
+
+  @Test
+  public void testRejectsCaptureQueuedBeforeRelease() {
+    FakePromise promise = new FakePromise();
+
+    snapshotter.capture(root, 320, PreviewSnapshotter.Format.JPEG, 80, promise);
+    snapshotter.release();
+    shadowOf(Looper.getMainLooper()).idle();
+
+    assertTrue(promise.isSettled);
+    assertEquals(PreviewSnapshotter.E_PREVIEW_UNAVAILABLE, promise.code);
+    assertEquals("Camera preview has been released.", promise.message);
+  }
+
+  @Test
+  public void testParsesFormat() {
+    assertEquals(PreviewSnapshotter.Format.WEBP, PreviewSnapshotter.Format.fromString("webp"));
+    assertEquals("jpeg", PreviewSnapshotter.Format.JPEG.toString());
+  }
+}
@@ -0,0 +1,199 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import junit.framework.TestCase;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ResourceProfilerTest extends TestCase {
+
+  private static class FakeSource implements ResourceProfiler.Source {
+    long processCpuTime = 0;
+    long javaHeap = 0;
+    long nativeHeap = 0;
+    long gcCount = 0;
+    long blockingGcCount = 0;
+    int threadCount = 0;
+    long threadCpuTime = 0;
+    long readCost = 0;
+
+    @Override
+    public long getProcessCpuTimeMillis() {
+      return processCpuTime;
+    }
+
+    @Override
+    public long getJavaHeapBytes() {
+      return javaHeap;
+    }
+
+    @Override
+    public long getNativeHeapBytes() {
+      return nativeHeap;
+    }
+
+    @Override
+    public long getGcCount() {
+      return gcCount;
+    }
+
+    @Override
+    public long getBlockingGcCount() {
+      return blockingGcCount;
+    }
+
+    @Override
+    public int getThreadCount() {
+      return threadCount;
+    }
+
+    // Every read of the thread CPU time is one more sampling step.
+    @Override
+    public long getThreadCpuTimeNanos() {
+      threadCpuTime += readCost;
+      return threadCpuTime;
+    }
+  }
+
+  private FakeTimer timer;
+  private FakeSource source;
+  private List<ResourceProfiler.Summary> summaries;
+  private ResourceProfiler profiler;
+
+  @Before
+  public void setUp() throws Exception {
+    timer = new FakeTimer();
+    source = new FakeSource();
+    summaries = new ArrayList<>();
+    profiler = new ResourceProfiler(source, timer, timer);
+    profiler.setListener(summaries::add);
+    profiler.setConfig(new ResourceProfiler.Config(true, 1000, ResourceProfiler.DEFAULT_MAX_OVERHEAD));
+  }
+
+  // Advances the time second by second, the process spending the given CPU time in each.
+  private void runFor(int seconds, long cpuTimePerSecond) {
+    for (int i = 0; i < seconds; i++) {
+      source.processCpuTime += cpuTimePerSecond;
+      timer.advanceBy(1000);
+    }
+  }
+
+  @Test
+  public void testDoesNothingWhenDisabled() {
+    profiler.setConfig(new ResourceProfiler.Config(false, 1000, ResourceProfiler.DEFAULT_MAX_OVERHEAD));
+    profiler.start();
+    assertFalse(profiler.isRunning());
+
+    runFor(5, 500);
+    profiler.stop();
+    assertTrue(summaries.isEmpty());
+  }
+
+  @Test
+  public void testSummarizesSamplesOnStop() {
+    source.javaHeap = 1000;
+    source.nativeHeap = 4000;
+    source.threadCount = 40;
+    profiler.start();
+
+    runFor(4, 500);
+    source.javaHeap = 3000;
+    source.threadCount = 44;
+    source.gcCount = 3;
+    source.blockingGcCount = 1;
+    runFor(1, 1500);
+    assertTrue(summaries.isEmpty());
+
+    source.processCpuTime += 250;
+    timer.advanceBy(500);
+    profiler.stop();
+    assertFalse(profiler.isRunning());
+    assertEquals(1, summaries.size());
+
+    ResourceProfiler.Summary summary = summaries.get(0);
+    assertEquals(5500, summary.duration);
+    // The last sample is taken on stop.
+    assertEquals(6, summary.sampleCount);
+    assertEquals(0.5, summary.cpuUsage.min, 1e-9);
+    assertEquals(1.5, summary.cpuUsage.max, 1e-9);
+    assertEquals(1000, summary.javaHeap.min, 1e-9);
+    assertEquals(3000, summary.javaHeap.max, 1e-9);
+    assertEquals(4000, summary.nativeHeap.mean, 1e-9);
+    assertEquals(44, summary.threadCount.max, 1e-9);
+    assertEquals(3, summary.gcCount);
+    assertEquals(1, summary.blockingGcCount);
+  }
+
+  @Test
+  public void testCorrelatesSamplesWithTransmissionStatistics() {
+    profiler.start();
+    for (int i = 0; i < 10; i++) {
+      boolean isBusy = i % 2 == 0;
+      profiler.onTransmissionStatistics(isBusy ? 1_000_000 : 3_000_000, isBusy ? 200 : 50);
+      runFor(1, isBusy ? 900 : 100);
+    }
+    profiler.stop();
+
+    ResourceProfiler.Summary summary = summaries.get(0);
+    assertEquals(-1, summary.cpuUsageToBitrate, 1e-9);
+    assertEquals(1_000_000, summary.measuredBitrate.min, 1e-9);
+    assertEquals(200, summary.roundTripTime.max, 1e-9);
+    // The heap does not change, there is nothing to correlate.
+    assertTrue(Double.isNaN(summary.javaHeapToBitrate));
+  }
+
+  @Test
+  public void testIgnoresTransmissionStatisticsOfPreviousConnection() {
+    profiler.onTransmissionStatistics(1_000_000, 100);
+    profiler.start();
+    runFor(3, 500);
+    profiler.stop();
+
+    ResourceProfiler.Summary summary = summaries.get(0);
+    assertEquals(0, summary.measuredBitrate.max, 1e-9);
+    assertTrue(Double.isNaN(summary.cpuUsageToBitrate));
+  }
+
+  @Test
+  public void testBoundsSamplingOverhead() {
+    // 10ms per sample needs at least 2s between samples to stay within 0.5%.
+    source.readCost = 10_000_000;
+    profiler.start();
+    runFor(30, 500);
+    profiler.stop();
+
+    ResourceProfiler.Summary summary = summaries.get(0);
+    assertEquals(2000, summary.interval);
+    // The samples and the start, in microseconds.
+    assertEquals((summary.sampleCount + 1) * 10_000, summary.overheadCpuTime);
+    assertTrue(summary.overhead <= ResourceProfiler.DEFAULT_MAX_OVERHEAD);
+  }
+
+  @Test
+  public void testReportsUnknownGcCounts() {
+    source.gcCount = -1;
+    source.blockingGcCount = -1;
+    profiler.start();
+    runFor(2, 500);
+    profiler.stop();
+
+    ResourceProfiler.Summary summary = summaries.get(0);
+    assertEquals(-1, summary.gcCount);
+    assertEquals(-1, summary.blockingGcCount);
+  }
+
+  @Test
+  public void testResetDiscardsProfile() {
+    profiler.start();
+    runFor(2, 500);
+    profiler.reset();
+    assertFalse(profiler.isRunning());
+
+    profiler.stop();
+    runFor(2, 500);
+    assertTrue(summaries.isEmpty());
+  }
+}
@@ -0,0 +1,82 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+public class ScreenCaptureLayoutTest extends TestCase {
+
+  @Test
+  public void testDownscalesScreenIntoVideoSize() {
+    ScreenCaptureLayout.Frame frame = ScreenCaptureLayout.getCaptureFrame(1440, 3200, 720, 1280);
+
+    assertEquals(576f, frame.width);
+    assertEquals(1280f, frame.height);
+    assertEquals(72f, frame.x);
+    assertEquals(0f, frame.y);
+  }
+
+  @Test
+  public void testDoesNotUpscaleScreen() {
+    ScreenCaptureLayout.Frame frame = ScreenCaptureLayout.getCaptureFrame(480, 800, 720, 1280);
+
+    assertEquals(480f, frame.width);
+    assertEquals(800f, frame.height);
+    assertEquals(120f, frame.x);
+    assertEquals(240f, frame.y);
+  }
+
+  @Test
+  public void testKeepsCaptureSizeEven() {
+    ScreenCaptureLayout.Frame frame = ScreenCaptureLayout.getCaptureFrame(1080, 2340, 720, 1280);
+
+    assertEquals(0f, frame.width % 2);
+    assertEquals(0f, frame.height % 2);
+    assertTrue(frame.width <= 720);
+    assertTrue(frame.height <= 1280);
+  }
+
+  @Test
+  public void testPlacesCameraPipInCorner() {
+    ScreenCaptureLayout.Frame frame = ScreenCaptureLayout.getCameraPipFrame(
+      720,
+      1280,
+      ScreenCaptureLayout.Corner.BOTTOM_RIGHT,
+      ScreenCaptureLayout.DEFAULT_CAMERA_PIP_SCALE
+    );
+
+    assertEquals(216f, frame.width);
+    assertEquals(384f, frame.height);
+    assertEquals(720f - 216f - 29f, frame.x);
+    assertEquals(1280f - 384f - 29f, frame.y);
+
+    frame = ScreenCaptureLayout.getCameraPipFrame(720, 1280, ScreenCaptureLayout.Corner.TOP_LEFT, 0.3f);
+
+    assertEquals(29f, frame.x);
+    assertEquals(29f, frame.y);
+  }
+
+  @Test
+  public void testClampsCameraPipScale() {
+    ScreenCaptureLayout.Frame frame = ScreenCaptureLayout.getCameraPipFrame(
+      720,
+      1280,
+      ScreenCaptureLayout.Corner.TOP_RIGHT,
+      2
+    );
+
+    assertEquals(360f, frame.width);
+    assertEquals(640f, frame.height);
+  }
+
+  @Test
+  public void testRejectsUnknownCorner() {
+    assertEquals(ScreenCaptureLayout.Corner.BOTTOM_LEFT, ScreenCaptureLayout.Corner.fromString("bottomLeft"));
+    try {
+      ScreenCaptureLayout.Corner.fromString("center");
+      fail();
+    } catch (RuntimeException error) {
+      assertTrue(error.getMessage().contains("center"));
+    }
+  }
+}
@@ -0,0 +1,215 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import junit.framework.TestCase;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SessionStateMachineTest extends TestCase {
+
+  private static final int THREADS_COUNT = 8;
+  private static final int ITERATIONS_COUNT = 20000;
+
+  /**
+   * Stands in for the SDK session and counts how many times it has been released.
+   */
+  private static class SimulatedSession {
+    final int id;
+    final AtomicInteger releaseCount = new AtomicInteger();
+
+    SimulatedSession(int id) {
+      this.id = id;
+    }
+
+    void release() {
+      releaseCount.incrementAndGet();
+    }
+
+    String descriptor(String name) {
+      return id + ":" + name;
+    }
+  }
+
+  private SessionStateMachine<SimulatedSession, String> stateMachine;
+
+  @Before
+  public void setUp() throws Exception {
+    stateMachine = new SessionStateMachine<>();
+  }
+
+  private static void runConcurrently(int threadsCount, Runnable task) throws InterruptedException {
+    CountDownLatch startLatch = new CountDownLatch(1);
+    CountDownLatch doneLatch = new CountDownLatch(threadsCount);
+    ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+    for (int i = 0; i < threadsCount; i++) {
+      new Thread(() -> {
+        try {
+          startLatch.await();
+          task.run();
+        } catch (Throwable error) {
+          failures.add(error);
+        } finally {
+          doneLatch.countDown();
+        }
+      }).start();
+    }
+    startLatch.countDown();
+
+    assertTrue(doneLatch.await(60, TimeUnit.SECONDS));
+    if (!failures.isEmpty()) {
+      throw new AssertionError(failures.peek());
+    }
+  }
+
+  @Test
+  public void testInitializesOnlyOnce() {
+    SimulatedSession session = new SimulatedSession(1);
+
+    assertTrue(stateMachine.initialize(session, "camera", "microphone"));
+    assertFalse(stateMachine.initialize(new SimulatedSession(2), "camera", "microphone"));
+    assertSame(session, stateMachine.getSnapshot().session);
+    assertEquals(1, stateMachine.getSnapshot().generation);
+  }
+
+  @Test
+  public void testReleaseReturnsSessionOnce() {
+    SimulatedSession session = new SimulatedSession(1);
+    stateMachine.initialize(session, "camera", "microphone");
+
+    assertSame(session, stateMachine.release());
+    assertNull(stateMachine.release());
+    assertFalse(stateMachine.getSnapshot().isInitialized());
+    assertNull(stateMachine.getSnapshot().cameraDescriptor);
+  }
+
+  @Test
+  public void testIgnoresUpdatesOfReleasedSession() {
+    SimulatedSession oldSession = new SimulatedSession(1);
+    stateMachine.initialize(oldSession, "camera", "microphone");
+    stateMachine.release();
+    SimulatedSession newSession = new SimulatedSession(2);
+    stateMachine.initialize(newSession, "camera", "microphone");
+
+    assertFalse(stateMachine.setCameraDescriptor(oldSession, "front"));
+    assertFalse(stateMachine.setSessionId(oldSession, "old"));
+    assertEquals("camera", stateMachine.getSnapshot().cameraDescriptor);
+    assertNull(stateMachine.getSnapshot().sessionId);
+    assertTrue(stateMachine.setSessionId(newSession, "new"));
+    assertEquals("new", stateMachine.getSnapshot().sessionId);
+  }
+
+  @Test
+  public void testConcurrentReleaseDisposesSessionExactlyOnce() throws InterruptedException {
+    List<SimulatedSession> sessions = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      SimulatedSession session = new SimulatedSession(i);
+      sessions.add(session);
+      stateMachine.initialize(session, "camera", "microphone");
+
+      runConcurrently(4, () -> {
+        SimulatedSession releasedSession = stateMachine.release();
+        if (releasedSession != null) {
+          releasedSession.release();
+        }
+      });
+    }
+
+    for (SimulatedSession session : sessions) {
+      assertEquals(1, session.releaseCount.get());
+    }
+  }
+
+  @Test
+  public void testConcurrentLifecycleKeepsSnapshotsConsistent() throws InterruptedException {
+    AtomicInteger nextSessionId = new AtomicInteger();
+    AtomicBoolean isRunning = new AtomicBoolean(true);
+    ConcurrentLinkedQueue<SimulatedSession> createdSessions = new ConcurrentLinkedQueue<>();
+
+    // Readers act as the SDK listener and device callbacks, writers as the UI thread and late
+    // callbacks of previous sessions.
+    Thread[] readers = new Thread[2];
+    ConcurrentLinkedQueue<String> inconsistencies = new ConcurrentLinkedQueue<>();
+    for (int i = 0; i < readers.length; i++) {
+      readers[i] = new Thread(() -> {
+        while (isRunning.get()) {
+          SessionStateMachine.Snapshot<SimulatedSession, String> snapshot = stateMachine.getSnapshot();
+          if (!snapshot.isInitialized()) {
+            if (snapshot.session != null || snapshot.cameraDescriptor != null || snapshot.sessionId != null) {
+              inconsistencies.add("Idle snapshot carries session state");
+            }
+            continue;
+          }
+
+          String prefix = snapshot.session.id + ":";
+          if (!snapshot.cameraDescriptor.startsWith(prefix) || !snapshot.microphoneDescriptor.startsWith(prefix)) {
+            inconsistencies.add("Descriptor of another session: " + snapshot.cameraDescriptor);
+          }
+          if (snapshot.sessionId != null && !snapshot.sessionId.startsWith(prefix)) {
+            inconsistencies.add("Session id of another session: " + snapshot.sessionId);
+          }
+        }
+      });
+      readers[i].start();
+    }
+
+    runConcurrently(THREADS_COUNT, () -> {
+      for (int i = 0; i < ITERATIONS_COUNT; i++) {
+        SessionStateMachine.Snapshot<SimulatedSession, String> snapshot = stateMachine.getSnapshot();
+        SimulatedSession session = snapshot.session;
+
+        switch (i % 4) {
+          case 0: {
+            SimulatedSession newSession = new SimulatedSession(nextSessionId.incrementAndGet());
+            if (stateMachine.initialize(newSession, newSession.descriptor("camera"), newSession.descriptor("microphone"))) {
+              createdSessions.add(newSession);
+            }
+            break;
+          }
+          case 1: {
+            if (session != null) {
+              stateMachine.setCameraDescriptor(session, session.descriptor("camera" + i));
+            }
+            break;
+          }
+          case 2: {
+            if (session != null) {
+              stateMachine.setSessionId(session, session.descriptor("session" + i));
+            }
+            break;
+          }
+          default: {
+            SimulatedSession releasedSession = stateMachine.release();
+            if (releasedSession != null) {
+              releasedSession.release();
+            }
+          }
+        }
+      }
+    });
+
+    isRunning.set(false);
+    for (Thread reader : readers) {
+      reader.join();
+    }
+
+    SimulatedSession remainingSession = stateMachine.release();
+    if (remainingSession != null) {
+      remainingSession.release();
+    }
+
+    assertTrue(String.valueOf(inconsistencies.peek()), inconsistencies.isEmpty());
+    assertFalse(createdSessions.isEmpty());
+    for (SimulatedSession session : createdSessions) {
+      assertEquals(1, session.releaseCount.get());
+    }
+  }
+}
@@ -0,0 +1,143 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import junit.framework.TestCase;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TimedMetadataSchedulerTest extends TestCase {
+
+  private FakeTimer timer;
+  private List<String> sentPayloads;
+  private TimedMetadataScheduler scheduler;
+
+  @Before
+  public void setUp() throws Exception {
+    timer = new FakeTimer();
+    sentPayloads = new ArrayList<>();
+    scheduler = new TimedMetadataScheduler(
+      timer,
+      timer,
+      payload -> sentPayloads.add(payload),
+      32,
+      2,
+      10
+    );
+  }
+
+  @Test
+  public void testSendsMessageOnNextTick() {
+    scheduler.enqueue("quiz", false);
+    assertEquals(0, sentPayloads.size());
+
+    timer.advanceBy(0);
+    assertEquals(1, sentPayloads.size());
+    assertEquals("quiz", sentPayloads.get(0));
+  }
+
+  @Test
+  public void testSchedulesFramesOverRateLimit() {
+    scheduler.enqueue("a", false);
+    scheduler.enqueue("b", false);
+    scheduler.enqueue("c", false);
+
+    timer.advanceBy(0);
+    assertEquals(2, sentPayloads.size());
+    assertEquals(1, scheduler.getStatistics().queueDepth);
+
+    timer.advanceBy(999);
+    assertEquals(2, sentPayloads.size());
+
+    timer.advanceBy(1);
+    assertEquals(3, sentPayloads.size());
+    assertEquals("c", sentPayloads.get(2));
+    assertEquals(0, scheduler.getStatistics().droppedMessagesCount);
+  }
+
+  @Test
+  public void testBatchesSmallMessages() {
+    scheduler.enqueue("a", true);
+    scheduler.enqueue("b\"", true);
+    scheduler.enqueue("c", false);
+
+    timer.advanceBy(0);
+    assertEquals(2, sentPayloads.size());
+    assertEquals("[\"a\",\"b\\\"\"]", sentPayloads.get(0));
+    assertEquals("c", sentPayloads.get(1));
+    assertEquals(2, scheduler.getStatistics().batchedMessagesCount);
+    assertEquals(3, scheduler.getStatistics().sentMessagesCount);
+  }
+
+  @Test
+  public void testSplitsBatchAtPayloadLimit() {
+    scheduler.enqueue("012345678901234", true);
+    scheduler.enqueue("012345678901234", true);
+
+    timer.advanceBy(0);
+    assertEquals(2, sentPayloads.size());
+    assertEquals("[\"012345678901234\"]", sentPayloads.get(0));
+  }
+
+  @Test
+  public void testDropsOversizedMessage() {
+    assertFalse(scheduler.enqueue("0123456789012345678901234567890123456789", false));
+    assertEquals(1, scheduler.getStatistics().droppedMessagesCount);
+    assertEquals(0, scheduler.getStatistics().queueDepth);
+  }
+
+  @Test
+  public void testDropsMessagesWhenQueueIsFull() {
+    for (int i = 0; i < 10; i++) {
+      assertTrue(scheduler.enqueue("m", false));
+    }
+    assertFalse(scheduler.enqueue("m", false));
+    assertEquals(10, scheduler.getStatistics().queueDepth);
+    assertEquals(1, scheduler.getStatistics().droppedMessagesCount);
+  }
+
+  @Test
+  public void testCountsFailedSendsAsDropped() {
+    TimedMetadataScheduler failingScheduler = new TimedMetadataScheduler(timer, timer, payload -> false);
+    failingScheduler.enqueue("a", false);
+
+    timer.advanceBy(0);
+    assertEquals(1, failingScheduler.getStatistics().droppedMessagesCount);
+    assertEquals(0, failingScheduler.getStatistics().sentFramesCount);
+  }
+
+  @Test
+  public void testCreatesContentsWhenSent() {
+    scheduler.enqueue("a", false);
+    scheduler.enqueue("b", false);
+    scheduler.enqueue(() -> "sent at " + timer.now());
+
+    timer.advanceBy(0);
+    timer.advanceBy(1000);
+    assertEquals(3, sentPayloads.size());
+    assertEquals("sent at 1000", sentPayloads.get(2));
+  }
+
+  @Test
+  public void testDropsCreatedContentsOverPayloadLimit() {
+    StringBuilder contents = new StringBuilder("m");
+    assertTrue(scheduler.enqueue(() -> contents.toString()));
+    contents.append("0123456789012345678901234567890123456789");
+
+    timer.advanceBy(0);
+    assertEquals(0, sentPayloads.size());
+    assertEquals(1, scheduler.getStatistics().droppedMessagesCount);
+  }
+
+  @Test
+  public void testClearCancelsScheduledDrain() {
+    scheduler.enqueue("a", false);
+    scheduler.clear();
+
+    timer.advanceBy(1000);
+    assertEquals(0, sentPayloads.size());
+    assertEquals(1, scheduler.getStatistics().droppedMessagesCount);
+  }
+}
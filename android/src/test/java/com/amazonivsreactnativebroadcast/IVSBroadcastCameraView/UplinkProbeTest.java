@@ -0,0 +1,101 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import com.sun.net.httpserver.HttpServer;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class UplinkProbeTest extends TestCase {
+
+  private static HttpServer createEchoServer(int responseCode, AtomicLong receivedBytes) throws IOException {
+    HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext("/echo", exchange -> {
+      byte[] buffer = new byte[8192];
+      try (InputStream inputStream = exchange.getRequestBody()) {
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+          receivedBytes.addAndGet(read);
+        }
+      }
+      exchange.sendResponseHeaders(responseCode, -1);
+      exchange.close();
+    });
+    server.start();
+    return server;
+  }
+
+  @Test
+  public void testLeavesHeadroomBelowUplink() {
+    UplinkProbe.Bitrates bitrates = UplinkProbe.fromUplink(2000000, 300000, 6000000);
+
+    assertEquals(1600000, bitrates.maxBitrate);
+    assertEquals(1200000, bitrates.initialBitrate);
+    assertEquals(300000, bitrates.minBitrate);
+  }
+
+  @Test
+  public void testBoundsBitratesByConfigAndSdkLimits() {
+    UplinkProbe.Bitrates fastUplink = UplinkProbe.fromUplink(50000000, 300000, 3500000);
+
+    assertEquals(3500000, fastUplink.maxBitrate);
+    assertEquals(3500000, fastUplink.initialBitrate);
+
+    UplinkProbe.Bitrates slowUplink = UplinkProbe.fromUplink(80000, 300000, 3500000);
+
+    assertEquals(UplinkProbe.MIN_BITRATE, slowUplink.maxBitrate);
+    assertEquals(UplinkProbe.MIN_BITRATE, slowUplink.initialBitrate);
+    assertEquals(UplinkProbe.MIN_BITRATE, slowUplink.minBitrate);
+  }
+
+  @Test
+  public void testLowersConfiguredMinBelowInitialBitrate() {
+    UplinkProbe.Bitrates bitrates = UplinkProbe.fromUplink(1000000, 1500000, 6000000);
+
+    assertEquals(600000, bitrates.initialBitrate);
+    assertEquals(600000, bitrates.minBitrate);
+  }
+
+  @Test
+  public void testBoundsRecommendationByConfig() {
+    UplinkProbe.Bitrates bitrates = UplinkProbe.fromRecommendation(4000000, 1000000, 6000000, 3500000);
+
+    assertEquals(3500000, bitrates.initialBitrate);
+    assertEquals(1000000, bitrates.minBitrate);
+    assertEquals(3500000, bitrates.maxBitrate);
+  }
+
+  @Test
+  public void testMeasuresEchoUplink() throws IOException {
+    AtomicLong receivedBytes = new AtomicLong();
+    HttpServer server = createEchoServer(204, receivedBytes);
+    try {
+      String probeUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/echo";
+      long uplinkBitrate = UplinkProbe.measureEchoUplink(UplinkProbe.createEchoConnection(probeUrl), 100, System::currentTimeMillis);
+
+      assertTrue(receivedBytes.get() > 0);
+      assertTrue(uplinkBitrate > 0);
+    } finally {
+      server.stop(0);
+    }
+  }
+
+  @Test
+  public void testFailsOnEchoError() throws IOException {
+    HttpServer server = createEchoServer(500, new AtomicLong());
+    try {
+      String probeUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/echo";
+      UplinkProbe.measureEchoUplink(UplinkProbe.createEchoConnection(probeUrl), 50, System::currentTimeMillis);
+      fail();
+    } catch (IOException error) {
+      assertTrue(error.getMessage().contains("500"));
+    } finally {
+      server.stop(0);
+    }
+  }
+}
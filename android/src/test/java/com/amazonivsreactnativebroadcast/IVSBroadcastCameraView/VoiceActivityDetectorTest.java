@@ -0,0 +1,135 @@
+package com.amazonivsreactnativebroadcast.IVSBroadcastCameraView;
+
+import junit.framework.TestCase;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class VoiceActivityDetectorTest extends TestCase {
+  private static final double SILENCE = -80;
+  private static final double SPEECH = -20;
+
+  private long now;
+  private List<Boolean> voiceActivity;
+  private List<Boolean> clipping;
+  private VoiceActivityDetector detector;
+
+  @Before
+  public void setUp() throws Exception {
+    now = 0;
+    voiceActivity = new ArrayList<>();
+    clipping = new ArrayList<>();
+    detector = new VoiceActivityDetector(() -> now);
+    detector.setListener(new VoiceActivityDetector.Listener() {
+      @Override
+      public void onVoiceActivityChanged(boolean isSpeaking, double level) {
+        voiceActivity.add(isSpeaking);
+      }
+
+      @Override
+      public void onClippingChanged(boolean isClipping, double peak) {
+        clipping.add(isClipping);
+      }
+    });
+    detector.setConfig(new VoiceActivityDetector.Config(true, -45, 50, 300, 500, -1, 1000));
+  }
+
+  private void feed(double peak, double rms, long durationMillis) {
+    long end = now + durationMillis;
+    while (now < end) {
+      now += 10;
+      detector.onAudioStats(peak, rms);
+    }
+  }
+
+  @Test
+  public void testDetectsVoiceAfterAttack() {
+    feed(SILENCE, SILENCE, 1000);
+    assertTrue(voiceActivity.isEmpty());
+
+    // The smoothed level needs a few buffers to rise above the threshold.
+    feed(SPEECH + 6, SPEECH, 10);
+    assertTrue(voiceActivity.isEmpty());
+    feed(SPEECH + 6, SPEECH, 200);
+    assertEquals(1, voiceActivity.size());
+    assertTrue(voiceActivity.get(0));
+    assertTrue(detector.isSpeaking());
+  }
+
+  @Test
+  public void testReportsOnlyStateChanges() {
+    feed(SPEECH + 6, SPEECH, 2000);
+    assertEquals(1, voiceActivity.size());
+    assertTrue(clipping.isEmpty());
+  }
+
+  @Test
+  public void testKeepsVoiceDuringHangover() {
+    feed(SPEECH + 6, SPEECH, 500);
+    feed(SILENCE, SILENCE, 400);
+    // Short pauses between words do not end the voice activity.
+    assertEquals(1, voiceActivity.size());
+
+    feed(SPEECH + 6, SPEECH, 200);
+    feed(SILENCE, SILENCE, 2000);
+    assertEquals(2, voiceActivity.size());
+    assertFalse(voiceActivity.get(1));
+    assertFalse(detector.isSpeaking());
+  }
+
+  @Test
+  public void testIgnoresShortNoise() {
+    feed(SILENCE, SILENCE, 1000);
+    // A click is too short to lift the smoothed level above the threshold.
+    feed(-3, -30, 10);
+    feed(SILENCE, SILENCE, 1000);
+    assertTrue(voiceActivity.isEmpty());
+  }
+
+  @Test
+  public void testDetectsClippingImmediately() {
+    feed(-10, SPEECH, 100);
+    assertTrue(clipping.isEmpty());
+
+    feed(0, SPEECH, 10);
+    assertEquals(1, clipping.size());
+    assertTrue(clipping.get(0));
+
+    feed(-10, SPEECH, 500);
+    assertEquals(1, clipping.size());
+    feed(0, SPEECH, 10);
+    feed(-10, SPEECH, 990);
+    assertEquals(1, clipping.size());
+    feed(-10, SPEECH, 10);
+    assertEquals(2, clipping.size());
+    assertFalse(clipping.get(1));
+    assertFalse(detector.isClipping());
+  }
+
+  @Test
+  public void testDoesNothingWhenDisabled() {
+    detector.setConfig(new VoiceActivityDetector.Config(false, -45, 50, 300, 500, -1, 1000));
+    feed(0, SPEECH, 1000);
+    assertTrue(voiceActivity.isEmpty());
+    assertTrue(clipping.isEmpty());
+  }
+
+  @Test
+  public void testDisablingForgetsState() {
+    feed(0, SPEECH, 500);
+    assertTrue(detector.isSpeaking());
+    assertTrue(detector.isClipping());
+
+    detector.setConfig(new VoiceActivityDetector.Config(false, -45, 50, 300, 500, -1, 1000));
+    assertFalse(detector.isSpeaking());
+    assertFalse(detector.isClipping());
+
+    detector.setConfig(new VoiceActivityDetector.Config(true, -45, 50, 300, 500, -1, 1000));
+    feed(0, SPEECH, 500);
+    assertEquals(2, voiceActivity.size());
+    assertTrue(voiceActivity.get(1));
+  }
+}
@@ -223,6 +223,11 @@ const App: FC = () => {
     []
   );
 
+  const onPressBenchmarkButtonHandler = useCallback(async () => {
+    const benchmark = await cameraViewRef.current?.benchmarkCommandRoundTrip();
+    console.log('Command round trip benchmark: ', benchmark);
+  }, []);
+
   const isStartButtonVisible =
     isDisconnected || stateStatus === INITIAL_BROADCAST_STATE_STATUS;
 
@@ -295,6 +300,12 @@ const App: FC = () => {
                         onPress={() => onPressAspectModeButtonHandler(mode)}
                       />
                     ))}
+                    {__DEV__ && (
+                      <Button
+                        title="Benchmark"
+                        onPress={onPressBenchmarkButtonHandler}
+                      />
+                    )}
                   </View>
                 </View>
                 {(isStartButtonVisible || isConnecting) && (
@@ -1,11 +1,18 @@
-import React, { useRef, forwardRef, useImperativeHandle } from 'react';
+import React, {
+  useRef,
+  useMemo,
+  forwardRef,
+  useImperativeHandle,
+} from 'react';
 import {
   Platform,
   UIManager,
+  HostComponent,
   findNodeHandle,
   requireNativeComponent,
 } from 'react-native';
 
+import NativeIVSBroadcastCameraModule from './NativeIVSBroadcastCameraModule';
 import {
   Command,
   StateStatusEnum,
@@ -17,18 +24,88 @@ import {
   IIVSBroadcastCameraView,
   IIVSBroadcastCameraViewProps,
   IIVSBroadcastCameraNativeViewProps,
+  ITimedMetadataStatistics,
+  ILatencyHistogram,
+  IAudioProcessingStatistics,
+  IMetrics,
+  IRoundTripStatistics,
+  IStartResult,
+  IStopResult,
+  ISnapshot,
+  IScreenCapture,
+  IUplinkProbeResult,
+  ICameraOption,
 } from './IVSBroadcastCameraView.types';
 
 const isNumber = (value: unknown): value is number => typeof value === 'number';
 
+const globalObject = globalThis as unknown as {
+  readonly nativeFabricUIManager?: unknown;
+  readonly __turboModuleProxy?: unknown;
+  readonly performance?: { now(): number };
+};
+
+const isFabricEnabled = globalObject.nativeFabricUIManager != null;
+const isTurboModuleEnabled = globalObject.__turboModuleProxy != null;
+
+const now = () => globalObject.performance?.now() ?? Date.now();
+
+const getRoundTripStatistics = (samples: number[]): IRoundTripStatistics => {
+  const sortedSamples = [...samples].sort((a, b) => a - b);
+  const getPercentile = (percentile: number) =>
+    sortedSamples[
+      Math.min(
+        sortedSamples.length - 1,
+        Math.ceil((percentile / 100) * sortedSamples.length) - 1
+      )
+    ] ?? 0;
+
+  return {
+    iterations: samples.length,
+    mean: samples.reduce((sum, sample) => sum + sample, 0) / samples.length,
+    min: sortedSamples[0] ?? 0,
+    max: sortedSamples[sortedSamples.length - 1] ?? 0,
+    p50: getPercentile(50),
+    p90: getPercentile(90),
+  };
+};
+
 const UNKNOWN = 'unknown';
+// iOS does not answer the ping command, nor does a view about to be unmounted.
+const PING_TIMEOUT = 2000;
 export const NATIVE_VIEW_NAME = 'RCTIVSBroadcastCameraView';
 
-const NATIVE_SIDE_COMMANDS =
-  UIManager.getViewManagerConfig(NATIVE_VIEW_NAME).Commands;
+type NativeCommands =
+  typeof import('./IVSBroadcastCameraViewNativeComponent').Commands;
+type NativeViewRef = Parameters<NativeCommands['start']>[0];
 
-const RCTIVSBroadcastCameraView =
-  requireNativeComponent<IIVSBroadcastCameraNativeViewProps>(NATIVE_VIEW_NAME);
+const NativeComponent = isFabricEnabled
+  ? require('./IVSBroadcastCameraViewNativeComponent')
+  : null;
+
+const RCTIVSBroadcastCameraView: HostComponent<IIVSBroadcastCameraNativeViewProps> =
+  NativeComponent
+    ? NativeComponent.default
+    : requireNativeComponent<IIVSBroadcastCameraNativeViewProps>(
+        NATIVE_VIEW_NAME
+      );
+
+const FabricCommands: NativeCommands | null = NativeComponent
+  ? NativeComponent.Commands
+  : null;
+
+const IVSBroadcastCameraTurboModule = isTurboModuleEnabled
+  ? NativeIVSBroadcastCameraModule
+  : null;
+
+const getNativeModule = () => {
+  if (!NativeIVSBroadcastCameraModule) {
+    throw new Error(
+      `The native module is not available on the ${Platform.OS} platform.`
+    );
+  }
+  return NativeIVSBroadcastCameraModule;
+};
 
 export const getCommandIdByPlatform = (command: Command) => {
   switch (Platform.OS) {
@@ -36,7 +113,8 @@ export const getCommandIdByPlatform = (command: Command) => {
       return command;
     }
     case 'ios': {
-      return NATIVE_SIDE_COMMANDS[command];
+      // Resolved on demand, the view manager config is not available with Fabric.
+      return UIManager.getViewManagerConfig(NATIVE_VIEW_NAME).Commands[command];
     }
     default: {
       return '';
@@ -57,6 +135,17 @@ const IVSBroadcastCameraView = forwardRef<
     onBroadcastQualityChanged,
     onNetworkHealthChanged,
     onTransmissionStatisticsChanged,
+    onTimedMetadataStatisticsChanged,
+    onLatencyMeasured,
+    onBroadcastHealthChanged,
+    onVideoConfigAdjusted,
+    onAudioInputChanged,
+    onScreenCaptureStateChanged,
+    onCameraZoomChanged,
+    onNetworkHandoff,
+    onVoiceActivity,
+    onClipping,
+    onResourceProfile,
     onAudioSessionInterrupted,
     onAudioSessionResumed,
     onMediaServicesWereLost,
@@ -70,7 +159,44 @@ const IVSBroadcastCameraView = forwardRef<
     ...restProps
   } = props;
 
-  const nativeViewRef = useRef(null);
+  const nativeViewRef = useRef<NativeViewRef | null>(null);
+  const pendingPongsRef = useRef(new Map<number, () => void>());
+
+  // The native side builds and sends the payloads of the subscribed events only.
+  const subscribedEventsKey = Object.entries({
+    onError,
+    onBroadcastError,
+    onIsBroadcastReady,
+    onBroadcastAudioStats,
+    onBroadcastStateChanged,
+    onBroadcastQualityChanged,
+    onNetworkHealthChanged,
+    onTransmissionStatisticsChanged,
+    onTimedMetadataStatisticsChanged,
+    onLatencyMeasured,
+    onBroadcastHealthChanged,
+    onVideoConfigAdjusted,
+    onAudioInputChanged,
+    onScreenCaptureStateChanged,
+    onCameraZoomChanged,
+    onNetworkHandoff,
+    onVoiceActivity,
+    onClipping,
+    onResourceProfile,
+    onAudioSessionInterrupted,
+    onAudioSessionResumed,
+    onMediaServicesWereLost,
+    onMediaServicesWereReset,
+  })
+    .filter(([, eventHandler]) => eventHandler != null)
+    .map(([eventName]) => eventName)
+    // Awaited by benchmarkCommandRoundTrip.
+    .concat('onPong')
+    .join(',');
+  const subscribedEvents = useMemo(
+    () => subscribedEventsKey.split(','),
+    [subscribedEventsKey]
+  );
 
   useImperativeHandle<IIVSBroadcastCameraView, IIVSBroadcastCameraView>(
     parentRef,
@@ -87,15 +213,232 @@ const IVSBroadcastCameraView = forwardRef<
           params ?? []
         );
 
+      /**
+       * View commands go through the codegen commands of the Fabric component when the New
+       * Architecture is enabled, otherwise through the UIManager.
+       */
+      const dispatchCommand = (
+        fabricCommand: (commands: NativeCommands, viewRef: NativeViewRef) => void,
+        command: Command,
+        ...params: unknown[]
+      ) => {
+        const viewRef = nativeViewRef.current;
+        return FabricCommands && viewRef
+          ? fabricCommand(FabricCommands, viewRef)
+          : dispatchViewManagerCommand(command, ...params);
+      };
+
+      /**
+       * Session commands go through the TurboModule when the New Architecture is enabled,
+       * otherwise through the view manager.
+       */
+      const runCommand = (
+        turboModuleCommand: (
+          turboModule: NonNullable<typeof IVSBroadcastCameraTurboModule>,
+          viewTag: number
+        ) => void,
+        viewManagerCommand: () => void
+      ) =>
+        IVSBroadcastCameraTurboModule && reactTag != null
+          ? turboModuleCommand(IVSBroadcastCameraTurboModule, reactTag)
+          : viewManagerCommand();
+
+      const pingViewManager = (id: number) =>
+        new Promise<void>((resolve, reject) => {
+          const timeoutId = setTimeout(() => {
+            pendingPongsRef.current.delete(id);
+            reject(new Error(`Ping ${id} has not been answered in time.`));
+          }, PING_TIMEOUT);
+          pendingPongsRef.current.set(id, () => {
+            clearTimeout(timeoutId);
+            resolve();
+          });
+          dispatchCommand(
+            (commands, viewRef) => commands.ping(viewRef, id),
+            Command.Ping,
+            id
+          );
+        });
+
       return {
         start: (
           options: Parameters<IIVSBroadcastCameraView['start']>[number] = {}
-        ) => dispatchViewManagerCommand(Command.Start, options),
-        stop: () => dispatchViewManagerCommand(Command.Stop),
+        ) =>
+          runCommand(
+            (turboModule, viewTag) =>
+              turboModule.start(
+                viewTag,
+                options.rtmpsUrl ?? null,
+                options.streamKey ?? null
+              ),
+            () =>
+              dispatchCommand(
+                (commands, viewRef) =>
+                  commands.start(
+                    viewRef,
+                    options.rtmpsUrl ?? '',
+                    options.streamKey ?? ''
+                  ),
+                Command.Start,
+                options
+              )
+          ),
+        stop: () =>
+          runCommand(
+            (turboModule, viewTag) => turboModule.stop(viewTag),
+            () =>
+              dispatchCommand(
+                (commands, viewRef) => commands.stop(viewRef),
+                Command.Stop
+              )
+          ),
+        startAsync: async (
+          options: Parameters<
+            IIVSBroadcastCameraView['startAsync']
+          >[number] = {}
+        ) =>
+          (await getNativeModule().startAsync(
+            reactTag ?? -1,
+            options.rtmpsUrl ?? null,
+            options.streamKey ?? null,
+            options.timeout ?? 0
+          )) as IStartResult,
+        stopAsync: async (
+          options: Parameters<
+            IIVSBroadcastCameraView['stopAsync']
+          >[number] = {}
+        ) =>
+          (await getNativeModule().stopAsync(
+            reactTag ?? -1,
+            options.timeout ?? 0
+          )) as IStopResult,
+        captureSnapshot: async (
+          options: Parameters<
+            IIVSBroadcastCameraView['captureSnapshot']
+          >[number] = {}
+        ) =>
+          (await getNativeModule().captureSnapshot(
+            reactTag ?? -1,
+            options
+          )) as ISnapshot,
+        getAvailableCameras: async () =>
+          (await getNativeModule().getAvailableCameras(
+            reactTag ?? -1
+          )) as ICameraOption[],
+        probeUplink: async (
+          options: Parameters<
+            IIVSBroadcastCameraView['probeUplink']
+          >[number] = {}
+        ) =>
+          (await getNativeModule().probeUplink(
+            reactTag ?? -1,
+            options
+          )) as IUplinkProbeResult,
+        startScreenCapture: async (
+          options: Parameters<
+            IIVSBroadcastCameraView['startScreenCapture']
+          >[number] = {}
+        ) =>
+          (await getNativeModule().startScreenCapture(
+            reactTag ?? -1,
+            options
+          )) as IScreenCapture,
+        stopScreenCapture: async () =>
+          getNativeModule().stopScreenCapture(reactTag ?? -1),
+        sendTimedMetadata: (
+          contents: string,
+          options: Parameters<
+            IIVSBroadcastCameraView['sendTimedMetadata']
+          >[1] = {}
+        ) =>
+          runCommand(
+            (turboModule, viewTag) =>
+              turboModule.sendTimedMetadata(
+                viewTag,
+                contents,
+                !!options.isBatchable
+              ),
+            () =>
+              dispatchCommand(
+                (commands, viewRef) =>
+                  commands.sendTimedMetadata(
+                    viewRef,
+                    contents,
+                    !!options.isBatchable
+                  ),
+                Command.SendTimedMetadata,
+                contents,
+                options
+              )
+          ),
+        observeLatencyProbe: (payload: string) =>
+          runCommand(
+            (turboModule, viewTag) =>
+              turboModule.observeLatencyProbe(viewTag, payload),
+            () =>
+              dispatchCommand(
+                (commands, viewRef) =>
+                  commands.observeLatencyProbe(viewRef, payload),
+                Command.ObserveLatencyProbe,
+                payload
+              )
+          ),
+        getTimedMetadataStatistics: () =>
+          NativeIVSBroadcastCameraModule && reactTag != null
+            ? (NativeIVSBroadcastCameraModule.getTimedMetadataStatistics(
+                reactTag
+              ) as ITimedMetadataStatistics | null)
+            : null,
+        getLatencyHistogram: () =>
+          NativeIVSBroadcastCameraModule && reactTag != null
+            ? (NativeIVSBroadcastCameraModule.getLatencyHistogram(
+                reactTag
+              ) as ILatencyHistogram | null)
+            : null,
+        getAudioProcessingStatistics: () =>
+          NativeIVSBroadcastCameraModule && reactTag != null
+            ? (NativeIVSBroadcastCameraModule.getAudioProcessingStatistics(
+                reactTag
+              ) as IAudioProcessingStatistics | null)
+            : null,
+        getMetrics: () =>
+          NativeIVSBroadcastCameraModule
+            ? (NativeIVSBroadcastCameraModule.getMetrics() as IMetrics)
+            : null,
+        benchmarkCommandRoundTrip: async (iterations = 100) => {
+          const viewManagerSamples: number[] = [];
+          for (let id = 0; id < iterations; id++) {
+            const startedAt = now();
+            await pingViewManager(id);
+            viewManagerSamples.push(now() - startedAt);
+          }
+
+          // The same round trip to the view on the UI thread and back, through the module.
+          const moduleSamples: number[] = [];
+          if (NativeIVSBroadcastCameraModule && reactTag != null) {
+            for (let id = 0; id < iterations; id++) {
+              const startedAt = now();
+              await NativeIVSBroadcastCameraModule.ping(reactTag, id);
+              moduleSamples.push(now() - startedAt);
+            }
+          }
+
+          return {
+            viewManager: getRoundTripStatistics(viewManagerSamples),
+            module: moduleSamples.length
+              ? getRoundTripStatistics(moduleSamples)
+              : null,
+            isTurboModule: isTurboModuleEnabled,
+          };
+        },
         /**
          * @deprecated in favor of {@link cameraPosition}
          */
-        swapCamera: () => dispatchViewManagerCommand(Command.SwapCamera),
+        swapCamera: () =>
+          dispatchCommand(
+            (commands, viewRef) => commands.swapCamera(viewRef),
+            Command.SwapCamera
+          ),
       };
     },
     []
@@ -169,6 +512,49 @@ const IVSBroadcastCameraView = forwardRef<
       });
     };
 
+  const onTimedMetadataStatisticsChangedHandler: IIVSBroadcastCameraNativeViewProps['onTimedMetadataStatisticsChanged'] =
+    ({ nativeEvent }) =>
+      onTimedMetadataStatisticsChanged?.(nativeEvent.statistics);
+
+  const onLatencyMeasuredHandler: IIVSBroadcastCameraNativeViewProps['onLatencyMeasured'] =
+    ({ nativeEvent }) =>
+      onLatencyMeasured?.(nativeEvent.latency, nativeEvent.histogram);
+
+  const onBroadcastHealthChangedHandler: IIVSBroadcastCameraNativeViewProps['onBroadcastHealthChanged'] =
+    ({ nativeEvent }) => onBroadcastHealthChanged?.(nativeEvent.health);
+
+  const onVideoConfigAdjustedHandler: IIVSBroadcastCameraNativeViewProps['onVideoConfigAdjusted'] =
+    ({ nativeEvent }) =>
+      onVideoConfigAdjusted?.(nativeEvent.adjustments, nativeEvent.encoder);
+
+  const onAudioInputChangedHandler: IIVSBroadcastCameraNativeViewProps['onAudioInputChanged'] =
+    ({ nativeEvent }) => onAudioInputChanged?.(nativeEvent);
+
+  const onScreenCaptureStateChangedHandler: IIVSBroadcastCameraNativeViewProps['onScreenCaptureStateChanged'] =
+    ({ nativeEvent }) => onScreenCaptureStateChanged?.(nativeEvent);
+
+  const onCameraZoomChangedHandler: IIVSBroadcastCameraNativeViewProps['onCameraZoomChanged'] =
+    ({ nativeEvent }) => onCameraZoomChanged?.(nativeEvent);
+
+  const onNetworkHandoffHandler: IIVSBroadcastCameraNativeViewProps['onNetworkHandoff'] =
+    ({ nativeEvent }) => onNetworkHandoff?.(nativeEvent);
+
+  const onVoiceActivityHandler: IIVSBroadcastCameraNativeViewProps['onVoiceActivity'] =
+    ({ nativeEvent }) => onVoiceActivity?.(nativeEvent);
+
+  const onClippingHandler: IIVSBroadcastCameraNativeViewProps['onClipping'] =
+    ({ nativeEvent }) => onClipping?.(nativeEvent);
+
+  const onResourceProfileHandler: IIVSBroadcastCameraNativeViewProps['onResourceProfile'] =
+    ({ nativeEvent }) => onResourceProfile?.(nativeEvent.profile);
+
+  const onPongHandler: IIVSBroadcastCameraNativeViewProps['onPong'] = ({
+    nativeEvent,
+  }) => {
+    pendingPongsRef.current.get(nativeEvent.id)?.();
+    pendingPongsRef.current.delete(nativeEvent.id);
+  };
+
   const onAudioSessionInterruptedHandler: IIVSBroadcastCameraNativeViewProps['onAudioSessionInterrupted'] =
     () => onAudioSessionInterrupted?.();
 
@@ -192,6 +578,7 @@ const IVSBroadcastCameraView = forwardRef<
       cameraPreviewAspectMode={cameraPreviewAspectMode}
       isCameraPreviewMirrored={isCameraPreviewMirrored}
       cameraPosition={cameraPosition}
+      subscribedEvents={subscribedEvents}
       onError={onErrorHandler}
       onBroadcastError={onBroadcastErrorHandler}
       onIsBroadcastReady={onIsBroadcastReadyHandler}
@@ -200,6 +587,18 @@ const IVSBroadcastCameraView = forwardRef<
       onBroadcastQualityChanged={onBroadcastQualityChangedHandler}
       onNetworkHealthChanged={onNetworkHealthChangedHandler}
       onTransmissionStatisticsChanged={onTransmissionStatisticsChangedHandler}
+      onTimedMetadataStatisticsChanged={onTimedMetadataStatisticsChangedHandler}
+      onLatencyMeasured={onLatencyMeasuredHandler}
+      onBroadcastHealthChanged={onBroadcastHealthChangedHandler}
+      onVideoConfigAdjusted={onVideoConfigAdjustedHandler}
+      onAudioInputChanged={onAudioInputChangedHandler}
+      onScreenCaptureStateChanged={onScreenCaptureStateChangedHandler}
+      onCameraZoomChanged={onCameraZoomChangedHandler}
+      onNetworkHandoff={onNetworkHandoffHandler}
+      onVoiceActivity={onVoiceActivityHandler}
+      onClipping={onClippingHandler}
+      onResourceProfile={onResourceProfileHandler}
+      onPong={onPongHandler}
       onAudioSessionInterrupted={onAudioSessionInterruptedHandler}
       onAudioSessionResumed={onAudioSessionResumedHandler}
       onMediaServicesWereLost={onMediaServicesWereLostHandler}
@@ -10,6 +10,9 @@ export type ExtractComponentProps<T> = T extends
 export enum Command {
   Start = 'START',
   Stop = 'STOP',
+  SendTimedMetadata = 'SEND_TIMED_METADATA',
+  ObserveLatencyProbe = 'OBSERVE_LATENCY_PROBE',
+  Ping = 'PING',
   /**
    * @deprecated in favor of {@link CameraPosition}
    */
@@ -50,8 +53,20 @@ export type LogLevel = 'debug' | 'error' | 'info' | 'warning';
 
 export type CameraPosition = 'front' | 'back';
 
+export type CameraLens = 'wide' | 'ultraWide' | 'telephoto';
+
+export type AudioInput = 'auto' | 'builtIn' | 'wired' | 'usb' | 'bluetooth';
+
 export type CameraPreviewAspectMode = 'fit' | 'fill' | 'none';
 
+export type CameraPipCorner =
+  | 'topLeft'
+  | 'topRight'
+  | 'bottomLeft'
+  | 'bottomRight';
+
+export type SnapshotFormat = 'jpeg' | 'png' | 'webp';
+
 type AudioChannel = 1 | 2;
 
 type AudioQuality = 'minimum' | 'low' | 'medium' | 'high' | 'maximum';
@@ -92,6 +107,225 @@ export interface ITransmissionStatistics extends IBaseTransmissionStatistics {
   readonly broadcastQuality: BroadcastQuality;
 }
 
+export interface ITimedMetadataStatistics {
+  readonly queueDepth: number;
+  readonly sentMessagesCount: number;
+  readonly sentFramesCount: number;
+  readonly batchedMessagesCount: number;
+  readonly droppedMessagesCount: number;
+}
+
+export interface ILatencyHistogram {
+  readonly count: number;
+  readonly min: number;
+  readonly max: number;
+  readonly mean: number;
+  readonly p50: number;
+  readonly p90: number;
+  readonly p99: number;
+  readonly bounds: number[];
+  readonly buckets: number[];
+}
+
+export interface IAudioProcessingStatistics {
+  readonly channels: number;
+  readonly bufferDuration: number;
+  readonly processedBuffers: number;
+  readonly cpuTime: ILatencyHistogram;
+}
+
+export interface IFoldedBroadcastError {
+  readonly type: string;
+  readonly source: string;
+  readonly code: number;
+  readonly detail: string;
+  readonly isFatal: boolean;
+  readonly count: number;
+  readonly firstTimestamp: number;
+  readonly lastTimestamp: number;
+}
+
+export interface IBroadcastHealth {
+  readonly isConnected: boolean;
+  readonly isStalled: boolean;
+  readonly stallDuration: number;
+  readonly measuredBitrate: number;
+  readonly errors: IFoldedBroadcastError[];
+}
+
+export interface IVideoConfigAdjustment {
+  readonly key: string;
+  readonly requestedValue: number;
+  readonly adjustedValue: number;
+  readonly reason: string;
+}
+
+export interface IEncoderProfile {
+  readonly name: string;
+  readonly isHardwareAccelerated: boolean;
+  readonly maxProfile: string;
+  readonly maxWidth: number;
+  readonly maxHeight: number;
+  readonly maxFrameRate: number;
+  readonly maxBitrate: number;
+  readonly isCached: boolean;
+  readonly loadDuration: number;
+}
+
+export interface IAudioInputDevice {
+  readonly type: Exclude<AudioInput, 'auto'>;
+  readonly name: string;
+  readonly urn: string;
+}
+
+export interface IAudioInputChange {
+  readonly audioInput: IAudioInputDevice;
+  readonly previousAudioInput: IAudioInputDevice;
+  readonly attachDuration: number;
+  readonly audioGap: number | null;
+}
+
+export interface IMetricsHistogram {
+  readonly count: number;
+  readonly min: number;
+  readonly max: number;
+  readonly mean: number;
+  readonly p50: number;
+  readonly p90: number;
+  readonly p99: number;
+}
+
+export interface IMetrics {
+  readonly counters: Readonly<Record<string, number>>;
+  readonly gauges: Readonly<Record<string, number>>;
+  readonly histograms: Readonly<Record<string, IMetricsHistogram>>;
+}
+
+export interface IRoundTripStatistics {
+  readonly iterations: number;
+  readonly mean: number;
+  readonly min: number;
+  readonly max: number;
+  readonly p50: number;
+  readonly p90: number;
+}
+
+export interface ICommandRoundTripBenchmark {
+  readonly viewManager: IRoundTripStatistics;
+  readonly module: IRoundTripStatistics | null;
+  readonly isTurboModule: boolean;
+}
+
+export interface IStartResult {
+  readonly sessionId: string;
+  readonly timeToConnect: number;
+}
+
+export interface IStopResult {
+  readonly sessionId: string | null;
+  readonly timeToDisconnect: number;
+}
+
+export interface ICameraOption {
+  readonly cameraId: string;
+  readonly position: CameraPosition;
+  readonly lens: CameraLens;
+  readonly maxWidth: number;
+  readonly maxHeight: number;
+  readonly maxFrameRate: number;
+  readonly focalLength: number;
+  readonly isLogicalMultiCamera: boolean;
+  readonly meetsResolution: boolean;
+  readonly meetsFrameRate: boolean;
+  readonly isAttached: boolean;
+}
+
+export interface ISnapshot {
+  readonly uri: string;
+  readonly width: number;
+  readonly height: number;
+  readonly format: SnapshotFormat;
+  readonly captureDuration: number;
+  readonly encodeDuration: number;
+}
+
+export type UplinkProbeSource = 'networkTest' | 'echo';
+
+export interface IUplinkProbeResult {
+  readonly source: UplinkProbeSource;
+  readonly duration: number;
+  readonly uplinkBitrate: number | null;
+  readonly initialBitrate: number;
+  readonly minBitrate: number;
+  readonly maxBitrate: number;
+  readonly isApplied: boolean;
+}
+
+export interface IScreenCapture {
+  readonly width: number;
+  readonly height: number;
+}
+
+export interface IScreenCaptureState {
+  readonly isCapturing: boolean;
+  readonly width?: number;
+  readonly height?: number;
+}
+
+export interface ICameraZoom {
+  readonly zoom: number;
+  readonly minZoom: number;
+  readonly maxZoom: number;
+}
+
+export type NetworkType = 'wifi' | 'cellular' | 'ethernet' | 'unknown';
+
+export interface INetworkHandoff {
+  readonly previousNetworkType: NetworkType;
+  readonly networkType: NetworkType;
+  readonly duration: number;
+  readonly isReconnected: boolean;
+}
+
+export interface IVoiceActivity {
+  readonly isSpeaking: boolean;
+  readonly level: number;
+}
+
+export interface IClipping {
+  readonly isClipping: boolean;
+  readonly peak: number;
+}
+
+export interface IResourceMetric {
+  readonly mean: number;
+  readonly min: number;
+  readonly max: number;
+}
+
+export interface IResourceProfile {
+  readonly duration: number;
+  readonly sampleCount: number;
+  readonly interval: number;
+  readonly cpuUsage: IResourceMetric;
+  readonly javaHeap: IResourceMetric;
+  readonly nativeHeap: IResourceMetric;
+  readonly threadCount: IResourceMetric;
+  readonly gcCount: number | null;
+  readonly blockingGcCount: number | null;
+  readonly measuredBitrate: IResourceMetric;
+  readonly rtt: IResourceMetric;
+  readonly correlations: {
+    readonly cpuUsage: number | null;
+    readonly javaHeap: number | null;
+    readonly gc: number | null;
+  };
+  readonly overhead: {
+    readonly cpuTime: number;
+    readonly ratio: number;
+  };
+}
+
 export interface IBroadcastSessionError {
   readonly code: string;
   readonly type: string;
@@ -126,6 +360,74 @@ interface IAudioConfig {
   readonly quality?: AudioQuality;
 }
 
+interface ILatencyProbeConfig {
+  readonly isEnabled?: boolean;
+  readonly interval?: number;
+}
+
+interface IHealthMonitorConfig {
+  readonly isEnabled?: boolean;
+  readonly stallWindow?: number;
+  readonly errorFoldWindow?: number;
+  readonly stallBitrateThreshold?: number;
+}
+
+interface INoiseGateConfig {
+  readonly isEnabled?: boolean;
+  readonly threshold?: number;
+  readonly attack?: number;
+  readonly release?: number;
+}
+
+interface ICompressorConfig {
+  readonly isEnabled?: boolean;
+  readonly threshold?: number;
+  readonly ratio?: number;
+  readonly attack?: number;
+  readonly release?: number;
+  readonly makeupGain?: number;
+}
+
+interface ILimiterConfig {
+  readonly isEnabled?: boolean;
+  readonly ceiling?: number;
+  readonly release?: number;
+}
+
+interface IAudioProcessingConfig {
+  readonly isEnabled?: boolean;
+  readonly noiseGate?: INoiseGateConfig;
+  readonly compressor?: ICompressorConfig;
+  readonly limiter?: ILimiterConfig;
+  readonly gainRampDuration?: number;
+}
+
+interface IPinchZoomConfig {
+  readonly isEnabled?: boolean;
+  readonly minZoom?: number;
+  readonly maxZoom?: number;
+}
+
+interface IClippingConfig {
+  readonly threshold?: number;
+  readonly hangover?: number;
+}
+
+interface IVoiceActivityConfig {
+  readonly isEnabled?: boolean;
+  readonly threshold?: number;
+  readonly attack?: number;
+  readonly release?: number;
+  readonly hangover?: number;
+  readonly clipping?: IClippingConfig;
+}
+
+interface IResourceProfilerConfig {
+  readonly isEnabled?: boolean;
+  readonly interval?: number;
+  readonly maxOverhead?: number;
+}
+
 interface IConnectedStateMetadata {
   readonly sessionId: string;
 }
@@ -165,6 +467,29 @@ export interface INativeEventHandlers {
   onTransmissionStatisticsChanged: IEventHandler<
     Readonly<{ statistics: INativeTransmissionStatistics }>
   >;
+  onTimedMetadataStatisticsChanged: IEventHandler<
+    Readonly<{ statistics: ITimedMetadataStatistics }>
+  >;
+  onLatencyMeasured: IEventHandler<
+    Readonly<{ latency: number; histogram: ILatencyHistogram }>
+  >;
+  onBroadcastHealthChanged: IEventHandler<
+    Readonly<{ health: IBroadcastHealth }>
+  >;
+  onVideoConfigAdjusted: IEventHandler<
+    Readonly<{
+      adjustments: IVideoConfigAdjustment[];
+      encoder: IEncoderProfile;
+    }>
+  >;
+  onAudioInputChanged: IEventHandler<IAudioInputChange>;
+  onScreenCaptureStateChanged: IEventHandler<IScreenCaptureState>;
+  onCameraZoomChanged: IEventHandler<ICameraZoom>;
+  onNetworkHandoff: IEventHandler<INetworkHandoff>;
+  onVoiceActivity: IEventHandler<IVoiceActivity>;
+  onClipping: IEventHandler<IClipping>;
+  onResourceProfile: IEventHandler<Readonly<{ profile: IResourceProfile }>>;
+  onPong: IEventHandler<Readonly<{ id: number }>>;
   onAudioSessionInterrupted(): void;
   onAudioSessionResumed(): void;
   onMediaServicesWereLost(): void;
@@ -176,6 +501,7 @@ export interface IIVSBroadcastCameraNativeViewProps
     INativeEventHandlers {
   readonly style?: StyleProp<ViewStyle>;
   readonly testID?: string;
+  readonly subscribedEvents?: string[];
 }
 
 interface IBaseProps {
@@ -189,7 +515,18 @@ interface IBaseProps {
   readonly cameraPreviewAspectMode?: CameraPreviewAspectMode;
   readonly isCameraPreviewMirrored?: boolean;
   readonly cameraPosition?: CameraPosition;
+  readonly cameraId?: string;
+  readonly lens?: CameraLens;
   readonly isMuted?: boolean;
+  readonly audioInput?: AudioInput;
+  readonly latencyProbe?: ILatencyProbeConfig;
+  readonly healthMonitor?: IHealthMonitorConfig;
+  readonly isVideoConfigClamped?: boolean;
+  readonly audioProcessing?: IAudioProcessingConfig;
+  readonly pinchZoom?: IPinchZoomConfig;
+  readonly isNetworkHandoffEnabled?: boolean;
+  readonly voiceActivity?: IVoiceActivityConfig;
+  readonly resourceProfiler?: IResourceProfilerConfig;
 }
 
 export interface IEventHandlers {
@@ -212,6 +549,22 @@ export interface IEventHandlers {
   onTransmissionStatisticsChanged?(
     transmissionStatistics: ITransmissionStatistics
   ): void;
+  onTimedMetadataStatisticsChanged?(
+    timedMetadataStatistics: ITimedMetadataStatistics
+  ): void;
+  onLatencyMeasured?(latency: number, histogram: ILatencyHistogram): void;
+  onBroadcastHealthChanged?(health: IBroadcastHealth): void;
+  onVideoConfigAdjusted?(
+    adjustments: IVideoConfigAdjustment[],
+    encoder: IEncoderProfile
+  ): void;
+  onAudioInputChanged?(audioInputChange: IAudioInputChange): void;
+  onScreenCaptureStateChanged?(screenCaptureState: IScreenCaptureState): void;
+  onCameraZoomChanged?(cameraZoom: ICameraZoom): void;
+  onNetworkHandoff?(networkHandoff: INetworkHandoff): void;
+  onVoiceActivity?(voiceActivity: IVoiceActivity): void;
+  onClipping?(clipping: IClipping): void;
+  onResourceProfile?(resourceProfile: IResourceProfile): void;
   onAudioSessionInterrupted?(): void;
   onAudioSessionResumed?(): void;
   onMediaServicesWereLost?(): void;
@@ -227,9 +580,75 @@ export interface IIVSBroadcastCameraViewProps
 
 type StartMethodOptions = Pick<IBaseProps, 'rtmpsUrl' | 'streamKey'>;
 
+interface IStateTransitionOptions {
+  /**
+   * Milliseconds to wait for the state transition, 10000 by default.
+   */
+  readonly timeout?: number;
+}
+
+type StartAsyncMethodOptions = StartMethodOptions & IStateTransitionOptions;
+
+interface ICaptureSnapshotOptions {
+  readonly maxWidth?: number;
+  readonly format?: SnapshotFormat;
+  readonly quality?: number;
+}
+
+interface IProbeUplinkOptions extends StartMethodOptions {
+  /**
+   * URL of an echo endpoint to upload to instead of running the network test of the SDK.
+   */
+  readonly probeUrl?: string;
+  /**
+   * Milliseconds to upload to the echo endpoint, 5000 by default.
+   */
+  readonly duration?: number;
+  /**
+   * Milliseconds to wait for the network test of the SDK, 20000 by default.
+   */
+  readonly timeout?: number;
+  /**
+   * Whether the probed bitrates are applied to the broadcast session, true by default.
+   */
+  readonly isApplied?: boolean;
+}
+
+interface IScreenCaptureOptions {
+  readonly isCameraPipEnabled?: boolean;
+  readonly cameraPipCorner?: CameraPipCorner;
+  /**
+   * Size of the camera picture-in-picture relative to the video size, 0.3 by default.
+   */
+  readonly cameraPipScale?: number;
+}
+
+interface ISendTimedMetadataOptions {
+  readonly isBatchable?: boolean;
+}
+
 export interface IIVSBroadcastCameraView {
   start(options?: StartMethodOptions): void;
   stop(): void;
+  startAsync(options?: StartAsyncMethodOptions): Promise<IStartResult>;
+  stopAsync(options?: IStateTransitionOptions): Promise<IStopResult>;
+  captureSnapshot(options?: ICaptureSnapshotOptions): Promise<ISnapshot>;
+  getAvailableCameras(): Promise<ICameraOption[]>;
+  probeUplink(options?: IProbeUplinkOptions): Promise<IUplinkProbeResult>;
+  startScreenCapture(options?: IScreenCaptureOptions): Promise<IScreenCapture>;
+  stopScreenCapture(): Promise<boolean>;
+  sendTimedMetadata(
+    contents: string,
+    options?: ISendTimedMetadataOptions
+  ): void;
+  observeLatencyProbe(payload: string): void;
+  getTimedMetadataStatistics(): ITimedMetadataStatistics | null;
+  getLatencyHistogram(): ILatencyHistogram | null;
+  getAudioProcessingStatistics(): IAudioProcessingStatistics | null;
+  getMetrics(): IMetrics | null;
+  benchmarkCommandRoundTrip(
+    iterations?: number
+  ): Promise<ICommandRoundTripBenchmark>;
   /**
    * @deprecated in favor of {@link CameraPosition}
    */
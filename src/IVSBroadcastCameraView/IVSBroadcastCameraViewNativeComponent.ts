@@ -0,0 +1,328 @@
+import type { ElementRef } from 'react';
+import type { HostComponent, ViewProps } from 'react-native';
+import type {
+  Double,
+  Int32,
+  DirectEventHandler,
+} from 'react-native/Libraries/Types/CodegenTypes';
+import codegenNativeCommands from 'react-native/Libraries/Utilities/codegenNativeCommands';
+import codegenNativeComponent from 'react-native/Libraries/Utilities/codegenNativeComponent';
+
+type TransmissionStatistics = Readonly<{
+  rtt: Double;
+  recommendedBitrate: Double;
+  measuredBitrate: Double;
+  networkHealth: string;
+  broadcastQuality: string;
+}>;
+
+type TimedMetadataStatistics = Readonly<{
+  queueDepth: Int32;
+  sentMessagesCount: Double;
+  sentFramesCount: Double;
+  batchedMessagesCount: Double;
+  droppedMessagesCount: Double;
+}>;
+
+type LatencyHistogram = Readonly<{
+  count: Double;
+  min: Double;
+  max: Double;
+  mean: Double;
+  p50: Double;
+  p90: Double;
+  p99: Double;
+  bounds: ReadonlyArray<Double>;
+  buckets: ReadonlyArray<Double>;
+}>;
+
+type BroadcastHealth = Readonly<{
+  isConnected: boolean;
+  isStalled: boolean;
+  stallDuration: Double;
+  measuredBitrate: Double;
+  errors: ReadonlyArray<
+    Readonly<{
+      type: string;
+      source: string;
+      code: Int32;
+      detail: string;
+      isFatal: boolean;
+      count: Double;
+      firstTimestamp: Double;
+      lastTimestamp: Double;
+    }>
+  >;
+}>;
+
+type ResourceMetric = Readonly<{
+  mean: Double;
+  min: Double;
+  max: Double;
+}>;
+
+type ResourceProfile = Readonly<{
+  duration: Double;
+  sampleCount: Double;
+  interval: Double;
+  cpuUsage: ResourceMetric;
+  javaHeap: ResourceMetric;
+  nativeHeap: ResourceMetric;
+  threadCount: ResourceMetric;
+  gcCount?: Double;
+  blockingGcCount?: Double;
+  measuredBitrate: ResourceMetric;
+  rtt: ResourceMetric;
+  correlations: Readonly<{
+    cpuUsage?: Double;
+    javaHeap?: Double;
+    gc?: Double;
+  }>;
+  overhead: Readonly<{
+    cpuTime: Double;
+    ratio: Double;
+  }>;
+}>;
+
+type EncoderProfile = Readonly<{
+  name: string;
+  isHardwareAccelerated: boolean;
+  maxProfile: string;
+  maxWidth: Int32;
+  maxHeight: Int32;
+  maxFrameRate: Int32;
+  maxBitrate: Int32;
+  isCached: boolean;
+  loadDuration: Double;
+}>;
+
+type AudioInputDevice = Readonly<{
+  type: string;
+  name: string;
+  urn: string;
+}>;
+
+export interface INativeProps extends ViewProps {
+  rtmpsUrl?: string;
+  streamKey?: string;
+  configurationPreset?: string;
+  videoConfig?: Readonly<{
+    width?: Int32;
+    height?: Int32;
+    bitrate?: Int32;
+    targetFrameRate?: Int32;
+    keyframeInterval?: Int32;
+    isBFrames?: boolean;
+    isAutoBitrate?: boolean;
+    autoBitrateProfile?: string;
+    maxBitrate?: Int32;
+    minBitrate?: Int32;
+  }>;
+  audioConfig?: Readonly<{
+    bitrate?: Int32;
+    channels?: Int32;
+    audioSessionStrategy?: string;
+    quality?: string;
+  }>;
+  logLevel?: string;
+  sessionLogLevel?: string;
+  cameraPreviewAspectMode?: string;
+  isCameraPreviewMirrored?: boolean;
+  cameraPosition?: string;
+  cameraId?: string;
+  lens?: string;
+  isMuted?: boolean;
+  audioInput?: string;
+  latencyProbe?: Readonly<{
+    isEnabled?: boolean;
+    interval?: Double;
+  }>;
+  healthMonitor?: Readonly<{
+    isEnabled?: boolean;
+    stallWindow?: Double;
+    errorFoldWindow?: Double;
+    stallBitrateThreshold?: Double;
+  }>;
+  isVideoConfigClamped?: boolean;
+  audioProcessing?: Readonly<{
+    isEnabled?: boolean;
+    noiseGate?: Readonly<{
+      isEnabled?: boolean;
+      threshold?: Double;
+      attack?: Double;
+      release?: Double;
+    }>;
+    compressor?: Readonly<{
+      isEnabled?: boolean;
+      threshold?: Double;
+      ratio?: Double;
+      attack?: Double;
+      release?: Double;
+      makeupGain?: Double;
+    }>;
+    limiter?: Readonly<{
+      isEnabled?: boolean;
+      ceiling?: Double;
+      release?: Double;
+    }>;
+    gainRampDuration?: Double;
+  }>;
+  pinchZoom?: Readonly<{
+    isEnabled?: boolean;
+    minZoom?: Double;
+    maxZoom?: Double;
+  }>;
+  isNetworkHandoffEnabled?: boolean;
+  voiceActivity?: Readonly<{
+    isEnabled?: boolean;
+    threshold?: Double;
+    attack?: Double;
+    release?: Double;
+    hangover?: Double;
+    clipping?: Readonly<{
+      threshold?: Double;
+      hangover?: Double;
+    }>;
+  }>;
+  resourceProfiler?: Readonly<{
+    isEnabled?: boolean;
+    interval?: Double;
+    maxOverhead?: Double;
+  }>;
+  subscribedEvents?: ReadonlyArray<string>;
+  onError?: DirectEventHandler<Readonly<{ message: string }>>;
+  onBroadcastError?: DirectEventHandler<
+    Readonly<{
+      exception: Readonly<{
+        code?: Int32;
+        type?: string;
+        source?: string;
+        detail?: string;
+        isFatal?: boolean;
+        sessionId?: string;
+      }>;
+    }>
+  >;
+  onIsBroadcastReady?: DirectEventHandler<Readonly<{ isReady: boolean }>>;
+  onBroadcastAudioStats?: DirectEventHandler<
+    Readonly<{ audioStats: Readonly<{ peak: Double; rms: Double }> }>
+  >;
+  onBroadcastStateChanged?: DirectEventHandler<
+    Readonly<{
+      stateStatus: string;
+      metadata?: Readonly<{ sessionId: string }>;
+    }>
+  >;
+  onBroadcastQualityChanged?: DirectEventHandler<Readonly<{ quality: Double }>>;
+  onNetworkHealthChanged?: DirectEventHandler<
+    Readonly<{ networkHealth: Double }>
+  >;
+  onTransmissionStatisticsChanged?: DirectEventHandler<
+    Readonly<{ statistics: TransmissionStatistics }>
+  >;
+  onTimedMetadataStatisticsChanged?: DirectEventHandler<
+    Readonly<{ statistics: TimedMetadataStatistics }>
+  >;
+  onLatencyMeasured?: DirectEventHandler<
+    Readonly<{ latency: Double; histogram: LatencyHistogram }>
+  >;
+  onBroadcastHealthChanged?: DirectEventHandler<
+    Readonly<{ health: BroadcastHealth }>
+  >;
+  onVideoConfigAdjusted?: DirectEventHandler<
+    Readonly<{
+      adjustments: ReadonlyArray<
+        Readonly<{
+          key: string;
+          requestedValue: Double;
+          adjustedValue: Double;
+          reason: string;
+        }>
+      >;
+      encoder: EncoderProfile;
+    }>
+  >;
+  onAudioInputChanged?: DirectEventHandler<
+    Readonly<{
+      audioInput: AudioInputDevice;
+      previousAudioInput: AudioInputDevice;
+      attachDuration: Double;
+      audioGap?: Double;
+    }>
+  >;
+  onScreenCaptureStateChanged?: DirectEventHandler<
+    Readonly<{
+      isCapturing: boolean;
+      width?: Int32;
+      height?: Int32;
+    }>
+  >;
+  onCameraZoomChanged?: DirectEventHandler<
+    Readonly<{
+      zoom: Double;
+      minZoom: Double;
+      maxZoom: Double;
+    }>
+  >;
+  onNetworkHandoff?: DirectEventHandler<
+    Readonly<{
+      previousNetworkType: string;
+      networkType: string;
+      duration: Double;
+      isReconnected: boolean;
+    }>
+  >;
+  onVoiceActivity?: DirectEventHandler<
+    Readonly<{
+      isSpeaking: boolean;
+      level: Double;
+    }>
+  >;
+  onClipping?: DirectEventHandler<
+    Readonly<{
+      isClipping: boolean;
+      peak: Double;
+    }>
+  >;
+  onResourceProfile?: DirectEventHandler<
+    Readonly<{ profile: ResourceProfile }>
+  >;
+  onPong?: DirectEventHandler<Readonly<{ id: Double }>>;
+}
+
+type ComponentType = HostComponent<INativeProps>;
+
+interface INativeCommands {
+  start(
+    viewRef: ElementRef<ComponentType>,
+    rtmpsUrl: string,
+    streamKey: string
+  ): void;
+  stop(viewRef: ElementRef<ComponentType>): void;
+  swapCamera(viewRef: ElementRef<ComponentType>): void;
+  sendTimedMetadata(
+    viewRef: ElementRef<ComponentType>,
+    contents: string,
+    isBatchable: boolean
+  ): void;
+  observeLatencyProbe(
+    viewRef: ElementRef<ComponentType>,
+    payload: string
+  ): void;
+  ping(viewRef: ElementRef<ComponentType>, id: Double): void;
+}
+
+export const Commands = codegenNativeCommands<INativeCommands>({
+  supportedCommands: [
+    'start',
+    'stop',
+    'swapCamera',
+    'sendTimedMetadata',
+    'observeLatencyProbe',
+    'ping',
+  ],
+});
+
+export default codegenNativeComponent<INativeProps>(
+  'RCTIVSBroadcastCameraView'
+) as ComponentType;
@@ -0,0 +1,72 @@
+import type { TurboModule } from 'react-native/Libraries/TurboModule/RCTExport';
+import * as TurboModuleRegistry from 'react-native/Libraries/TurboModule/TurboModuleRegistry';
+
+// Codegen requires the TurboModule interface to be named `Spec`.
+// eslint-disable-next-line @typescript-eslint/naming-convention
+export interface Spec extends TurboModule {
+  start(
+    viewTag: number,
+    rtmpsUrl: string | null,
+    streamKey: string | null
+  ): void;
+  stop(viewTag: number): void;
+  startAsync(
+    viewTag: number,
+    rtmpsUrl: string | null,
+    streamKey: string | null,
+    timeout: number
+    // eslint-disable-next-line @typescript-eslint/ban-types
+  ): Promise<Object>;
+  // eslint-disable-next-line @typescript-eslint/ban-types
+  stopAsync(viewTag: number, timeout: number): Promise<Object>;
+  captureSnapshot(
+    viewTag: number,
+    options: {
+      maxWidth?: number;
+      format?: string;
+      quality?: number;
+    } | null
+    // eslint-disable-next-line @typescript-eslint/ban-types
+  ): Promise<Object>;
+  // eslint-disable-next-line @typescript-eslint/ban-types
+  getAvailableCameras(viewTag: number): Promise<Object[]>;
+  probeUplink(
+    viewTag: number,
+    options: {
+      rtmpsUrl?: string;
+      streamKey?: string;
+      probeUrl?: string;
+      duration?: number;
+      timeout?: number;
+      isApplied?: boolean;
+    } | null
+    // eslint-disable-next-line @typescript-eslint/ban-types
+  ): Promise<Object>;
+  startScreenCapture(
+    viewTag: number,
+    options: {
+      isCameraPipEnabled?: boolean;
+      cameraPipCorner?: string;
+      cameraPipScale?: number;
+    } | null
+    // eslint-disable-next-line @typescript-eslint/ban-types
+  ): Promise<Object>;
+  stopScreenCapture(viewTag: number): Promise<boolean>;
+  sendTimedMetadata(
+    viewTag: number,
+    contents: string,
+    isBatchable: boolean
+  ): void;
+  observeLatencyProbe(viewTag: number, payload: string): void;
+  // eslint-disable-next-line @typescript-eslint/ban-types
+  getTimedMetadataStatistics(viewTag: number): Object | null;
+  // eslint-disable-next-line @typescript-eslint/ban-types
+  getLatencyHistogram(viewTag: number): Object | null;
+  // eslint-disable-next-line @typescript-eslint/ban-types
+  getAudioProcessingStatistics(viewTag: number): Object | null;
+  // eslint-disable-next-line @typescript-eslint/ban-types
+  getMetrics(): Object;
+  ping(viewTag: number, value: number): Promise<number>;
+}
+
+export default TurboModuleRegistry.get<Spec>('IVSBroadcastCameraModule');
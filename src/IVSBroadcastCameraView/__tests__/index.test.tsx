@@ -23,7 +23,8 @@ type IVSBroadcastCameraViewPartialProps = Partial<
   ExtractComponentProps<typeof IVSBroadcastCameraView>
 >;
 
-const { Start, Stop, SwapCamera } = Command;
+const { Start, Stop, SendTimedMetadata, ObserveLatencyProbe, SwapCamera } =
+  Command;
 
 function nativeSyntheticEventFactory<TName extends keyof INativeEventHandlers>(
   nativeEvent?: Parameters<
@@ -110,6 +111,19 @@ describe('IVSBroadcastCameraView component', () => {
     const ivsBroadcastCameraViewTree = renderIVSBroadcastCameraView().toJSON();
     expect(ivsBroadcastCameraViewTree).toMatchSnapshot();
   });
+
+  test('Subscribed events match the passed handlers', async () => {
+    const ivsBroadcastCameraView = await getIVSBroadcastCameraView({
+      onError: jest.fn(),
+      onBroadcastAudioStats: jest.fn(),
+    });
+
+    expect(ivsBroadcastCameraView.props.subscribedEvents).toEqual([
+      'onError',
+      'onBroadcastAudioStats',
+      'onPong',
+    ]);
+  });
 });
 
 describe('Event handlers should be called with the correct payload', () => {
@@ -143,6 +157,154 @@ describe('Event handlers should be called with the correct payload', () => {
         networkHealth: 1,
       }),
     },
+    {
+      eventHandlerName: 'onTimedMetadataStatisticsChanged' as const,
+      ...nativeSyntheticEventFactory<'onTimedMetadataStatisticsChanged'>({
+        statistics: {
+          queueDepth: 1,
+          sentMessagesCount: 2,
+          sentFramesCount: 1,
+          batchedMessagesCount: 2,
+          droppedMessagesCount: 0,
+        },
+      }),
+    },
+    {
+      eventHandlerName: 'onLatencyMeasured' as const,
+      ...nativeSyntheticEventFactory<'onLatencyMeasured'>({
+        latency: 1200,
+        histogram: {
+          count: 1,
+          min: 1200,
+          max: 1200,
+          mean: 1200,
+          p50: 1200,
+          p90: 1200,
+          p99: 1200,
+          bounds: [1000, 1500],
+          buckets: [0, 1, 0],
+        },
+      }),
+    },
+    {
+      eventHandlerName: 'onBroadcastHealthChanged' as const,
+      ...nativeSyntheticEventFactory<'onBroadcastHealthChanged'>({
+        health: {
+          isConnected: true,
+          isStalled: false,
+          stallDuration: 0,
+          measuredBitrate: 0,
+          errors: [
+            {
+              type: 'type',
+              source: 'source',
+              code: 1,
+              detail: 'detail',
+              isFatal: false,
+              count: 3,
+              firstTimestamp: 100,
+              lastTimestamp: 200,
+            },
+          ],
+        },
+      }),
+    },
+    {
+      eventHandlerName: 'onVideoConfigAdjusted' as const,
+      ...nativeSyntheticEventFactory<'onVideoConfigAdjusted'>({
+        adjustments: [
+          {
+            key: 'targetFrameRate',
+            requestedValue: 60,
+            adjustedValue: 30,
+            reason: 'exceedsMacroblockRate',
+          },
+        ],
+        encoder: {
+          name: 'OMX.vendor.video.encoder.avc',
+          isHardwareAccelerated: true,
+          maxProfile: 'high',
+          maxWidth: 1920,
+          maxHeight: 1920,
+          maxFrameRate: 60,
+          maxBitrate: 4000000,
+          isCached: true,
+          loadDuration: 1,
+        },
+      }),
+    },
+    {
+      eventHandlerName: 'onAudioInputChanged' as const,
+      ...nativeSyntheticEventFactory<'onAudioInputChanged'>({
+        audioInput: { type: 'wired', name: 'Headset', urn: 'urn:wired' },
+        previousAudioInput: {
+          type: 'builtIn',
+          name: 'Microphone',
+          urn: 'urn:builtIn',
+        },
+        attachDuration: 40,
+        audioGap: 120,
+      }),
+    },
+    {
+      eventHandlerName: 'onScreenCaptureStateChanged' as const,
+      ...nativeSyntheticEventFactory<'onScreenCaptureStateChanged'>({
+        isCapturing: true,
+        width: 576,
+        height: 1280,
+      }),
+    },
+    {
+      eventHandlerName: 'onCameraZoomChanged' as const,
+      ...nativeSyntheticEventFactory<'onCameraZoomChanged'>({
+        zoom: 2.5,
+        minZoom: 1,
+        maxZoom: 4,
+      }),
+    },
+    {
+      eventHandlerName: 'onNetworkHandoff' as const,
+      ...nativeSyntheticEventFactory<'onNetworkHandoff'>({
+        previousNetworkType: 'wifi',
+        networkType: 'cellular',
+        duration: 1800,
+        isReconnected: true,
+      }),
+    },
+    {
+      eventHandlerName: 'onVoiceActivity' as const,
+      ...nativeSyntheticEventFactory<'onVoiceActivity'>({
+        isSpeaking: true,
+        level: -32.5,
+      }),
+    },
+    {
+      eventHandlerName: 'onClipping' as const,
+      ...nativeSyntheticEventFactory<'onClipping'>({
+        isClipping: true,
+        peak: -0.2,
+      }),
+    },
+    {
+      eventHandlerName: 'onResourceProfile' as const,
+      ...nativeSyntheticEventFactory<'onResourceProfile'>({
+        profile: {
+          duration: 60000,
+          sampleCount: 30,
+          interval: 2000,
+          cpuUsage: { mean: 0.4, min: 0.2, max: 0.9 },
+          javaHeap: { mean: 20000000, min: 18000000, max: 24000000 },
+          nativeHeap: { mean: 50000000, min: 48000000, max: 52000000 },
+          threadCount: { mean: 80, min: 78, max: 84 },
+          gcCount: 4,
+          blockingGcCount: 0,
+          measuredBitrate: { mean: 2500000, min: 1200000, max: 3000000 },
+          rtt: { mean: 80, min: 40, max: 300 },
+          correlations: { cpuUsage: -0.6, javaHeap: null, gc: 0.1 },
+          overhead: { cpuTime: 4500, ratio: 0.000075 },
+        },
+      }),
+    },
     {
       eventHandlerName: 'onAudioSessionInterrupted' as const,
       ...nativeSyntheticEventFactory<'onAudioSessionInterrupted'>(),
@@ -318,4 +480,64 @@ describe('Static methods should be called with the correct command names', () =>
     const executedCommand = mockCommandFn.mock.calls[0][1];
     expect(executedCommand).toBe(commandName);
   });
+
+  test('sendTimedMetadata', () => {
+    const contents = JSON.stringify({ question: 'question' });
+    renderIVSBroadcastCameraView({ ref: ivsBroadcastCameraViewRef });
+
+    ivsBroadcastCameraViewRef.current?.sendTimedMetadata(contents, {
+      isBatchable: true,
+    });
+
+    expect(mockCommandFn).toHaveBeenCalled();
+    const [, executedCommand, params] = mockCommandFn.mock.calls[0];
+    expect(executedCommand).toBe(SendTimedMetadata);
+    expect(params).toEqual([contents, { isBatchable: true }]);
+  });
+
+  test('observeLatencyProbe', () => {
+    const payload = JSON.stringify({ type: 'latencyProbe' });
+    renderIVSBroadcastCameraView({ ref: ivsBroadcastCameraViewRef });
+
+    ivsBroadcastCameraViewRef.current?.observeLatencyProbe(payload);
+
+    expect(mockCommandFn).toHaveBeenCalled();
+    const [, executedCommand, params] = mockCommandFn.mock.calls[0];
+    expect(executedCommand).toBe(ObserveLatencyProbe);
+    expect(params).toEqual([payload]);
+  });
+
+  test.each([
+    { methodName: 'getTimedMetadataStatistics' as const },
+    { methodName: 'getLatencyHistogram' as const },
+    { methodName: 'getAudioProcessingStatistics' as const },
+    { methodName: 'getMetrics' as const },
+  ])(
+    '$methodName returns null without the native module',
+    ({ methodName }) => {
+      renderIVSBroadcastCameraView({ ref: ivsBroadcastCameraViewRef });
+
+      expect(ivsBroadcastCameraViewRef.current?.[methodName]()).toBeNull();
+    }
+  );
+
+  test.each([
+    { methodName: 'startAsync' as const },
+    { methodName: 'stopAsync' as const },
+    { methodName: 'captureSnapshot' as const },
+    { methodName: 'getAvailableCameras' as const },
+    { methodName: 'probeUplink' as const },
+    { methodName: 'startScreenCapture' as const },
+    { methodName: 'stopScreenCapture' as const },
+  ])(
+    '$methodName rejects without the native module',
+    async ({ methodName }) => {
+      renderIVSBroadcastCameraView({ ref: ivsBroadcastCameraViewRef });
+
+      await expect(
+        ivsBroadcastCameraViewRef.current?.[methodName]()
+      ).rejects.toThrow();
+      expect(mockCommandFn).not.toHaveBeenCalled();
+    }
+  );
 });
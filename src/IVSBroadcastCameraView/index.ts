@@ -1,13 +1,45 @@
 export {
   LogLevel,
   CameraPosition,
+  CameraLens,
+  AudioInput,
   CameraPreviewAspectMode,
+  CameraPipCorner,
+  SnapshotFormat,
   NetworkHealth,
   BroadcastQuality,
   StateStatusUnion,
   StateChangedMetadata,
   IAudioStats,
   ITransmissionStatistics,
+  ITimedMetadataStatistics,
+  ILatencyHistogram,
+  IAudioProcessingStatistics,
+  IBroadcastHealth,
+  IVideoConfigAdjustment,
+  IEncoderProfile,
+  IAudioInputDevice,
+  IAudioInputChange,
+  IFoldedBroadcastError,
+  IMetrics,
+  IMetricsHistogram,
+  IRoundTripStatistics,
+  ICommandRoundTripBenchmark,
+  IStartResult,
+  IStopResult,
+  ISnapshot,
+  ICameraOption,
+  UplinkProbeSource,
+  IUplinkProbeResult,
+  IScreenCapture,
+  IScreenCaptureState,
+  ICameraZoom,
+  NetworkType,
+  INetworkHandoff,
+  IVoiceActivity,
+  IClipping,
+  IResourceMetric,
+  IResourceProfile,
   IBroadcastSessionError,
   IIVSBroadcastCameraView,
 } from './IVSBroadcastCameraView.types';